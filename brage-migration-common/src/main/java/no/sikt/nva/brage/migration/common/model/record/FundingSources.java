@@ -1,21 +1,46 @@
 package no.sikt.nva.brage.migration.common.model.record;
 
+import static java.util.Objects.nonNull;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
 public class FundingSources {
 
     private final List<FundingSource> sources;
+    @JsonIgnore
+    private final Map<String, FundingSource> sourcesByName;
 
     @JsonCreator
     public FundingSources(@JsonProperty("sources") List<FundingSource> sources) {
         this.sources = sources;
+        this.sourcesByName = indexByName(sources);
     }
 
     public List<FundingSource> getSources() {
         return sources;
     }
+
+    /**
+     * Finds the funding source having the name in any language. When several sources share a name, the first one in
+     * the list is returned.
+     */
+    public FundingSource findByName(String name) {
+        return sourcesByName.get(name);
+    }
+
+    private static Map<String, FundingSource> indexByName(List<FundingSource> sources) {
+        var sourcesByName = new HashMap<String, FundingSource>();
+        if (nonNull(sources)) {
+            sources.stream()
+                .filter(source -> nonNull(source.getName()))
+                .forEach(source -> source.getName().values().forEach(name -> sourcesByName.putIfAbsent(name, source)));
+        }
+        return sourcesByName;
+    }
 }
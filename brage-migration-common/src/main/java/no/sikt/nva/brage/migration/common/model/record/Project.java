@@ -82,11 +82,7 @@ public final class Project {
     }
 
     private static FundingSource findFundingsSource(FundingSources fundingSources, Project project) {
-        return fundingSources.getSources()
-                   .stream()
-                   .filter(source -> source.getName().containsValue(project.name))
-                   .findFirst()
-                   .orElse(null);
+        return fundingSources.findByName(project.name);
     }
 
     private static int getSeparatorIndex(int colonIndex, int slashIndex, int commaIndex) {
@@ -1,6 +1,7 @@
 package no.sikt.nva.brage.migration.common.model.record.content;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.Instant;
 import java.util.Objects;
@@ -19,6 +20,7 @@ public class ContentFile implements JsonSerializable {
     private UUID identifier;
     private License license;
     private Instant embargoDate;
+    private String mimeType;
 
     public ContentFile() {
 
@@ -57,6 +59,20 @@ public class ContentFile implements JsonSerializable {
         this.identifier = identifier;
     }
 
+    /**
+     * Detected once when the bundle is scraped for records that are pushed, and only written when detected. Not part
+     * of equality, as it follows from the file itself and records written without it are the same records.
+     */
+    @JsonProperty("mimeType")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
     @JacocoGenerated
     @Override
     public int hashCode() {
@@ -0,0 +1,29 @@
+package no.sikt.nva.brage.migration.common.model.record.content;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.metadata.Metadata;
+
+/**
+ * Detects the MIME type of content files from their content. A single detector is shared by all threads, and only
+ * the header of the file is read, which is all the magic detection of tika-core looks at.
+ */
+public final class MimeTypeDetector {
+
+    public static final int HEADER_SIZE = 64 * 1024;
+    private static final Detector DETECTOR = TikaConfig.getDefaultConfig().getDetector();
+
+    private MimeTypeDetector() {
+    }
+
+    public static String detect(Path file) throws IOException {
+        try (var inputStream = Files.newInputStream(file)) {
+            var header = inputStream.readNBytes(HEADER_SIZE);
+            return DETECTOR.detect(new ByteArrayInputStream(header), new Metadata()).toString();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package no.sikt.nva.brage.migration.aws;
+
+import static java.util.Objects.nonNull;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers for the parts of multipart uploads, allocated when first needed and reused afterwards. At most the given
+ * number of buffers are ever allocated, a part waits for a buffer to be released when all of them are in use.
+ */
+final class PartBufferPool {
+
+    private final BlockingQueue<byte[]> releasedBuffers;
+    private final AtomicInteger allocatedBuffers;
+    private final int bufferSize;
+    private final int maxBuffers;
+
+    PartBufferPool(int bufferSize, int maxBuffers) {
+        this.releasedBuffers = new LinkedBlockingQueue<>();
+        this.allocatedBuffers = new AtomicInteger();
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+    }
+
+    byte[] acquire() throws InterruptedException {
+        var buffer = releasedBuffers.poll();
+        if (nonNull(buffer)) {
+            return buffer;
+        }
+        if (allocatedBuffers.getAndUpdate(allocated -> allocated < maxBuffers ? allocated + 1 : allocated)
+            < maxBuffers) {
+            return new byte[bufferSize];
+        }
+        return releasedBuffers.take();
+    }
+
+    void release(byte[] buffer) {
+        releasedBuffers.add(buffer);
+    }
+
+    int getAllocatedBuffers() {
+        return allocatedBuffers.get();
+    }
+}
@@ -0,0 +1,188 @@
+package no.sikt.nva.brage.migration.aws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import no.sikt.nva.brage.migration.common.model.record.Record;
+
+/**
+ * Pushes records to S3 through a single shared {@link S3Storage}, so the key layout is the one of
+ * {@link S3Storage#storeRecord(Record)}.
+ *
+ * <p>At most the given number of records and, counting the size of their content files, bytes are in flight at the
+ * same time. A record larger than the byte limit is pushed alone. Records are logged in the order they were given,
+ * whatever order they complete in. A record failing to be pushed is logged and reported in the result, the other
+ * records are still pushed.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class RecordPushEngine {
+
+    public static final int DEFAULT_RECORDS_IN_FLIGHT = 1;
+    public static final long DEFAULT_BYTES_IN_FLIGHT = 256L * 1024 * 1024;
+    public static final String INVALID_RECORDS_IN_FLIGHT_MESSAGE = "Records in flight must be at least 1, was: ";
+    public static final String INVALID_BYTES_IN_FLIGHT_MESSAGE = "Bytes in flight must be at least 1, was: ";
+    public static final String PUSHED_RECORD_MESSAGE = "Pushed record %d of %d: %s";
+    public static final String FAILED_RECORD_MESSAGE = "Failed to push record %d of %d: %s, %s";
+    private static final long BYTES_PER_PERMIT = 1024;
+    private static final ColoredLogger logger = ColoredLogger.create(RecordPushEngine.class);
+    private final S3Storage storage;
+    private final ToLongFunction<Record> recordSize;
+    private final int maxRecordsInFlight;
+    private final int bytePermits;
+
+    public RecordPushEngine(S3Storage storage, ToLongFunction<Record> recordSize, int maxRecordsInFlight,
+                            long maxBytesInFlight) {
+        if (maxRecordsInFlight < DEFAULT_RECORDS_IN_FLIGHT) {
+            throw new IllegalArgumentException(INVALID_RECORDS_IN_FLIGHT_MESSAGE + maxRecordsInFlight);
+        }
+        if (maxBytesInFlight < 1) {
+            throw new IllegalArgumentException(INVALID_BYTES_IN_FLIGHT_MESSAGE + maxBytesInFlight);
+        }
+        this.storage = storage;
+        this.recordSize = recordSize;
+        this.maxRecordsInFlight = maxRecordsInFlight;
+        this.bytePermits = toPermits(maxBytesInFlight);
+    }
+
+    public static RecordPushEngine create(S3StorageImpl storage, int maxRecordsInFlight, long maxBytesInFlight) {
+        return new RecordPushEngine(storage, storage::getContentFilesSize, maxRecordsInFlight, maxBytesInFlight);
+    }
+
+    public PushResult pushAll(List<Record> records) {
+        var push = new Push(records);
+        if (maxRecordsInFlight == DEFAULT_RECORDS_IN_FLIGHT || records.size() <= 1) {
+            for (int index = 0; index < records.size(); index++) {
+                push.complete(index, store(records.get(index)));
+            }
+        } else {
+            pushConcurrently(records, push);
+        }
+        return push.toResult();
+    }
+
+    private void pushConcurrently(List<Record> records, Push push) {
+        var recordsInFlight = new Semaphore(maxRecordsInFlight);
+        var bytesInFlight = new Semaphore(bytePermits);
+        var executor = Executors.newFixedThreadPool(Math.min(maxRecordsInFlight, records.size()));
+        try {
+            for (int index = 0; index < records.size(); index++) {
+                var record = records.get(index);
+                var permits = Math.min(toPermits(recordSize.applyAsLong(record)), bytePermits);
+                recordsInFlight.acquire();
+                bytesInFlight.acquire(permits);
+                submit(executor, push, index, () -> {
+                    bytesInFlight.release(permits);
+                    recordsInFlight.release();
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void submit(ExecutorService executor, Push push, int index, Runnable releasePermits) {
+        executor.execute(() -> {
+            try {
+                push.complete(index, store(push.records.get(index)));
+            } finally {
+                releasePermits.run();
+            }
+        });
+    }
+
+    private Exception store(Record record) {
+        try {
+            storage.storeRecord(record);
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static int toPermits(long bytes) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (bytes + BYTES_PER_PERMIT - 1) / BYTES_PER_PERMIT));
+    }
+
+    public static final class PushResult {
+
+        private final List<Record> pushedRecords;
+        private final List<Record> failedRecords;
+
+        private PushResult(List<Record> pushedRecords, List<Record> failedRecords) {
+            this.pushedRecords = pushedRecords;
+            this.failedRecords = failedRecords;
+        }
+
+        public List<Record> getPushedRecords() {
+            return pushedRecords;
+        }
+
+        public List<Record> getFailedRecords() {
+            return failedRecords;
+        }
+    }
+
+    /**
+     * Outcome of every record of a single {@link #pushAll(List)}, logging the completed records in the order they
+     * were given as soon as all records before them have completed.
+     */
+    private static final class Push {
+
+        private final List<Record> records;
+        private final Exception[] failures;
+        private final boolean[] completed;
+        private int nextToLog;
+
+        private Push(List<Record> records) {
+            this.records = records;
+            this.failures = new Exception[records.size()];
+            this.completed = new boolean[records.size()];
+        }
+
+        private void complete(int index, Exception failure) {
+            synchronized (completed) {
+                failures[index] = failure;
+                completed[index] = true;
+                while (nextToLog < completed.length && completed[nextToLog]) {
+                    log(nextToLog);
+                    nextToLog++;
+                }
+            }
+        }
+
+        private void log(int index) {
+            var record = records.get(index);
+            if (isNull(failures[index])) {
+                logger.info(String.format(PUSHED_RECORD_MESSAGE, index + 1, records.size(), record.getId()));
+            } else {
+                logger.error(String.format(FAILED_RECORD_MESSAGE, index + 1, records.size(), record.getId(),
+                                           failures[index].getMessage()));
+            }
+        }
+
+        private PushResult toResult() {
+            synchronized (completed) {
+                var pushedRecords = new ArrayList<Record>();
+                var failedRecords = new ArrayList<Record>();
+                for (int index = 0; index < records.size(); index++) {
+                    if (nonNull(failures[index])) {
+                        failedRecords.add(records.get(index));
+                    } else if (completed[index]) {
+                        pushedRecords.add(records.get(index));
+                    }
+                }
+                return new PushResult(pushedRecords, failedRecords);
+            }
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package no.sikt.nva.brage.migration.aws;
 
+import static java.util.Objects.nonNull;
 import static nva.commons.core.attempt.Try.attempt;
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import no.sikt.nva.brage.migration.common.model.record.content.MimeTypeDetector;
 import nva.commons.core.attempt.Failure;
-import org.apache.tika.config.TikaConfig;
-import org.apache.tika.io.TikaInputStream;
-import org.apache.tika.metadata.Metadata;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
@@ -27,11 +30,23 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
-@SuppressWarnings({"PMD.AvoidFieldNameMatchingMethodName", "PMD.AvoidFileStream", "PMD.AssignmentInOperand"})
+/**
+ * Uploads a content file to S3, in parts of {@link #PARTITION_SIZE} when it is not empty.
+ *
+ * <p>Each part is read from the file into a buffer borrowed from a pool shared by all uploads and sent from that
+ * buffer without copying it, so the memory used does not grow with the number of files or parts. Up to
+ * {@link #DEFAULT_PART_WINDOW} parts of the same file are uploaded at the same time, and the parts are completed in
+ * order of their part numbers.
+ */
+@SuppressWarnings({"PMD.AvoidFieldNameMatchingMethodName", "PMD.DoNotUseThreads"})
 public class S3MultipartUploader {
 
     public static final int END_OF_INPUT_STREAM = 0;
     public static final long PARTITION_SIZE = 5L * 1024 * 1024;
+    public static final int DEFAULT_PART_WINDOW = 4;
+    public static final int MAX_POOLED_BUFFERS = 16;
+    private static final String PART_CONTENT_TYPE = "application/octet-stream";
+    private static final PartBufferPool BUFFER_POOL = new PartBufferPool((int) PARTITION_SIZE, MAX_POOLED_BUFFERS);
     private static final ColoredLogger logger = ColoredLogger.create(S3MultipartUploader.class);
     private static final String CONTENT_DISPOSITION_FILE_NAME_PATTERN = "filename=\"%s\"";
     public static final String UPLOADING_PART_MESSAGE = "Uploading part %s of file: %s";
@@ -40,18 +55,21 @@ public class S3MultipartUploader {
     private final String bucket;
     private final String filename;
     private final File file;
-    private final List<CompletedPart> completedParts;
-    private final byte[] buffer;
-    private int part;
+    private final int partWindow;
+    private final String mimeType;
 
     public S3MultipartUploader(String key, String bucket, String filename, File file) {
+        this(key, bucket, filename, file, DEFAULT_PART_WINDOW, null);
+    }
+
+    public S3MultipartUploader(String key, String bucket, String filename, File file, int partWindow,
+                               String mimeType) {
         this.key = key;
         this.bucket = bucket;
         this.filename = filename;
         this.file = file;
-        this.completedParts = new ArrayList<>();
-        this.buffer = new byte[(int) PARTITION_SIZE];
-        this.part = 1;
+        this.partWindow = partWindow;
+        this.mimeType = mimeType;
     }
 
     public static S3MultipartUploader fromKey(String value) {
@@ -90,6 +108,17 @@ public class S3MultipartUploader {
         return this.copy().withBucket(bucketName).build();
     }
 
+    public S3MultipartUploader partWindow(int numberOfParts) {
+        return this.copy().withPartWindow(numberOfParts).build();
+    }
+
+    /**
+     * MIME type stored on the content file when it was scraped, the file is only sniffed when it is not known.
+     */
+    public S3MultipartUploader mimeType(String mimeType) {
+        return this.copy().withMimeType(mimeType).build();
+    }
+
     public S3MultipartUploader fileName(String fileName) {
         return this.copy().withFilename(encode(fileName)).build();
     }
@@ -120,26 +149,77 @@ public class S3MultipartUploader {
         return new RuntimeException();
     }
 
-    private CompleteMultipartUploadResponse multiPartUploadUsingClient(S3Client s3Client) throws IOException {
+    private CompleteMultipartUploadResponse multiPartUploadUsingClient(S3Client s3Client)
+        throws IOException, InterruptedException {
         var request = initiateRequest();
         var response = s3Client.createMultipartUpload(request);
 
-        int bytesRead;
-
-        try (var inputStream = new BufferedInputStream(new FileInputStream(file))) {
-            while ((bytesRead = readToBuffer(inputStream)) > END_OF_INPUT_STREAM) {
-                var partToUpload = RequestBody.fromBytes(Arrays.copyOf(buffer, bytesRead));
-                var uploadPartResponse = s3Client.uploadPart(createUploadPartRequest(response, part), partToUpload);
-                completedParts.add(createCompletedPart(part, uploadPartResponse));
-                logger.info(String.format(UPLOADING_PART_MESSAGE, part, filename));
-                part++;
-            }
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            var completedParts = uploadParts(s3Client, response, channel);
             var completeMultipartUploadRequest = createCompleteMultipartUploadRequest(response, completedParts);
             return s3Client.completeMultipartUpload(completeMultipartUploadRequest);
         } catch (Exception e) {
             s3Client.abortMultipartUpload(createAbortMultipartUploadRequest(response));
-            return null;
+            throw e;
+        }
+    }
+
+    private List<CompletedPart> uploadParts(S3Client s3Client, CreateMultipartUploadResponse response,
+                                            FileChannel channel) throws IOException, InterruptedException {
+        var numberOfParts = (int) ((channel.size() + PARTITION_SIZE - 1) / PARTITION_SIZE);
+        var completedParts = new ArrayList<CompletedPart>(numberOfParts);
+        if (numberOfParts == 1 || partWindow <= 1) {
+            for (int partNumber = 1; partNumber <= numberOfParts; partNumber++) {
+                completedParts.add(uploadPart(s3Client, response, channel, partNumber));
+            }
+            return completedParts;
+        }
+        var executor = Executors.newFixedThreadPool(Math.min(partWindow, numberOfParts));
+        try {
+            var uploads = new ArrayList<Future<CompletedPart>>(numberOfParts);
+            for (int partNumber = 1; partNumber <= numberOfParts; partNumber++) {
+                var part = partNumber;
+                uploads.add(executor.submit(() -> uploadPart(s3Client, response, channel, part)));
+            }
+            for (Future<CompletedPart> upload : uploads) {
+                completedParts.add(upload.get());
+            }
+            return completedParts;
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The part is sent straight from the pooled buffer, which is only returned to the pool once the part is uploaded.
+     */
+    private CompletedPart uploadPart(S3Client s3Client, CreateMultipartUploadResponse response, FileChannel channel,
+                                     int partNumber) throws IOException, InterruptedException {
+        var buffer = BUFFER_POOL.acquire();
+        try {
+            var bytesRead = readPart(channel, buffer, partNumber);
+            var partToUpload = RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, bytesRead),
+                                                               bytesRead, PART_CONTENT_TYPE);
+            var uploadPartResponse = s3Client.uploadPart(createUploadPartRequest(response, partNumber), partToUpload);
+            logger.info(String.format(UPLOADING_PART_MESSAGE, partNumber, filename));
+            return createCompletedPart(partNumber, uploadPartResponse);
+        } finally {
+            BUFFER_POOL.release(buffer);
+        }
+    }
+
+    private static int readPart(FileChannel channel, byte[] buffer, int partNumber) throws IOException {
+        var position = (partNumber - 1) * PARTITION_SIZE;
+        var target = ByteBuffer.wrap(buffer);
+        while (target.hasRemaining()) {
+            var bytesRead = channel.read(target, position + target.position());
+            if (bytesRead < END_OF_INPUT_STREAM) {
+                break;
+            }
         }
+        return target.position();
     }
 
     private AbortMultipartUploadRequest createAbortMultipartUploadRequest(CreateMultipartUploadResponse response) {
@@ -150,10 +230,6 @@ public class S3MultipartUploader {
                    .build();
     }
 
-    private int readToBuffer(BufferedInputStream inputStream) throws IOException {
-        return inputStream.read(buffer, 0, buffer.length);
-    }
-
     private UploadPartRequest createUploadPartRequest(CreateMultipartUploadResponse response, int partNumber) {
         return UploadPartRequest.builder()
                    .bucket(bucket)
@@ -164,7 +240,12 @@ public class S3MultipartUploader {
     }
 
     private Builder copy() {
-        return builder().withBucket(this.bucket).withKey(this.key).withFilename(this.filename).withFile(this.file);
+        return builder().withBucket(this.bucket)
+                   .withKey(this.key)
+                   .withFilename(this.filename)
+                   .withFile(this.file)
+                   .withPartWindow(this.partWindow)
+                   .withMimeType(this.mimeType);
     }
 
     private CompleteMultipartUploadRequest createCompleteMultipartUploadRequest(CreateMultipartUploadResponse response,
@@ -178,22 +259,14 @@ public class S3MultipartUploader {
     }
 
     private CreateMultipartUploadRequest initiateRequest() throws IOException {
-        var mimeType = detectMimeType(file);
         return CreateMultipartUploadRequest.builder()
                    .bucket(this.bucket)
                    .key(this.key)
                    .contentDisposition(createContentDisposition())
-                   .contentType(mimeType)
+                   .contentType(nonNull(mimeType) ? mimeType : MimeTypeDetector.detect(file.toPath()))
                    .build();
     }
 
-    private String detectMimeType(File file) throws IOException {
-        return TikaConfig.getDefaultConfig()
-                   .getDetector()
-                   .detect(new BufferedInputStream(TikaInputStream.get(file)), new Metadata())
-                   .toString();
-    }
-
     private String createContentDisposition() {
         return String.format(CONTENT_DISPOSITION_FILE_NAME_PATTERN, filename);
     }
@@ -204,6 +277,8 @@ public class S3MultipartUploader {
         private String bucket;
         private String filename;
         private File file;
+        private int partWindow = DEFAULT_PART_WINDOW;
+        private String mimeType;
 
         private Builder() {
         }
@@ -228,8 +303,18 @@ public class S3MultipartUploader {
             return this;
         }
 
+        public Builder withPartWindow(int partWindow) {
+            this.partWindow = partWindow;
+            return this;
+        }
+
+        public Builder withMimeType(String mimeType) {
+            this.mimeType = mimeType;
+            return this;
+        }
+
         public S3MultipartUploader build() {
-            return new S3MultipartUploader(key, bucket, filename, file);
+            return new S3MultipartUploader(key, bucket, filename, file, partWindow, mimeType);
         }
     }
 }
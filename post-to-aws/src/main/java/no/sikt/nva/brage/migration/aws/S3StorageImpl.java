@@ -150,6 +150,13 @@ public class S3StorageImpl implements S3Storage {
         }
     }
 
+    /**
+     * Size of the content files stored together with the record, as read from disk.
+     */
+    public long getContentFilesSize(Record record) {
+        return getMappedFiles(record).values().stream().mapToLong(File::length).sum();
+    }
+
     public String getPathPrefixString() {
         return pathPrefixString;
     }
@@ -269,15 +276,14 @@ public class S3StorageImpl implements S3Storage {
         for (UUID fileId : filesToStore.keySet()) {
             var fileKey = createKey(record, fileId.toString());
             var file = filesToStore.get(fileId);
-            var fileName = record.getContentBundle().getContentFiles().stream()
-                               .filter(contentFile -> contentFile.getIdentifier().equals(fileId))
-                               .map(ContentFile::getFilename)
-                               .findFirst()
-                               .orElse(null);
+            var contentFile = record.getContentBundle().getContentFiles().stream()
+                                  .filter(candidate -> candidate.getIdentifier().equals(fileId))
+                                  .findFirst();
 
                 S3MultipartUploader.fromKey(fileKey)
                     .bucket(bucketName)
-                    .fileName(fileName)
+                    .fileName(contentFile.map(ContentFile::getFilename).orElse(null))
+                    .mimeType(contentFile.map(ContentFile::getMimeType).orElse(null))
                     .file(file)
                     .upload(s3Client);
         }
@@ -0,0 +1,24 @@
+package no.sikt.nva.brage.migration.aws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import no.sikt.nva.brage.migration.common.model.record.content.MimeTypeDetector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MimeTypeDetectorTest {
+
+    @Test
+    void shouldDetectMimeTypeFromHeaderOfLargeFile(@TempDir Path tempDir) throws IOException {
+        var header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+        var content = new byte[4 * MimeTypeDetector.HEADER_SIZE];
+        System.arraycopy(header, 0, content, 0, header.length);
+        var file = Files.write(tempDir.resolve("file"), content);
+
+        assertThat(MimeTypeDetector.detect(file), is("application/pdf"));
+    }
+}
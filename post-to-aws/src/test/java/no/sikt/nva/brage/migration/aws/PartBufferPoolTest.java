@@ -0,0 +1,34 @@
+package no.sikt.nva.brage.migration.aws;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class PartBufferPoolTest {
+
+    @Test
+    void shouldReuseReleasedBuffers() throws InterruptedException {
+        var pool = new PartBufferPool(16, 2);
+
+        var buffer = pool.acquire();
+        pool.release(buffer);
+
+        assertThat(pool.acquire(), is(sameInstance(buffer)));
+        assertThat(pool.getAllocatedBuffers(), is(1));
+    }
+
+    @Test
+    void shouldWaitForReleasedBufferWhenMaximumIsAllocated() throws InterruptedException {
+        var pool = new PartBufferPool(16, 2);
+        var first = pool.acquire();
+        pool.acquire();
+
+        CompletableFuture.runAsync(() -> pool.release(first), CompletableFuture.delayedExecutor(50, MILLISECONDS));
+
+        assertThat(pool.acquire(), is(sameInstance(first)));
+        assertThat(pool.getAllocatedBuffers(), is(2));
+    }
+}
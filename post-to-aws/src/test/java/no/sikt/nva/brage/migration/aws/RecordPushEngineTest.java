@@ -0,0 +1,191 @@
+package no.sikt.nva.brage.migration.aws;
+
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.sikt.nva.brage.migration.common.model.record.Record;
+import no.sikt.nva.brage.migration.common.model.record.content.ContentFile;
+import no.sikt.nva.brage.migration.common.model.record.content.ResourceContent;
+import no.sikt.nva.brage.migration.common.model.record.content.ResourceContent.BundleType;
+import nva.commons.logutils.LogUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+class RecordPushEngineTest {
+
+    private static final int NUMBER_OF_RECORDS = 20;
+
+    @Test
+    void shouldPushRecordsOneAtATimeAndReportFailingRecordsWithoutAbortingThePush() {
+        assertThatFailingRecordIsReportedAndOtherRecordsArePushed(1);
+    }
+
+    @Test
+    void shouldPushRecordsConcurrentlyAndReportFailingRecordsWithoutAbortingThePush() {
+        assertThatFailingRecordIsReportedAndOtherRecordsArePushed(4);
+    }
+
+    @Test
+    void shouldNotHaveMoreRecordsInFlightThanSpecified() {
+        var storage = new FakeStorage(null);
+        var engine = new RecordPushEngine(storage, record -> 0, 3, Long.MAX_VALUE);
+
+        engine.pushAll(createRecords());
+
+        assertThat(storage.maxInFlight.get(), is(lessThanOrEqualTo(3)));
+    }
+
+    private static void assertThatFailingRecordIsReportedAndOtherRecordsArePushed(int recordsInFlight) {
+        var records = createRecords();
+        var failingRecord = records.get(3);
+        var storage = new FakeStorage(failingRecord);
+        var engine = new RecordPushEngine(storage, record -> 0, recordsInFlight, Long.MAX_VALUE);
+
+        var result = engine.pushAll(records);
+
+        var expectedPushedRecords = records.stream()
+                                        .filter(record -> !record.equals(failingRecord))
+                                        .collect(Collectors.toList());
+        assertThat(result.getPushedRecords(), is(expectedPushedRecords));
+        assertThat(result.getFailedRecords(), contains(failingRecord));
+        assertThat(storage.stored.get(), is(NUMBER_OF_RECORDS));
+    }
+
+    @Test
+    void shouldReportRecordAsFailedWhenUploadOfAPartOfItsContentFileFails(@TempDir Path tempDir) throws IOException {
+        var bundle = Files.createDirectories(tempDir.resolve("collection").resolve("bundle"));
+        var contentFile = new ContentFile("file.pdf", BundleType.ORIGINAL, null, UUID.randomUUID(), null, null);
+        Files.writeString(bundle.resolve(contentFile.getFilename()), randomString());
+        var record = createRecord();
+        record.setBrageLocation("collection/bundle");
+        record.setContentBundle(new ResourceContent(contentFile));
+        var storage = new S3StorageImpl(s3ClientFailingToUploadParts(), tempDir + "/", randomString(), "test");
+        var engine = new RecordPushEngine(storage, storage::getContentFilesSize, 1, Long.MAX_VALUE);
+
+        var result = engine.pushAll(List.of(record));
+
+        assertThat(result.getFailedRecords(), contains(record));
+        assertThat(result.getPushedRecords(), is(empty()));
+    }
+
+    @Test
+    void shouldPushRecordsLargerThanTheByteLimitOneAtATime() {
+        var storage = new FakeStorage(null);
+        var engine = new RecordPushEngine(storage, record -> 10 * 1024, 4, 16 * 1024);
+
+        var result = engine.pushAll(createRecords());
+
+        assertThat(storage.maxInFlight.get(), is(1));
+        assertThat(result.getPushedRecords().size(), is(NUMBER_OF_RECORDS));
+    }
+
+    @Test
+    void shouldLogRecordsInTheOrderTheyWereGiven() {
+        var appender = LogUtils.getTestingAppenderForRootLogger();
+        var records = createRecords();
+        var engine = new RecordPushEngine(new FakeStorage(null), record -> 0, 4, Long.MAX_VALUE);
+
+        engine.pushAll(records);
+
+        var messages = appender.getMessages();
+        for (int index = 1; index < records.size(); index++) {
+            var previous = messages.indexOf(loggedRecord(index, records));
+            var next = messages.indexOf(loggedRecord(index + 1, records));
+            assertThat(previous, is(lessThanOrEqualTo(next)));
+        }
+    }
+
+    @Test
+    void shouldThrowWhenRecordsInFlightIsLessThanOne() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new RecordPushEngine(new FakeStorage(null), record -> 0, 0, Long.MAX_VALUE));
+    }
+
+    private static String loggedRecord(int position, List<Record> records) {
+        return String.format(RecordPushEngine.PUSHED_RECORD_MESSAGE, position, records.size(),
+                             records.get(position - 1).getId());
+    }
+
+    private static List<Record> createRecords() {
+        return IntStream.range(0, NUMBER_OF_RECORDS)
+                   .mapToObj(index -> createRecord())
+                   .collect(Collectors.toList());
+    }
+
+    private static Record createRecord() {
+        var record = new Record();
+        record.setId(URI.create("https://hdl.handle.net/11250/" + randomString()));
+        return record;
+    }
+
+    private static S3Client s3ClientFailingToUploadParts() {
+        var s3Client = mock(S3Client.class);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CreateMultipartUploadResponse.builder().uploadId(randomString()).build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+            .thenThrow(SdkClientException.create("Could not upload part"));
+        return s3Client;
+    }
+
+    private static final class FakeStorage implements S3Storage {
+
+        private final Record failingRecord;
+        private final AtomicInteger stored = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private FakeStorage(Record failingRecord) {
+            this.failingRecord = failingRecord;
+        }
+
+        @Override
+        public void storeRecord(Record record) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                stored.incrementAndGet();
+            }
+            if (record.equals(failingRecord)) {
+                throw new RuntimeException("Could not process record to aws!");
+            }
+        }
+
+        @Override
+        public void storeLogs(String customer) {
+        }
+
+        @Override
+        public void storeProcessedCollections(String succeededRecordsFile, String... bundles) {
+        }
+
+        @Override
+        public void storeInputFile(String startingDirectory, String filename) {
+        }
+    }
+}
@@ -3,12 +3,39 @@ package no.sikt.nva.brage.migration.aws;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import no.unit.nva.s3.S3Driver;
 import no.unit.nva.stubs.FakeS3Client;
 import nva.commons.core.paths.UnixPath;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 class S3MultipartUploaderTest {
 
@@ -25,4 +52,66 @@ class S3MultipartUploaderTest {
 
         assertThat(persistedFile, is(notNullValue()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldUploadPartsOfLargeFileConcurrentlyAndCompleteThemInOrder(@TempDir Path tempDir) throws IOException {
+        var content = new byte[(int) (2 * S3MultipartUploader.PARTITION_SIZE + 1024)];
+        new Random().nextBytes(content);
+        var file = Files.write(tempDir.resolve("large.pdf"), content).toFile();
+        var uploadedParts = new ConcurrentHashMap<Integer, byte[]>();
+        var s3Client = mockS3ClientStoringParts(uploadedParts);
+
+        S3MultipartUploader.fromKey(randomString())
+            .bucket(randomString())
+            .fileName(randomString())
+            .file(file)
+            .partWindow(3)
+            .upload(s3Client);
+
+        var completeRequest = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(completeRequest.capture());
+        var completedPartNumbers = completeRequest.getValue().multipartUpload().parts().stream()
+                                       .map(CompletedPart::partNumber)
+                                       .collect(Collectors.toList());
+        assertThat(completedPartNumbers, contains(1, 2, 3));
+        assertThat(concatenate(uploadedParts), is(content));
+    }
+
+    @Test
+    void shouldAbortUploadAndThrowWhenUploadOfAPartFails(@TempDir Path tempDir) throws IOException {
+        var file = Files.writeString(tempDir.resolve("file.pdf"), randomString()).toFile();
+        var s3Client = mock(S3Client.class);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CreateMultipartUploadResponse.builder().uploadId(randomString()).build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+            .thenThrow(SdkClientException.create("Could not upload part"));
+        var uploader = S3MultipartUploader.fromKey(randomString()).bucket(randomString()).file(file);
+
+        assertThrows(RuntimeException.class, () -> uploader.upload(s3Client));
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    private static S3Client mockS3ClientStoringParts(Map<Integer, byte[]> uploadedParts) {
+        var s3Client = mock(S3Client.class);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CreateMultipartUploadResponse.builder().uploadId(randomString()).build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            RequestBody body = invocation.getArgument(1);
+            try (var stream = body.contentStreamProvider().newStream()) {
+                uploadedParts.put(request.partNumber(), stream.readAllBytes());
+            }
+            return UploadPartResponse.builder().eTag(String.valueOf(request.partNumber())).build();
+        });
+        return s3Client;
+    }
+
+    private static byte[] concatenate(Map<Integer, byte[]> uploadedParts) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        for (int partNumber = 1; partNumber <= uploadedParts.size(); partNumber++) {
+            outputStream.write(uploadedParts.get(partNumber));
+        }
+        return outputStream.toByteArray();
+    }
+}
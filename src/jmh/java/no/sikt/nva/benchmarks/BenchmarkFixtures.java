@@ -0,0 +1,64 @@
+package no.sikt.nva.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Copies the test fixtures used by the benchmarks from the classpath to a directory of their own, as the benchmarks
+ * may run from a jar and the scrapers read files.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String VALID_DUBLIN_CORE = "valid_dublin_core.xml";
+    public static final String FILE_EMBARGO = "FileEmbargo.txt";
+    public static final String CONTENTS = "contents";
+    public static final String CUSTOMER = "ntnu";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("brage-benchmark");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Path copy(String resource, Path directory) {
+        return copy(resource, directory, resource);
+    }
+
+    public static Path copy(String resource, Path directory, String filename) {
+        var target = directory.resolve(filename);
+        try (var input = Objects.requireNonNull(BenchmarkFixtures.class.getClassLoader()
+                                                    .getResourceAsStream(resource), resource)) {
+            Files.copy(input, target, StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void delete(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(BenchmarkFixtures::deleteFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteFile(Path path) {
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
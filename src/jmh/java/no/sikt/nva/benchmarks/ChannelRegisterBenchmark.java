@@ -0,0 +1,54 @@
+package no.sikt.nva.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import no.sikt.nva.brage.migration.common.model.BrageLocation;
+import no.sikt.nva.channelregister.ChannelRegister;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Look ups in the channel register, both answered by the resolution cache of a run and resolved in the register
+ * itself, as for the first record of a run having the value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChannelRegisterBenchmark {
+
+    private static final String ISSN = "2038-324X";
+    private static final String JOURNAL_TITLE = "Earth System Science Data";
+    private static final String PUBLISHER = "Høgskolen i Oslo og Akershus";
+    private ChannelRegister register;
+    private BrageLocation brageLocation;
+
+    @Setup
+    public void setUp() {
+        register = ChannelRegister.getRegister().withNewResolutionCache();
+        brageLocation = new BrageLocation(null);
+    }
+
+    @Benchmark
+    public String lookUpInJournalByIssnCached() {
+        return register.lookUpInJournalByIssn(ISSN, brageLocation);
+    }
+
+    @Benchmark
+    public String lookUpInJournalByIssn() {
+        return register.withNewResolutionCache().lookUpInJournalByIssn(ISSN, brageLocation);
+    }
+
+    @Benchmark
+    public String lookUpInJournalByTitle() {
+        return register.withNewResolutionCache().lookUpInJournalByTitle(JOURNAL_TITLE, brageLocation);
+    }
+
+    @Benchmark
+    public String lookUpInPublisher() {
+        return register.withNewResolutionCache().lookUpInPublisher(PUBLISHER, BenchmarkFixtures.CUSTOMER);
+    }
+}
@@ -0,0 +1,78 @@
+package no.sikt.nva.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import no.sikt.nva.brage.migration.common.model.BrageLocation;
+import no.sikt.nva.brage.migration.common.model.record.content.ResourceContent;
+import no.sikt.nva.brage.migration.common.model.record.license.License;
+import no.sikt.nva.scrapers.ContentScraper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Scraping of the contents file of a bundle, including detecting the mime type of every file to migrate.
+ *
+ * <p>The bundle has the contents file of the tests and the files it lists that exist as fixtures. The other listed
+ * files are created empty, so that the benchmark does not measure logging of missing files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ContentScraperBenchmark {
+
+    private static final String DUBLIN_CORE_FILENAME = "dublin_core.xml";
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final Set<String> FIXTURES = Set.of("rapport2022_25_1.pdf", "rapport2022_25_2.pdf",
+                                                       "CustomLicense.pdf", "license_rdf");
+    private Path directory;
+    private ContentScraper contentScraper;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = BenchmarkFixtures.createDirectory();
+        var contents = BenchmarkFixtures.copy(BenchmarkFixtures.CONTENTS, directory);
+        BenchmarkFixtures.copy(BenchmarkFixtures.VALID_DUBLIN_CORE, directory, DUBLIN_CORE_FILENAME);
+        Files.readAllLines(contents).stream()
+            .filter(line -> !line.isBlank())
+            .map(line -> line.split(FIELD_SEPARATOR)[0])
+            .forEach(this::addToBundle);
+        contentScraper = new ContentScraper(directory, new BrageLocation(directory), new License(null, null), null,
+                                            BenchmarkFixtures.CUSTOMER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.delete(directory);
+    }
+
+    @Benchmark
+    public ResourceContent scrapeContent() {
+        return contentScraper.scrapeContent();
+    }
+
+    private void addToBundle(String filename) {
+        if (FIXTURES.contains(filename)) {
+            BenchmarkFixtures.copy(filename, directory);
+        } else {
+            createEmptyFile(directory.resolve(filename));
+        }
+    }
+
+    private static void createEmptyFile(Path file) {
+        try {
+            Files.createFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package no.sikt.nva.benchmarks;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import no.sikt.nva.model.dublincore.DublinCore;
+import no.sikt.nva.scrapers.DublinCoreFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Parsing of a dublin_core.xml, done once for every record of a collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DublinCoreFactoryBenchmark {
+
+    private Path directory;
+    private Path dublinCoreFile;
+
+    @Setup
+    public void setUp() {
+        directory = BenchmarkFixtures.createDirectory();
+        dublinCoreFile = BenchmarkFixtures.copy(BenchmarkFixtures.VALID_DUBLIN_CORE, directory);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.delete(directory);
+    }
+
+    @Benchmark
+    public DublinCore createDublinCoreFromXml() {
+        return DublinCoreFactory.createDublinCoreFromXml(dublinCoreFile);
+    }
+}
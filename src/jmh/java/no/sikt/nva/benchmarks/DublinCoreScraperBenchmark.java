@@ -0,0 +1,53 @@
+package no.sikt.nva.benchmarks;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import no.sikt.nva.brage.migration.common.model.BrageLocation;
+import no.sikt.nva.brage.migration.common.model.record.Record;
+import no.sikt.nva.model.dublincore.DublinCore;
+import no.sikt.nva.scrapers.DublinCoreFactory;
+import no.sikt.nva.scrapers.DublinCoreScraper;
+import no.sikt.nva.scrapers.ReferenceData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Validation of a parsed dublin core and scraping it into a record, offline and with look ups in the channel
+ * register, as in a normal run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DublinCoreScraperBenchmark {
+
+    private Path directory;
+    private DublinCore dublinCore;
+    private DublinCoreScraper scraper;
+    private BrageLocation brageLocation;
+
+    @Setup
+    public void setUp() {
+        directory = BenchmarkFixtures.createDirectory();
+        dublinCore = DublinCoreFactory.createDublinCoreFromXml(
+            BenchmarkFixtures.copy(BenchmarkFixtures.VALID_DUBLIN_CORE, directory));
+        scraper = new DublinCoreScraper(false, true, Map.of(), ReferenceData.load(true));
+        brageLocation = new BrageLocation(directory);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.delete(directory);
+    }
+
+    @Benchmark
+    public Record validateAndParseDublinCore() {
+        return scraper.validateAndParseDublinCore(dublinCore, brageLocation, BenchmarkFixtures.CUSTOMER);
+    }
+}
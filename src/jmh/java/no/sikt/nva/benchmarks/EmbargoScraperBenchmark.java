@@ -0,0 +1,45 @@
+package no.sikt.nva.benchmarks;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import no.sikt.nva.model.Embargo;
+import no.sikt.nva.scrapers.embargo.EmbargoScraper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Reading of the embargo file exported from Brage, done once for every run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EmbargoScraperBenchmark {
+
+    private Path directory;
+    private File embargoFile;
+
+    @Setup
+    public void setUp() {
+        directory = BenchmarkFixtures.createDirectory();
+        embargoFile = BenchmarkFixtures.copy(BenchmarkFixtures.FILE_EMBARGO, directory).toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.delete(directory);
+    }
+
+    @Benchmark
+    public Map<String, List<Embargo>> getEmbargoes() {
+        return EmbargoScraper.getEmbargoes(embargoFile);
+    }
+}
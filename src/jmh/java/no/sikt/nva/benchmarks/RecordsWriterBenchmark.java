@@ -0,0 +1,60 @@
+package no.sikt.nva.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.sikt.nva.RecordsWriter;
+import no.sikt.nva.brage.migration.common.model.BrageLocation;
+import no.sikt.nva.brage.migration.common.model.record.Record;
+import no.sikt.nva.scrapers.DublinCoreFactory;
+import no.sikt.nva.scrapers.DublinCoreScraper;
+import no.sikt.nva.scrapers.ReferenceData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Serialization of the records of a collection to json, the throughput is in collections of
+ * {@link #NUMBER_OF_RECORDS} records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RecordsWriterBenchmark {
+
+    private static final int NUMBER_OF_RECORDS = 100;
+    private Path directory;
+    private List<Record> records;
+
+    @Setup
+    public void setUp() {
+        directory = BenchmarkFixtures.createDirectory();
+        var dublinCoreFile = BenchmarkFixtures.copy(BenchmarkFixtures.VALID_DUBLIN_CORE, directory);
+        var scraper = new DublinCoreScraper(false, false, Map.of(), ReferenceData.load(false));
+        var brageLocation = new BrageLocation(directory);
+        records = IntStream.range(0, NUMBER_OF_RECORDS)
+                      .mapToObj(index -> DublinCoreFactory.createDublinCoreFromXml(dublinCoreFile))
+                      .map(dublinCore -> scraper.validateAndParseDublinCore(dublinCore, brageLocation,
+                                                                            BenchmarkFixtures.CUSTOMER))
+                      .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.delete(directory);
+    }
+
+    @Benchmark
+    public String convertMultipleRecordsToJsonString() throws JsonProcessingException {
+        return RecordsWriter.convertMultipleRecordsToJsonString(records);
+    }
+}
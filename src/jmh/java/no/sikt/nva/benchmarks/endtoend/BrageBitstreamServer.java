@@ -0,0 +1,143 @@
+package no.sikt.nva.benchmarks.endtoend;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the bitstream URLs of a Brage instance, as checked by the online embargo check. A share of
+ * the files is locked and answered with one of the configured status codes, the same file always giving the same
+ * answer. A share of the requests is answered with 429 and Retry-After, whatever the file.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class BrageBitstreamServer implements AutoCloseable {
+
+    public static final String BITSTREAM_PATH = "/bitstream/handle/";
+    private static final int OK = 200;
+    private static final int FOUND = 302;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int NO_BODY = -1;
+    private static final int BACKLOG = 256;
+    private static final int SHARE_RESOLUTION = 10_000;
+    private static final String LOGIN_PATH = "/login";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double lockedShare;
+    private final List<Integer> lockedStatusCodes;
+    private final double tooManyRequestsShare;
+    private final long retryAfterSeconds;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong lockedAnswers = new AtomicLong();
+    private final AtomicLong tooManyRequestsAnswers = new AtomicLong();
+
+    /**
+     * @param latency              time every request is answered after
+     * @param latencyJitter        a random time up to this is added to the latency of every request
+     * @param lockedShare          share of the files that are locked
+     * @param lockedStatusCodes    status codes locked files are answered with, spread evenly over the locked files
+     * @param tooManyRequestsShare share of the requests answered with 429
+     * @param retryAfter           Retry-After of the requests answered with 429
+     */
+    public BrageBitstreamServer(Duration latency, Duration latencyJitter, double lockedShare,
+                                List<Integer> lockedStatusCodes, double tooManyRequestsShare, Duration retryAfter)
+        throws IOException {
+        if (lockedStatusCodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one status code is needed for locked files");
+        }
+        this.latencyMillis = latency.toMillis();
+        this.latencyJitterMillis = latencyJitter.toMillis();
+        this.lockedShare = lockedShare;
+        this.lockedStatusCodes = List.copyOf(lockedStatusCodes);
+        this.tooManyRequestsShare = tooManyRequestsShare;
+        this.retryAfterSeconds = retryAfter.toSeconds();
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), BACKLOG);
+        server.createContext(BITSTREAM_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return the address to use for the customer, the handle and filename of a file are appended to it
+     */
+    public String getCustomerAddress() {
+        var address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort() + BITSTREAM_PATH;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getLockedAnswers() {
+        return lockedAnswers.get();
+    }
+
+    public long getTooManyRequestsAnswers() {
+        return tooManyRequestsAnswers.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            delay();
+            respond(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        var path = exchange.getRequestURI().getRawPath();
+        if (ThreadLocalRandom.current().nextDouble() < tooManyRequestsShare) {
+            tooManyRequestsAnswers.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+            exchange.sendResponseHeaders(TOO_MANY_REQUESTS, NO_BODY);
+        } else if (isLocked(path)) {
+            lockedAnswers.incrementAndGet();
+            var statusCode = lockedStatusCode(path);
+            if (statusCode == FOUND) {
+                exchange.getResponseHeaders().set("Location", LOGIN_PATH);
+            }
+            exchange.sendResponseHeaders(statusCode, NO_BODY);
+        } else {
+            exchange.getResponseHeaders().set("Content-Type", "application/pdf");
+            exchange.sendResponseHeaders(OK, NO_BODY);
+        }
+    }
+
+    private boolean isLocked(String path) {
+        return Math.floorMod(path.hashCode(), SHARE_RESOLUTION) < lockedShare * SHARE_RESOLUTION;
+    }
+
+    private int lockedStatusCode(String path) {
+        return lockedStatusCodes.get(Math.floorMod(path.hashCode() / SHARE_RESOLUTION, lockedStatusCodes.size()));
+    }
+
+    private void delay() throws InterruptedException {
+        var jitter = latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0;
+        if (latencyMillis + jitter > 0) {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis + jitter);
+        }
+    }
+}
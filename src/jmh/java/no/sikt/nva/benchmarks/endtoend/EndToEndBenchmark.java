@@ -0,0 +1,226 @@
+package no.sikt.nva.benchmarks.endtoend;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import no.sikt.nva.BrageMigrationCommand;
+import no.sikt.nva.benchmarks.BenchmarkFixtures;
+import no.sikt.nva.generator.SyntheticExportGenerator;
+import no.sikt.nva.scrapers.embargo.OnlineEmbargoCheckerImpl;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+/**
+ * Runs the migration command with {@code -a} on a synthetic export, against in-process stand-ins for S3 and for the
+ * bitstream URLs of Brage, and reports records/sec, MB/sec uploaded and latency percentiles of the online embargo
+ * checks, of storing every record and of every S3 operation. Nothing is sent to AWS or to the customer.
+ */
+@Command(name = "End-to-end benchmark", description = "Runs the migration against local stand-ins for S3 and Brage "
+                                                      + "and reports its throughput")
+public class EndToEndBenchmark implements Callable<Integer> {
+
+    private static final String REPORT_FILENAME = "end-to-end-report.txt";
+    private static final String INPUT_DIRECTORY = "input";
+    private static final String OUTPUT_DIRECTORY = "output";
+    private static final String PATH_DELIMITER = "/";
+    private static final int MAX_AUTHORS = 5;
+    private static final double BYTES_PER_MB = 1_000_000;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String ACCESS_KEY = "benchmark";
+
+    @Option(names = {"-n", "--records"}, description = "Number of records, default 1000", defaultValue = "1000")
+    private int numberOfRecords;
+
+    @Option(names = {"--collections"}, description = "Number of zipfiles the records are spread over, default 1",
+        defaultValue = "1")
+    private int numberOfCollections;
+
+    @Option(names = {"--min-file-size"}, description = "Minimum size in bytes of the original file of a bundle, "
+                                                       + "default 10240", defaultValue = "10240")
+    private long minFileSize;
+
+    @Option(names = {"--max-file-size"}, description = "Maximum size in bytes of the original file of a bundle, "
+                                                       + "default 102400", defaultValue = "102400")
+    private long maxFileSize;
+
+    @Option(names = {"--seed"}, description = "Seed of the synthetic export, default 1", defaultValue = "1")
+    private long seed;
+
+    @Option(names = {"-c", "--customer"}, description = "Customer the export is migrated for, default ntnu",
+        defaultValue = "ntnu")
+    private String customer;
+
+    @Option(names = {"--s3-latency-ms"}, description = "Time every S3 request is answered after, default 0",
+        defaultValue = "0")
+    private long s3LatencyMillis;
+
+    @Option(names = {"--brage-latency-ms"}, description = "Time every online embargo check is answered after, "
+                                                          + "default 20", defaultValue = "20")
+    private long brageLatencyMillis;
+
+    @Option(names = {"--brage-latency-jitter-ms"}, description = "A random time up to this is added to the time "
+                                                                 + "every online embargo check is answered after, "
+                                                                 + "default 0", defaultValue = "0")
+    private long brageLatencyJitterMillis;
+
+    @Option(names = {"--locked-share"}, description = "Share of the files that are locked in Brage, default 0.05",
+        defaultValue = "0.05")
+    private double lockedShare;
+
+    @Option(names = {"--locked-status"}, split = ",", description = "Status codes locked files are answered with, "
+                                                                    + "e.g. 302,401,403,404, default 302",
+        defaultValue = "302")
+    private List<Integer> lockedStatusCodes;
+
+    @Option(names = {"--too-many-requests-share"}, description = "Share of the online embargo checks answered with "
+                                                                 + "429, default 0", defaultValue = "0")
+    private double tooManyRequestsShare;
+
+    @Option(names = {"--retry-after-seconds"}, description = "Retry-After of the checks answered with 429, default 1",
+        defaultValue = "1")
+    private long retryAfterSeconds;
+
+    @Option(names = {"--work-directory"}, description = "Directory to write the export, the output of the migration "
+                                                        + "and " + REPORT_FILENAME + " to, they are kept. By default "
+                                                        + "a temporary directory is used and deleted afterwards")
+    private Path workDirectory;
+
+    @Parameters(description = "Further options of the migration command, given after --, e.g. -- --push-workers 8 "
+                              + "--online-embargo-requests 32")
+    private List<String> migrationArguments = new ArrayList<>();
+
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    @Option(names = {"-h", "--help"}, usageHelp = true, description = "display this help message")
+    private boolean usageHelpRequested;
+
+    private int migrationExitCode;
+
+    public static void main(String[] args) {
+        int exitCode = new CommandLine(new EndToEndBenchmark()).execute(args);
+        System.exit(exitCode);
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        var directory = nonNull(workDirectory) ? workDirectory : BenchmarkFixtures.createDirectory();
+        var inputDirectory = directory.resolve(INPUT_DIRECTORY);
+        var outputDirectory = directory.resolve(OUTPUT_DIRECTORY);
+        Files.createDirectories(outputDirectory);
+        // Read by the log configuration, and so set before anything logs
+        System.setProperty(BrageMigrationCommand.CUSTOMER_SYSTEM_PROPERTY, customer);
+        System.setProperty(BrageMigrationCommand.OUTPUT_DIR_SYSTEM_PROPERTY, outputDirectory + PATH_DELIMITER);
+        try {
+            new SyntheticExportGenerator(inputDirectory, numberOfCollections, Map.of(), Map.of(), MAX_AUTHORS,
+                                         minFileSize, maxFileSize, seed).generate(numberOfRecords);
+            var report = run(inputDirectory, outputDirectory);
+            System.out.println(report);
+            if (nonNull(workDirectory)) {
+                Files.writeString(directory.resolve(REPORT_FILENAME), report, StandardCharsets.UTF_8);
+            }
+        } finally {
+            if (isNull(workDirectory)) {
+                BenchmarkFixtures.delete(directory);
+            }
+        }
+        return migrationExitCode;
+    }
+
+    private String run(Path inputDirectory, Path outputDirectory) throws Exception {
+        var latencies = new StageLatencies();
+        var interceptor = new S3TimingInterceptor(latencies);
+        try (var s3 = new FakeS3Server(Duration.ofMillis(s3LatencyMillis));
+            var brage = new BrageBitstreamServer(Duration.ofMillis(brageLatencyMillis),
+                                                 Duration.ofMillis(brageLatencyJitterMillis), lockedShare,
+                                                 lockedStatusCodes, tooManyRequestsShare,
+                                                 Duration.ofSeconds(retryAfterSeconds));
+            var s3Client = createS3Client(s3.getEndpoint(), interceptor)) {
+            var onlineEmbargoChecker = new TimedOnlineEmbargoChecker(new OnlineEmbargoCheckerImpl(),
+                                                                     brage.getCustomerAddress(), latencies);
+            var command = new BrageMigrationCommand(s3Client, onlineEmbargoChecker);
+            var started = System.nanoTime();
+            migrationExitCode = new CommandLine(command).execute(arguments(inputDirectory, outputDirectory));
+            var finished = System.nanoTime();
+            var pushStarted = s3.getFirstRequestNanos() > 0 ? s3.getFirstRequestNanos() : finished;
+            var pushFinished = Math.max(pushStarted, s3.getLastResponseNanos());
+            var records = interceptor.getStoredRecords();
+            var megabytes = s3.getBytesReceived() / BYTES_PER_MB;
+            var wallSeconds = seconds(finished - started);
+            var pushSeconds = seconds(pushFinished - pushStarted);
+            return String.join(System.lineSeparator(),
+                               format("Records in the export       %d in %d collections", numberOfRecords,
+                                      numberOfCollections),
+                               format("Migration exit code         %d", migrationExitCode),
+                               format("Wall time                   %.1f s", wallSeconds),
+                               format("Processing                  %.1f s, until the first request to S3",
+                                      seconds(pushStarted - started)),
+                               format("Push                        %.1f s", pushSeconds),
+                               format("Records stored              %d", records),
+                               format("Records/sec                 %.1f overall, %.1f during push",
+                                      rate(records, wallSeconds), rate(records, pushSeconds)),
+                               format("Uploaded                    %.1f MB", megabytes),
+                               format("MB/sec uploaded             %.1f during push", rate(megabytes, pushSeconds)),
+                               format("S3 requests                 %d", s3.getRequests()),
+                               format("Online embargo requests     %d, %d answered locked, %d answered 429",
+                                      brage.getRequests(), brage.getLockedAnswers(),
+                                      brage.getTooManyRequestsAnswers()),
+                               "",
+                               latencies.format());
+        }
+    }
+
+    private String[] arguments(Path inputDirectory, Path outputDirectory) {
+        var arguments = new ArrayList<>(List.of(BrageMigrationCommand.CUSTOMER_ARGUMENT_SHORT, customer,
+                                                "-D", inputDirectory.toString(),
+                                                BrageMigrationCommand.OUTPUT_DIR_ARGUMENT_SHORT,
+                                                outputDirectory + PATH_DELIMITER,
+                                                "-a"));
+        arguments.addAll(migrationArguments);
+        return arguments.toArray(String[]::new);
+    }
+
+    /**
+     * Path-style requests, as the stand-in has no bucket subdomains.
+     */
+    private static S3Client createS3Client(URI endpoint, S3TimingInterceptor interceptor) {
+        return S3Client.builder()
+                   .endpointOverride(endpoint)
+                   .region(Region.EU_WEST_1)
+                   .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY,
+                                                                                                    ACCESS_KEY)))
+                   .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                   .overrideConfiguration(ClientOverrideConfiguration.builder()
+                                              .addExecutionInterceptor(interceptor)
+                                              .build())
+                   .build();
+    }
+
+    private static String format(String format, Object... arguments) {
+        return String.format(Locale.ROOT, format, arguments);
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / NANOS_PER_SECOND;
+    }
+
+    private static double rate(double amount, double seconds) {
+        return seconds > 0 ? amount / seconds : 0;
+    }
+}
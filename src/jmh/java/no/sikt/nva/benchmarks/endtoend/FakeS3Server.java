@@ -0,0 +1,258 @@
+package no.sikt.nva.benchmarks.endtoend;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for the S3 requests of the push to NVA: PutObject and the create, upload part, complete and
+ * abort requests of multipart uploads. Objects are not kept, only the size of their content is counted. Every request
+ * is answered after the configured latency.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class FakeS3Server implements AutoCloseable {
+
+    private static final int OK = 200;
+    private static final int NO_CONTENT = 204;
+    private static final int NOT_IMPLEMENTED = 501;
+    private static final int NO_BODY = -1;
+    private static final int BACKLOG = 256;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String PUT = "PUT";
+    private static final String POST = "POST";
+    private static final String DELETE = "DELETE";
+    private static final String UPLOADS = "uploads";
+    private static final String UPLOAD_ID = "uploadId";
+    private static final String CONTENT_SHA256 = "x-amz-content-sha256";
+    private static final String STREAMING_PAYLOAD = "STREAMING-";
+    private static final String CHUNK_EXTENSION = ";";
+    private static final int HEXADECIMAL = 16;
+    private static final String NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+    private static final String INITIATE_RESULT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                                                  + "<InitiateMultipartUploadResult xmlns=\"" + NAMESPACE + "\">"
+                                                  + "<Bucket>%s</Bucket><Key>%s</Key><UploadId>%s</UploadId>"
+                                                  + "</InitiateMultipartUploadResult>";
+    private static final String COMPLETE_RESULT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                                                  + "<CompleteMultipartUploadResult xmlns=\"" + NAMESPACE + "\">"
+                                                  + "<Bucket>%s</Bucket><Key>%s</Key><ETag>\"%s\"</ETag>"
+                                                  + "</CompleteMultipartUploadResult>";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong firstRequestNanos = new AtomicLong();
+    private final AtomicLong lastResponseNanos = new AtomicLong();
+
+    public FakeS3Server(Duration latency) throws IOException {
+        this.latencyMillis = latency.toMillis();
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), BACKLOG);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public URI getEndpoint() {
+        var address = server.getAddress();
+        return URI.create("http://" + address.getAddress().getHostAddress() + ":" + address.getPort());
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return size in bytes of the content of the objects and parts received, without the chunk signatures
+     */
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    /**
+     * @return the time, as given by {@link System#nanoTime()}, of the first request, 0 when no request was received
+     */
+    public long getFirstRequestNanos() {
+        return firstRequestNanos.get();
+    }
+
+    public long getLastResponseNanos() {
+        return lastResponseNanos.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        firstRequestNanos.compareAndSet(0, System.nanoTime());
+        requests.incrementAndGet();
+        try {
+            delay();
+            respond(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+            lastResponseNanos.set(System.nanoTime());
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        var method = exchange.getRequestMethod();
+        var parameters = queryParameters(exchange.getRequestURI());
+        if (PUT.equals(method)) {
+            var md5 = receive(exchange);
+            exchange.getResponseHeaders().set("ETag", "\"" + md5 + "\"");
+            exchange.sendResponseHeaders(OK, NO_BODY);
+        } else if (POST.equals(method) && parameters.contains(UPLOADS)) {
+            send(exchange, String.format(INITIATE_RESULT, bucket(exchange), key(exchange), UUID.randomUUID()));
+        } else if (POST.equals(method) && parameters.contains(UPLOAD_ID)) {
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            send(exchange, String.format(COMPLETE_RESULT, bucket(exchange), key(exchange), UUID.randomUUID()));
+        } else if (DELETE.equals(method)) {
+            exchange.sendResponseHeaders(NO_CONTENT, NO_BODY);
+        } else {
+            exchange.sendResponseHeaders(NOT_IMPLEMENTED, NO_BODY);
+        }
+    }
+
+    /**
+     * Over plain HTTP the SDK signs the payload chunk by chunk, the content is then sent as aws-chunked. The MD5 of the
+     * content is returned as the ETag, as the SDK validates it for PutObject.
+     */
+    private String receive(HttpExchange exchange) throws IOException {
+        var digest = md5();
+        var input = new BufferedInputStream(exchange.getRequestBody(), BUFFER_SIZE);
+        var contentSha256 = exchange.getRequestHeaders().getFirst(CONTENT_SHA256);
+        var received = nonNull(contentSha256) && contentSha256.startsWith(STREAMING_PAYLOAD)
+                           ? readChunked(input, digest)
+                           : read(input, digest, Long.MAX_VALUE);
+        bytesReceived.addAndGet(received);
+        return String.format("%032x", new BigInteger(1, digest.digest()));
+    }
+
+    private static long readChunked(InputStream input, MessageDigest digest) throws IOException {
+        var received = 0L;
+        var chunkSize = nextChunkSize(input);
+        while (chunkSize > 0) {
+            if (read(input, digest, chunkSize) < chunkSize) {
+                throw new EOFException();
+            }
+            received += chunkSize;
+            readLine(input);
+            chunkSize = nextChunkSize(input);
+        }
+        input.transferTo(OutputStream.nullOutputStream());
+        return received;
+    }
+
+    private static long nextChunkSize(InputStream input) throws IOException {
+        var header = readLine(input);
+        var extension = header.indexOf(CHUNK_EXTENSION);
+        return Long.parseLong(extension < 0 ? header : header.substring(0, extension), HEXADECIMAL);
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+        var line = new ByteArrayOutputStream();
+        var current = input.read();
+        while (current != '\n') {
+            if (current < 0) {
+                throw new EOFException();
+            }
+            if (current != '\r') {
+                line.write(current);
+            }
+            current = input.read();
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static long read(InputStream input, MessageDigest digest, long length) throws IOException {
+        var buffer = new byte[BUFFER_SIZE];
+        var received = 0L;
+        while (received < length) {
+            var bytesRead = input.read(buffer, 0, (int) Math.min(buffer.length, length - received));
+            if (bytesRead < 0) {
+                break;
+            }
+            digest.update(buffer, 0, bytesRead);
+            received += bytesRead;
+        }
+        return received;
+    }
+
+    private void delay() throws InterruptedException {
+        if (latencyMillis > 0) {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis);
+        }
+    }
+
+    private static void send(HttpExchange exchange, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(OK, bytes.length);
+        try (var output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static Set<String> queryParameters(URI uri) {
+        var query = uri.getRawQuery();
+        if (isNull(query)) {
+            return Set.of();
+        }
+        return Arrays.stream(query.split("&"))
+                   .map(parameter -> parameter.split("=", 2)[0])
+                   .collect(Collectors.toSet());
+    }
+
+    /**
+     * Requests are path-style, /bucket/key.
+     */
+    private static String bucket(HttpExchange exchange) {
+        var path = exchange.getRequestURI().getPath();
+        var keyStart = path.indexOf('/', 1);
+        return keyStart < 0 ? path.substring(1) : path.substring(1, keyStart);
+    }
+
+    private static String key(HttpExchange exchange) {
+        var path = exchange.getRequestURI().getPath();
+        var keyStart = path.indexOf('/', 1);
+        return keyStart < 0 ? "" : path.substring(keyStart + 1);
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
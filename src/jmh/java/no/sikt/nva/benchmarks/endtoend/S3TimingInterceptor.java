@@ -0,0 +1,92 @@
+package no.sikt.nva.benchmarks.endtoend;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Times every S3 operation, from the call to the client until its response, retries included. The records are stored
+ * by S3StorageImpl.storeRecord as the content files of the bundle followed by the record itself, the time from the
+ * first request for a bundle until the record is stored is recorded as the time storing the record.
+ */
+public class S3TimingInterceptor implements ExecutionInterceptor {
+
+    public static final String STORE_RECORD = "storeRecord";
+    private static final ExecutionAttribute<Long> STARTED = new ExecutionAttribute<>("BenchmarkStarted");
+    private static final String PUT_OBJECT = "PutObject";
+    private static final String FAILED = " (failed)";
+    private static final String RECORD_FILE_ENDING = ".json";
+    private static final String KEY = "Key";
+    private static final char PATH_DELIMITER = '/';
+    private static final int BUNDLE_KEY_DELIMITERS = 3;
+
+    private final StageLatencies latencies;
+    private final Map<String, Long> bundleStarts = new ConcurrentHashMap<>();
+    private final AtomicLong storedRecords = new AtomicLong();
+
+    public S3TimingInterceptor(StageLatencies latencies) {
+        this.latencies = latencies;
+    }
+
+    public long getStoredRecords() {
+        return storedRecords.get();
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        var started = System.nanoTime();
+        executionAttributes.putAttribute(STARTED, started);
+        var bundle = bundleOf(context.request());
+        if (nonNull(bundle)) {
+            bundleStarts.putIfAbsent(bundle, started);
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        var finished = System.nanoTime();
+        var operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        latencies.record(operation, finished - executionAttributes.getAttribute(STARTED));
+        var bundle = bundleOf(context.request());
+        if (PUT_OBJECT.equals(operation) && nonNull(bundle) && isRecord(context.request())) {
+            var bundleStarted = bundleStarts.remove(bundle);
+            if (nonNull(bundleStarted)) {
+                latencies.record(STORE_RECORD, finished - bundleStarted);
+                storedRecords.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        var operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        latencies.record(operation + FAILED, System.nanoTime() - executionAttributes.getAttribute(STARTED));
+    }
+
+    private static boolean isRecord(SdkRequest request) {
+        return request.getValueForField(KEY, String.class)
+                   .filter(key -> key.endsWith(RECORD_FILE_ENDING))
+                   .isPresent();
+    }
+
+    /**
+     * Files of a bundle are stored as customer/collection/bundle/file, the logs and input files of the run directly
+     * under the customer.
+     */
+    private static String bundleOf(SdkRequest request) {
+        var key = request.getValueForField(KEY, String.class).orElse(null);
+        if (isNull(key) || key.chars().filter(character -> character == PATH_DELIMITER).count()
+                           != BUNDLE_KEY_DELIMITERS) {
+            return null;
+        }
+        return key.substring(0, key.lastIndexOf(PATH_DELIMITER));
+    }
+}
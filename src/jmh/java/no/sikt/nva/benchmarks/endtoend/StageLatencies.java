@@ -0,0 +1,89 @@
+package no.sikt.nva.benchmarks.endtoend;
+
+import static java.util.Objects.isNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies of the stages of a run, reported in the order the stages were first seen.
+ */
+public class StageLatencies {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+    private static final String HEADER = String.format(Locale.ROOT, "%-28s %8s %9s %9s %9s %9s %9s",
+                                                       "Stage (ms)", "count", "mean", "p50", "p90", "p99", "max");
+    private static final String ROW = "%-28s %8d %9.1f %9.1f %9.1f %9.1f %9.1f";
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Object lock = new Object();
+    private final Map<String, Samples> samplesByStage = new ConcurrentHashMap<>();
+    private final List<String> stages = new ArrayList<>();
+
+    public void record(String stage, long nanos) {
+        synchronized (lock) {
+            var samples = samplesByStage.get(stage);
+            if (isNull(samples)) {
+                samples = new Samples();
+                samplesByStage.put(stage, samples);
+                stages.add(stage);
+            }
+            samples.add(nanos);
+        }
+    }
+
+    /**
+     * @return one row per stage with the number of samples, mean, p50, p90, p99 and max in milliseconds
+     */
+    public String format() {
+        synchronized (lock) {
+            var table = new StringBuilder(HEADER).append(System.lineSeparator());
+            for (var stage : stages) {
+                table.append(samplesByStage.get(stage).format(stage)).append(System.lineSeparator());
+            }
+            return table.toString();
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size] = value;
+            size++;
+        }
+
+        private String format(String stage) {
+            var sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            var mean = Arrays.stream(sorted).average().orElse(0);
+            return String.format(Locale.ROOT, ROW, stage, size, millis(mean),
+                                 millis(percentile(sorted, PERCENTILES[0])),
+                                 millis(percentile(sorted, PERCENTILES[1])),
+                                 millis(percentile(sorted, PERCENTILES[2])),
+                                 millis(sorted[size - 1]));
+        }
+
+        /**
+         * Nearest rank, the smallest sample that at least the given share of the samples are less than or equal to.
+         */
+        private static long percentile(long[] sorted, double percentile) {
+            var rank = (int) Math.ceil(percentile * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static double millis(double nanos) {
+            return nanos / NANOS_PER_MILLI;
+        }
+    }
+}
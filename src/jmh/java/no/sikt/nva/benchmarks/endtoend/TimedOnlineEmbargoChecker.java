@@ -0,0 +1,100 @@
+package no.sikt.nva.benchmarks.endtoend;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import no.sikt.nva.scrapers.embargo.CustomerAddressResolver;
+import no.sikt.nva.scrapers.embargo.OnlineEmbargoCache;
+import no.sikt.nva.scrapers.embargo.OnlineEmbargoChecker;
+
+/**
+ * Times every online embargo check of a checker, from the call until the answer, including the wait for a request
+ * slot of the host and retries. The files are checked at the given address whatever the customer.
+ */
+public class TimedOnlineEmbargoChecker implements OnlineEmbargoChecker {
+
+    public static final String ONLINE_EMBARGO_CHECK = "online embargo check";
+
+    private final OnlineEmbargoChecker onlineEmbargoChecker;
+    private final String customerAddress;
+    private final StageLatencies latencies;
+
+    public TimedOnlineEmbargoChecker(OnlineEmbargoChecker onlineEmbargoChecker, String customerAddress,
+                                     StageLatencies latencies) {
+        this.onlineEmbargoChecker = onlineEmbargoChecker;
+        this.customerAddress = customerAddress;
+        this.latencies = latencies;
+    }
+
+    @Override
+    public boolean fileIsLockedOnline(String handle, String filename) {
+        var started = System.nanoTime();
+        try {
+            return onlineEmbargoChecker.fileIsLockedOnline(handle, filename);
+        } finally {
+            latencies.record(ONLINE_EMBARGO_CHECK, System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> fileIsLockedOnlineAsync(String handle, String filename) {
+        var started = System.nanoTime();
+        return onlineEmbargoChecker.fileIsLockedOnlineAsync(handle, filename)
+                   .whenComplete((isLocked, exception) -> latencies.record(ONLINE_EMBARGO_CHECK,
+                                                                           System.nanoTime() - started));
+    }
+
+    @Override
+    public int getMaxRequestsInFlight() {
+        return onlineEmbargoChecker.getMaxRequestsInFlight();
+    }
+
+    @Override
+    public void setMaxRequestsInFlight(int maxRequestsInFlight) {
+        onlineEmbargoChecker.setMaxRequestsInFlight(maxRequestsInFlight);
+    }
+
+    @Override
+    public void calculateCustomerAddress(String customer) {
+        calculateCustomerAddress(customer, new StandInAddressResolver(customerAddress));
+    }
+
+    @Override
+    public void calculateCustomerAddress(String customer, CustomerAddressResolver customerAddressResolver) {
+        onlineEmbargoChecker.calculateCustomerAddress(customer, new StandInAddressResolver(customerAddress));
+    }
+
+    @Override
+    public void setOutputDirectory(String outputDirectory) {
+        onlineEmbargoChecker.setOutputDirectory(outputDirectory);
+    }
+
+    @Override
+    public void setCache(OnlineEmbargoCache cache) {
+        onlineEmbargoChecker.setCache(cache);
+    }
+
+    @Override
+    public void setReportFlushInterval(Duration reportFlushInterval) {
+        onlineEmbargoChecker.setReportFlushInterval(reportFlushInterval);
+    }
+
+    @Override
+    public void closeReport() {
+        onlineEmbargoChecker.closeReport();
+    }
+
+    private static final class StandInAddressResolver extends CustomerAddressResolver {
+
+        private final String customerAddress;
+
+        private StandInAddressResolver(String customerAddress) {
+            super();
+            this.customerAddress = customerAddress;
+        }
+
+        @Override
+        public String getAddressForCustomer(String customer) {
+            return customerAddress;
+        }
+    }
+}
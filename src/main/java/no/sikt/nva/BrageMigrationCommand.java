@@ -10,12 +10,12 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,8 +24,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import no.sikt.nva.brage.migration.aws.RecordPushEngine;
 import no.sikt.nva.brage.migration.aws.S3Storage;
 import no.sikt.nva.brage.migration.aws.S3StorageImpl;
 import no.sikt.nva.brage.migration.aws.S3StorageValidator;
@@ -35,13 +37,19 @@ import no.sikt.nva.brage.migration.common.model.record.Record;
 import no.sikt.nva.model.Embargo;
 import no.sikt.nva.scrapers.AffiliationType;
 import no.sikt.nva.scrapers.AffiliationsScraper;
+import no.sikt.nva.scrapers.AlreadyImportedHandlesScraper;
 import no.sikt.nva.scrapers.ContributorScraper;
 import no.sikt.nva.scrapers.CustomerMapper;
+import no.sikt.nva.scrapers.DublinCoreParser;
 import no.sikt.nva.scrapers.DublinCoreScraper;
+import no.sikt.nva.scrapers.ImportedHandleIndex;
+import no.sikt.nva.scrapers.ReferenceData;
 import no.sikt.nva.scrapers.embargo.EmbargoParser;
 import no.sikt.nva.scrapers.embargo.EmbargoScraper;
+import no.sikt.nva.scrapers.embargo.OnlineEmbargoCache;
 import no.sikt.nva.scrapers.embargo.OnlineEmbargoChecker;
 import no.sikt.nva.scrapers.embargo.OnlineEmbargoCheckerImpl;
+import no.sikt.nva.validators.DoiValidationService;
 import no.unit.nva.s3.S3Driver;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.StringUtils;
@@ -66,7 +74,6 @@ import software.amazon.awssdk.services.s3.S3Client;
 public class BrageMigrationCommand implements Callable<Integer> {
 
     public static final String PATH_DELIMITER = "/";
-    public static final String OUTPUT_JSON_FILENAME = "records.json";
     public static final String FAILURE_IN_BRAGE_MIGRATION_COMMAND = "Failure in BrageMigration command";
     public static final String FOLLOWING_FIELDS_ARE_IGNORED = "The following fields will not be migrated:  \n";
     public static final String INCOMPATIBLE_ARGUMENTS_ZIPFILE_AND_INPUT_DIRECTORY =
@@ -76,6 +83,9 @@ public class BrageMigrationCommand implements Callable<Integer> {
     public static final String SLASH = "/";
     public static final String EMBARGO_COUNTER_MESSAGE = "Records removed from import because of embargo: ";
     public static final String RECORDS_WRITER_MESSAGE = "Records written to file: ";
+    public static final String CHANNEL_REGISTER_RESOLUTIONS_MESSAGE =
+        "Channel register resolutions from cache: {}, resolved in register: {}";
+    public static final String RECORDS_FAILED_TO_PUSH_MESSAGE = "Records failed to push to AWS: {}, handles: {}";
     public static final String DEFAULT_CONTRIBUTORS_FILE_NAME = "contributors.txt";
     public static final String COULD_NOT_EXTRACT_CONTRIBUTORS = "Could not extract contributors";
     public static final String DEFAULT_LOCATION = "/brageexports/";
@@ -100,7 +110,11 @@ public class BrageMigrationCommand implements Callable<Integer> {
     private static final int ERROR_EXIT_CODE = 2;
     private static final String COLLECTION_FILENAME = "samlingsfil.txt";
     private static final String ZIP_FILE_ENDING = ".zip";
-    private static final List<String> handles = Collections.synchronizedList(new ArrayList<>());
+    public static final String INCOMPATIBLE_ARGUMENTS_PIPELINED_UNZIP_AND_READ_FROM_ZIPFILE =
+        "Arguments --pipelined-unzip and --read-from-zipfile cannot be used together";
+    public static final String IMPORTED_HANDLES_MESSAGE = "Handles from previous imports: {}";
+    public static final String INVALID_NUMBER_OF_BUNDLE_WORKERS_MESSAGE = "Number of bundle workers must be at least 1,"
+                                                                          + " was: ";
     public static final String PROCEEDING_COLLECTIONS_MESSAGE = "Proceeding following collections: {}";
     private final S3Client s3Client;
     private AwsEnvironment awsEnvironment;
@@ -144,6 +158,89 @@ public class BrageMigrationCommand implements Callable<Integer> {
                                                                  + "import that have failed")
     private String proceededRecordsFile;
 
+    @Option(names = {"-w", "--workers"}, description = "Number of collections processed in parallel, default 1",
+        defaultValue = "1")
+    private int workers;
+
+    @Option(names = {"--bundle-workers"}, description = "Number of threads processing the bundles of a collection, "
+                                                        + "default 1", defaultValue = "1")
+    private int bundleWorkers;
+
+    @Option(names = {"--pipelined-unzip"}, description = "Process bundles while the zipfile is being extracted")
+    private boolean pipelinedUnzip;
+
+    @Option(names = {"--read-from-zipfile"}, description = "Read bundles directly from the zipfile without "
+                                                           + "extracting it, content files are only extracted when "
+                                                           + "records are pushed to AWS")
+    private boolean readFromZipfile;
+
+    @Option(names = {"--dublin-core-parser"}, description = "Parser for dublin_core.xml, JAXB or STAX, default JAXB",
+        defaultValue = "JAXB")
+    private DublinCoreParser dublinCoreParser;
+
+    @Option(names = {"--records-format"}, description = "Format of the records file of every collection, JSON "
+                                                         + "writes records.json, NDJSON writes one record per line "
+                                                         + "to records.ndjson, default JSON", defaultValue = "JSON")
+    private RecordsFormat recordsFormat;
+
+    @Option(names = {"--processed-handles-file"}, description = "File with handles of records written by previous "
+                                                                + "runs, bundles with these handles are skipped and "
+                                                                + "handles written by this run are added")
+    private String processedHandlesFile;
+
+    @Option(names = {"--push-workers"}, description = "Number of records pushed to AWS in parallel, default 1",
+        defaultValue = "1")
+    private int pushWorkers;
+
+    @Option(names = {"--push-max-in-flight-bytes"}, description = "Maximum size in bytes of the content files of the "
+                                                                  + "records being pushed to AWS at the same time, "
+                                                                  + "default 268435456", defaultValue = "268435456")
+    private long pushMaxInFlightBytes;
+
+    @Option(names = {"--online-embargo-requests"}, description = "Number of online embargo checks in flight at the "
+                                                                 + "same time, the files of a collection are then "
+                                                                 + "checked together after its bundles are "
+                                                                 + "processed, default 0 checks every file while "
+                                                                 + "its bundle is processed", defaultValue = "0")
+    private int onlineEmbargoRequests;
+
+    @Option(names = {"--online-embargo-cache"}, description = "File caching results of online embargo checks across "
+                                                              + "runs, cached files are not checked online again "
+                                                              + "until the entry expires")
+    private String onlineEmbargoCacheFile;
+
+    @Option(names = {"--online-embargo-cache-ttl-days"}, description = "Number of days a cached result of an online "
+                                                                       + "embargo check is used, default 30",
+        defaultValue = "30")
+    private int onlineEmbargoCacheTtlDays;
+
+    @Option(names = {"--refresh-online-embargo-cache"}, description = "Check every file online again and replace "
+                                                                      + "its cached result")
+    private boolean refreshOnlineEmbargoCache;
+
+    @Option(names = {"--locked-files-flush-seconds"}, description = "How often LockedDuringOnlineCheck.csv is flushed "
+                                                                    + "during the run, 0 only flushes it when the "
+                                                                    + "collections are processed, default 10",
+        defaultValue = "10")
+    private int lockedFilesFlushSeconds;
+
+    @Option(names = {"--doi-validation-requests"}, description = "Number of DOIs validated online at the same time "
+                                                                 + "with -ov, the DOIs of all records of a collection "
+                                                                 + "are then validated together, default 0 validates "
+                                                                 + "the DOIs of every record while it is processed",
+        defaultValue = "0")
+    private int doiValidationRequests;
+
+    @Option(names = {"--doi-cache"}, description = "File caching results of online DOI validation across runs, "
+                                                   + "cached DOIs are not validated again")
+    private String doiCacheFile;
+
+    private DoiValidationService doiValidation;
+
+    private OnlineEmbargoCache onlineEmbargoCache;
+
+    private ProcessedHandleRegistry processedHandles;
+
     private RecordStorage recordStorage;
 
     private final OnlineEmbargoChecker onlineEmbargoChecker;
@@ -173,15 +270,6 @@ public class BrageMigrationCommand implements Callable<Integer> {
         System.exit(exitCode);
     }
 
-    @SuppressWarnings("PMD.AvoidSynchronizedAtMethodLevel")
-    public static synchronized boolean alreadyProcessed(String handle) {
-        if (handles.contains(handle)) {
-            return true;
-        }
-        handles.add(handle);
-        return false;
-    }
-
     @Option(names = {"-j", "--aws-bucket"}, description = "Name of AWS bucket to push result in  'experimental', "
                                                           + "'sandbox', and 'develop' are valid", defaultValue = "experimental")
     public void setAwsEnvironment(String value) {
@@ -219,22 +307,45 @@ public class BrageMigrationCommand implements Callable<Integer> {
                 var contributors = getContributors(inputDirectory);
                 var affiliations = AffiliationsScraper.getAffiliations(new File(inputDirectory + AFFILIATIONS_FILE));
                 printIgnoredDcValuesFieldsInInfoLog();
-                onlineEmbargoChecker.calculateCustomerAddress(customer);
+                var referenceData = ReferenceData.load(shouldLookUpInChannelRegister);
+                onlineEmbargoChecker.calculateCustomerAddress(customer, referenceData.getCustomerAddresses());
                 onlineEmbargoChecker.setOutputDirectory(outputDirectory);
+                onlineEmbargoChecker.setReportFlushInterval(Duration.ofSeconds(lockedFilesFlushSeconds));
+                onlineEmbargoChecker.setMaxRequestsInFlight(onlineEmbargoRequests);
+                this.onlineEmbargoCache = createOnlineEmbargoCache();
+                onlineEmbargoChecker.setCache(onlineEmbargoCache);
+                this.processedHandles = createProcessedHandleRegistry();
+                this.doiValidation = DoiValidationService.create(nonNull(doiCacheFile) ? Path.of(doiCacheFile) : null,
+                                                                 doiValidationRequests);
+                var collectionScheduler = new CollectionScheduler(workers);
+                var bundlePool = createBundlePool();
                 var brageProcessors = getBrageProcessorThread(customer, outputDirectory, embargoes, contributors,
                                                               affiliations,
                                                               isUnzipped,
-                                                              onlineEmbargoChecker);
-
-                brageProcessors.forEach(this::runAndIgnoreException);
+                                                              onlineEmbargoChecker,
+                                                              bundlePool, referenceData);
+                if (workers > 1) {
+                    // in the order the collections were given, so the first bundle with a handle wins on every
+                    // schedule, one collection at a time claims its handles when it is run
+                    brageProcessors.forEach(BrageProcessor::claimHandles);
+                }
+                try {
+                    collectionScheduler.runAll(brageProcessors);
+                } finally {
+                    shutdown(bundlePool);
+                    onlineEmbargoChecker.closeReport();
+                }
                 EmbargoParser.logNonEmbargosDetected(embargoes);
+                onlineEmbargoCache.persist();
+                doiValidation.persist();
                 writeRecordsToFiles(brageProcessors);
+                processedHandles.persist(getWrittenHandles(brageProcessors));
                 if (shouldWriteToAws) {
                     pushToNva(brageProcessors);
                     storeLogsToNva();
                     storeInputFilesToNva();
                 }
-                log(brageProcessors);
+                log(brageProcessors, referenceData);
             }
             return NORMAL_EXIT_CODE;
         } catch (Exception e) {
@@ -369,16 +480,6 @@ public class BrageMigrationCommand implements Callable<Integer> {
     }
 
 
-    private void runAndIgnoreException(BrageProcessor brageProcessor) {
-        try {
-            brageProcessor.run();
-        } catch (Exception e) {
-            var logger = LoggerFactory.getLogger(BrageMigrationCommand.class);
-            logger.error(brageProcessor.getDestinationDirectory());
-            logger.error(FAILURE_IN_BRAGE_PROCESS, e);
-        }
-    }
-
     private String generateInputDirectory() {
         if (StringUtils.isBlank(startingDirectory) && StringUtils.isBlank(customer)) {
             return StringUtils.EMPTY_STRING;
@@ -407,11 +508,15 @@ public class BrageMigrationCommand implements Callable<Integer> {
         }
     }
 
-    private void log(List<BrageProcessor> brageProcessors) {
+    private void log(List<BrageProcessor> brageProcessors, ReferenceData referenceData) {
         var logger = LoggerFactory.getLogger(BrageMigrationCommand.class);
         logger.info(RECORDS_WRITER_MESSAGE + RecordsWriter.getCounter());
         logger.info(EMBARGO_COUNTER_MESSAGE + getEmbargoCounter(brageProcessors));
         logRecordCounter(brageProcessors);
+        if (shouldLookUpInChannelRegister) {
+            var resolutionCache = referenceData.getChannelRegister().getResolutionCache();
+            logger.info(CHANNEL_REGISTER_RESOLUTIONS_MESSAGE, resolutionCache.getHits(), resolutionCache.getMisses());
+        }
     }
 
     @SuppressWarnings("PMD.UseVarargs")
@@ -427,23 +532,42 @@ public class BrageMigrationCommand implements Callable<Integer> {
                              .filter(Objects::nonNull)
                              .flatMap(List::stream)
                              .collect(Collectors.toList());
-        var counter = 0;
-        for (Record record : recordList) {
-            storeFileToNVA(record);
-            counter++;
-        }
+        var storage = new S3StorageImpl(s3Client, userSpecifiedOutputDirectory, customer, awsEnvironment.getValue());
+        var result = RecordPushEngine.create(storage, pushWorkers, pushMaxInFlightBytes).pushAll(recordList);
         var logger = LoggerFactory.getLogger(BrageMigrationCommand.class);
-        logger.info("Records pushed to AWS: " + counter);
+        logger.info("Records pushed to AWS: " + result.getPushedRecords().size());
+        if (!result.getFailedRecords().isEmpty()) {
+            logger.error(RECORDS_FAILED_TO_PUSH_MESSAGE, result.getFailedRecords().size(),
+                         result.getFailedRecords().stream().map(Record::getId).collect(Collectors.toList()));
+        }
     }
 
     private List<BrageProcessor> getBrageProcessorThread(String customer, String outputDirectory,
                                                          Map<String, List<Embargo>> embargoes,
                                                          Map<String, Contributor> contributors,
                                                          AffiliationType affiliations, boolean isUnzipped,
-                                                         OnlineEmbargoChecker onlineEmbargoChecker) {
+                                                         OnlineEmbargoChecker onlineEmbargoChecker,
+                                                         ForkJoinPool bundlePool, ReferenceData referenceData) {
         return createBrageProcessorThread(zipFiles, customer, enableOnlineValidation, shouldLookUpInChannelRegister,
                                           outputDirectory, embargoes, contributors, affiliations,
-                                          isUnzipped, onlineEmbargoChecker);
+                                          isUnzipped, onlineEmbargoChecker, bundlePool, referenceData);
+    }
+
+    /**
+     * One work-stealing pool shared by all collections, so that parallel collections do not multiply the number of
+     * bundle threads.
+     */
+    private ForkJoinPool createBundlePool() {
+        if (bundleWorkers < 1) {
+            throw new IllegalArgumentException(INVALID_NUMBER_OF_BUNDLE_WORKERS_MESSAGE + bundleWorkers);
+        }
+        return bundleWorkers > 1 ? new ForkJoinPool(bundleWorkers) : null;
+    }
+
+    private static void shutdown(ForkJoinPool bundlePool) {
+        if (nonNull(bundlePool)) {
+            bundlePool.shutdown();
+        }
     }
 
     private Map<String, List<Embargo>> getEmbargoes(String directory) {
@@ -497,12 +621,6 @@ public class BrageMigrationCommand implements Callable<Integer> {
         return zipfile.substring(0, zipfile.indexOf(zipFileName));
     }
 
-    private void storeFileToNVA(Record record) {
-        S3Storage storage = new S3StorageImpl(s3Client, userSpecifiedOutputDirectory,
-                                              customer, awsEnvironment.getValue());
-        storage.storeRecord(record);
-    }
-
     private void storeLogsToNva() {
         S3Storage storage = new S3StorageImpl(s3Client, userSpecifiedOutputDirectory + "/",
                                               customer, awsEnvironment.getValue());
@@ -536,6 +654,46 @@ public class BrageMigrationCommand implements Callable<Integer> {
         if (nonNull(zipFiles) && zipFiles.length > 0 && StringUtils.isNotEmpty(startingDirectory)) {
             throw new IllegalArgumentException(INCOMPATIBLE_ARGUMENTS_ZIPFILE_AND_INPUT_DIRECTORY);
         }
+        if (pipelinedUnzip && readFromZipfile) {
+            throw new IllegalArgumentException(INCOMPATIBLE_ARGUMENTS_PIPELINED_UNZIP_AND_READ_FROM_ZIPFILE);
+        }
+    }
+
+    private ProcessedHandleRegistry createProcessedHandleRegistry() {
+        return nonNull(processedHandlesFile)
+                   ? ProcessedHandleRegistry.persistent(Path.of(processedHandlesFile))
+                   : ProcessedHandleRegistry.inMemory();
+    }
+
+    private OnlineEmbargoCache createOnlineEmbargoCache() {
+        return nonNull(onlineEmbargoCacheFile)
+                   ? OnlineEmbargoCache.persistent(Path.of(onlineEmbargoCacheFile),
+                                                   Duration.ofDays(onlineEmbargoCacheTtlDays),
+                                                   refreshOnlineEmbargoCache)
+                   : OnlineEmbargoCache.disabled();
+    }
+
+    private static List<String> getWrittenHandles(List<BrageProcessor> brageProcessors) {
+        return brageProcessors.stream()
+                   .map(BrageProcessor::getRecords)
+                   .filter(Objects::nonNull)
+                   .flatMap(List::stream)
+                   .map(record -> record.getId().toString())
+                   .collect(Collectors.toList());
+    }
+
+    private static ImportedHandleIndex loadImportedHandles() {
+        var importedHandles = AlreadyImportedHandlesScraper.scrapeHandleIndexFromSuppliedExternalFile(
+            new File(AlreadyImportedHandlesScraper.DEFAULT_HANDLES_FILE_NAME));
+        LoggerFactory.getLogger(BrageMigrationCommand.class).info(IMPORTED_HANDLES_MESSAGE, importedHandles.size());
+        return importedHandles;
+    }
+
+    private ExtractionMode getExtractionMode() {
+        if (readFromZipfile) {
+            return ExtractionMode.NONE;
+        }
+        return pipelinedUnzip ? ExtractionMode.PIPELINED : ExtractionMode.FULL;
     }
 
     private void printIgnoredDcValuesFieldsInInfoLog() {
@@ -551,41 +709,36 @@ public class BrageMigrationCommand implements Callable<Integer> {
         var outputFileName = brageProcessor.getDestinationDirectory()
                                  .replaceAll(StringUtils.SPACE, StringUtils.EMPTY_STRING)
                              + PATH_DELIMITER
-                             + OUTPUT_JSON_FILENAME;
+                             + recordsFormat.getFileName();
         var records = removeIdenticalRecords(brageProcessor.getRecords());
-        RecordsWriter.writeRecordsToFile(outputFileName, records);
+        RecordsWriter.writeRecordsToFile(outputFileName, records, recordsFormat);
     }
 
+    /**
+     * Removes records with an id already written from a previous collection of this run, in a single pass. The list
+     * of the processor is updated in place, so that only the written records are pushed to NVA.
+     */
     private List<Record> removeIdenticalRecords(List<Record> records) {
         if (nonNull(records) && !records.isEmpty()) {
-            var duplicates = findDuplicates(records);
+            var duplicates = new ArrayList<URI>();
+            records.removeIf(record -> isDuplicate(record, duplicates));
             if (!duplicates.isEmpty()) {
                 var logger = LoggerFactory.getLogger(BrageMigrationCommand.class);
                 logger.error("Removing duplicates: {}",
                              duplicates.stream()
-                                 .map(Record::getId)
                                  .map(URI::toString)
                                  .collect(Collectors.joining(System.lineSeparator())));
             }
-            records.removeAll(duplicates);
         }
         return records;
     }
 
-    private List<Record> findDuplicates(List<Record> records) {
-        List<Record> recordsToRemove = new ArrayList<>();
-        for (Record record : records) {
-            var alreadyRegisteredHandles = recordStorage.getRecords()
-                                               .stream()
-                                               .map(Record::getId)
-                                               .collect(Collectors.toList());
-            if (alreadyRegisteredHandles.contains(record.getId())) {
-                recordsToRemove.add(record);
-            } else {
-                recordStorage.getRecords().add(record);
-            }
+    private boolean isDuplicate(Record record, List<URI> duplicates) {
+        if (recordStorage.register(record)) {
+            return false;
         }
-        return recordsToRemove;
+        duplicates.add(record.getId());
+        return true;
     }
 
     private List<BrageProcessor> createBrageProcessorThread(String[] zipFiles, String customer,
@@ -596,8 +749,13 @@ public class BrageMigrationCommand implements Callable<Integer> {
                                                             Map<String, Contributor> contributors,
                                                             AffiliationType affiliations,
                                                             boolean isUnzipped,
-                                                            OnlineEmbargoChecker onlineEmbargoChecker) {
-        var brageProcessorFactory = new BrageProcessorFactory(embargoes, contributors, affiliations);
+                                                            OnlineEmbargoChecker onlineEmbargoChecker,
+                                                            ForkJoinPool bundlePool,
+                                                            ReferenceData referenceData) {
+        var brageProcessorFactory = new BrageProcessorFactory(embargoes, contributors, affiliations, bundlePool,
+                                                              getExtractionMode(), shouldWriteToAws,
+                                                              dublinCoreParser, loadImportedHandles(),
+                                                              processedHandles, referenceData, doiValidation);
         return Arrays.stream(zipFiles)
                    .filter(StringUtils::isNotBlank)
                    .map(zipfile -> brageProcessorFactory.createBrageProcessor(zipfile,
@@ -1,38 +1,59 @@
 package no.sikt.nva;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static no.sikt.nva.scrapers.EntityDescriptionExtractor.AUTHOR;
 import static nva.commons.core.attempt.Try.attempt;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import no.sikt.nva.brage.migration.aws.ColoredLogger;
 import no.sikt.nva.brage.migration.common.model.BrageLocation;
+import no.sikt.nva.brage.migration.common.model.ErrorDetails;
 import no.sikt.nva.brage.migration.common.model.record.Contributor;
 import no.sikt.nva.brage.migration.common.model.record.Customer;
 import no.sikt.nva.brage.migration.common.model.record.Record;
 import no.sikt.nva.brage.migration.common.model.record.content.ResourceContent;
 import no.sikt.nva.exceptions.ContentException;
+import no.sikt.nva.exceptions.DublinCoreException;
 import no.sikt.nva.exceptions.HandleException;
 import no.sikt.nva.model.Embargo;
 import no.sikt.nva.model.dublincore.DublinCore;
 import no.sikt.nva.scrapers.AffiliationType;
-import no.sikt.nva.scrapers.AlreadyImportedHandlesScraper;
 import no.sikt.nva.scrapers.ContentScraper;
 import no.sikt.nva.scrapers.DublinCoreFactory;
+import no.sikt.nva.scrapers.DublinCoreParser;
 import no.sikt.nva.scrapers.DublinCoreScraper;
 import no.sikt.nva.scrapers.HandleScraper;
+import no.sikt.nva.scrapers.ImportedHandleIndex;
 import no.sikt.nva.scrapers.LicenseScraper;
+import no.sikt.nva.scrapers.ReferenceData;
 import no.sikt.nva.scrapers.embargo.EmbargoParser;
 import no.sikt.nva.scrapers.embargo.OnlineEmbargoChecker;
+import no.sikt.nva.validators.DoiValidationService;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.StringUtils;
 
@@ -44,6 +65,8 @@ public class BrageProcessor implements Runnable {
     private static final String HANDLE_DEFAULT_NAME = "handle";
     private static final String BRAGE_DUBLIN_CORE_XML_DEFAULT_NAME = "dublin_core.xml";
     private static final String FS_DUBLIN_CORE_XML_DEFAULT_NAME = "metadata_fs.xml";
+    private static final String ZIP_ROOT_DIRECTORY = "/";
+    private static final String EMPTY_ZIPFILE_MESSAGE = "Zipfile contains no bundles";
     private final static Counter counter = new Counter();
     private final String zipfile;
     private final String destinationDirectory;
@@ -58,6 +81,17 @@ public class BrageProcessor implements Runnable {
     private List<Record> records;
     private final boolean isUnzipped;
     private final OnlineEmbargoChecker onlineEmbargoChecker;
+    private final ForkJoinPool bundlePool;
+    private final ExtractionMode extractionMode;
+    private final boolean extractContentFiles;
+    private final DublinCoreParser dublinCoreParser;
+    private final ImportedHandleIndex importedHandles;
+    private final ProcessedHandleRegistry processedHandles;
+    private final ReferenceData referenceData;
+    private final DoiValidationService doiValidation;
+    private final List<PendingDoiValidation> pendingDoiValidations;
+    private final Map<String, Boolean> bundleOwnsHandle;
+    private boolean handlesClaimed;
 
     @SuppressWarnings({"PMD.AssignmentToNonFinalStatic", "PMD.ExcessiveParameterList"})
     public BrageProcessor(String zipfile, String customer,
@@ -68,8 +102,15 @@ public class BrageProcessor implements Runnable {
                           Map<String, Contributor> contributors,
                           AffiliationType affiliationType,
                           boolean isUnzipped,
-                          OnlineEmbargoChecker onlineEmbargoChecker
-                          ) {
+                          OnlineEmbargoChecker onlineEmbargoChecker,
+                          ForkJoinPool bundlePool,
+                          ExtractionMode extractionMode,
+                          boolean extractContentFiles,
+                          DublinCoreParser dublinCoreParser,
+                          ImportedHandleIndex importedHandles,
+                          ProcessedHandleRegistry processedHandles,
+                          ReferenceData referenceData,
+                          DoiValidationService doiValidation) {
         this.customer = customer;
         this.zipfile = zipfile;
         this.enableOnlineValidation = enableOnlineValidation;
@@ -81,23 +122,140 @@ public class BrageProcessor implements Runnable {
         this.affiliationType = affiliationType;
         this.isUnzipped = isUnzipped;
         this.onlineEmbargoChecker = onlineEmbargoChecker;
+        this.bundlePool = bundlePool;
+        this.extractionMode = extractionMode;
+        this.extractContentFiles = extractContentFiles;
+        this.dublinCoreParser = dublinCoreParser;
+        this.importedHandles = importedHandles;
+        this.processedHandles = processedHandles;
+        this.referenceData = referenceData;
+        this.doiValidation = doiValidation;
+        this.pendingDoiValidations = Collections.synchronizedList(new ArrayList<>());
+        this.bundleOwnsHandle = new ConcurrentHashMap<>();
     }
 
     public String getDestinationDirectory() {
         return destinationDirectory;
     }
 
+    /**
+     * Size used to schedule the collection, the zipfile size in bytes or the number of bundles when the collection
+     * is already unzipped.
+     *
+     * @return size of collection, 0 when the collection does not exist
+     */
+    public long getCollectionSize() {
+        if (isUnzipped) {
+            var bundles = new File(destinationDirectory).list();
+            return nonNull(bundles) ? bundles.length : 0;
+        }
+        return new File(zipfile).length();
+    }
+
+    /**
+     * Claims the handles of the bundles in the collection, in bundle name order, before any bundle is processed. Only
+     * the handle file of a bundle is read, or its dublin_core.xml when the handle file has no valid handle. A bundle
+     * with a handle claimed by an earlier bundle, collection or run is skipped when the collection is processed, so
+     * duplicates are never scraped and checked online, whichever bundle or collection is processed first.
+     *
+     * <p>A bundle claims its handle as soon as its handle is read, also when the bundle fails later. Called by
+     * {@link #run()} unless it was called before. When collections are processed in parallel, the command calls it for
+     * all collections in the order they were given before any collection is processed. Bundles not found up front,
+     * e.g. when the zipfile cannot be read that way, claim their handles in the order they are dispatched instead.
+     */
+    public void claimHandles() {
+        handlesClaimed = true;
+        if (isUnzipped) {
+            var bundles = new File(destinationDirectory).listFiles();
+            if (nonNull(bundles)) {
+                claim(findHandles(Arrays.stream(bundles)
+                                      .filter(this::isBundle)
+                                      .map(File::toPath)
+                                      .sorted(Comparator.comparing(BrageProcessor::getBundleName))));
+            }
+            return;
+        }
+        var zipfilePath = Path.of(zipfile.replaceAll(StringUtils.SPACE, StringUtils.EMPTY_STRING));
+        Map<String, Optional<URI>> handles;
+        try (var zipfileSystem = FileSystems.newFileSystem(zipfilePath, (ClassLoader) null);
+             var entries = Files.list(zipfileSystem.getPath(ZIP_ROOT_DIRECTORY))) {
+            handles = findHandles(entries.filter(Files::isDirectory)
+                                      .sorted(Comparator.comparing(BrageProcessor::getBundleName)));
+        } catch (IOException | UncheckedIOException | ProviderNotFoundException | FileSystemNotFoundException e) {
+            return;
+        }
+        claim(handles);
+    }
+
+    private void claimUnclaimedHandles(List<Path> bundles) {
+        claim(findHandles(bundles.stream()
+                              .filter(bundle -> !bundleOwnsHandle.containsKey(getBundleName(bundle)))));
+    }
+
+    private Map<String, Optional<URI>> findHandles(Stream<Path> bundles) {
+        var handles = new LinkedHashMap<String, Optional<URI>>();
+        bundles.forEach(bundle -> handles.put(getBundleName(bundle), handleScraper.findHandle(
+            getHandlePath(bundle), () -> parseDublinCoreOfBundleWithoutHandleFile(bundle))));
+        return handles;
+    }
+
+    private void claim(Map<String, Optional<URI>> handles) {
+        handles.forEach((bundleName, handle) -> bundleOwnsHandle.put(bundleName, handle.map(URI::toString)
+                                                                                     .map(processedHandles::claim)
+                                                                                     .orElse(false)));
+    }
+
     @Override
     public void run() {
+        if (!handlesClaimed) {
+            claimHandles();
+        }
+        processCollection();
+        completeDoiValidations();
+        if (nonNull(records)) {
+            EmbargoParser.checkOnlineForMissingEmbargosConcurrently(records, onlineEmbargoChecker);
+        }
+    }
+
+    private void processCollection() {
+        if (!isUnzipped && ExtractionMode.PIPELINED.equals(extractionMode)) {
+            processBundlesWhileUnzipping();
+            return;
+        }
+        if (!isUnzipped && ExtractionMode.NONE.equals(extractionMode)) {
+            processBundlesInZipfile();
+            return;
+        }
         var resourceDirectories = isUnzipped
                                       ? readResources(destinationDirectory)
                                       : UnZipper.extractResourceDirectories(zipfile, destinationDirectory);
-        try {
-            if (!resourceDirectories.isEmpty()) {
-                records = processBundles(resourceDirectories);
+        if (!resourceDirectories.isEmpty()) {
+            records = processBundles(resourceDirectories.stream()
+                                         .filter(this::isBundle)
+                                         .map(File::toPath)
+                                         .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * The zipfile is opened as a file system, so that dublin_core.xml, handle and contents of a bundle are read by
+     * random access through the central directory of the zipfile and nothing is written to disk.
+     */
+    private void processBundlesInZipfile() {
+        var zipfilePath = Path.of(zipfile.replaceAll(StringUtils.SPACE, StringUtils.EMPTY_STRING));
+        try (var zipfileSystem = FileSystems.newFileSystem(zipfilePath, (ClassLoader) null);
+             var entries = Files.list(zipfileSystem.getPath(ZIP_ROOT_DIRECTORY))) {
+            var bundles = entries.filter(Files::isDirectory)
+                              .sorted(Comparator.comparing(BrageProcessor::getBundleName))
+                              .collect(Collectors.toList());
+            if (bundles.isEmpty()) {
+                UnZipper.logUnzipFailure(new IOException(EMPTY_ZIPFILE_MESSAGE), new File(zipfilePath.toString()),
+                                         zipfile);
+            } else {
+                records = processBundles(bundles);
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        } catch (IOException | ProviderNotFoundException | FileSystemNotFoundException e) {
+            UnZipper.logUnzipFailure(e, new File(zipfilePath.toString()), zipfile);
         }
     }
 
@@ -119,31 +277,48 @@ public class BrageProcessor implements Runnable {
                && entryDirectory.isDirectory();
     }
 
-    private Path getHandlePath(File entryDirectory) {
-        var bundlePath = entryDirectory.getPath();
-        return Path.of(bundlePath, HANDLE_DEFAULT_NAME);
+    private static String getBundleName(Path bundle) {
+        var bundleName = bundle.getFileName().toString();
+        return bundleName.endsWith(ZIP_ROOT_DIRECTORY)
+                   ? bundleName.substring(0, bundleName.length() - 1)
+                   : bundleName;
     }
 
-    private File getDublinCoreFile(File entryDirectory, String fileName) {
-        return new File(Path.of(entryDirectory.toString(), fileName).toString());
+    private static boolean isInZipfile(Path bundle) {
+        return !FileSystems.getDefault().equals(bundle.getFileSystem());
     }
 
-    private Record injectContentBundle(Record record, File entryDirectory, BrageLocation brageLocation,
+    /**
+     * Bundles read from the zipfile are reported at the location they would have been extracted to, so that records
+     * are the same whether the zipfile was extracted or not.
+     */
+    private Path getBrageBundlePath(Path bundle) {
+        return isInZipfile(bundle)
+                   ? Path.of(destinationDirectory, getBundleName(bundle))
+                   : bundle;
+    }
+
+    private Path getHandlePath(Path bundle) {
+        return bundle.resolve(HANDLE_DEFAULT_NAME);
+    }
+
+    private Record injectContentBundle(Record record, Path entryDirectory, BrageLocation brageLocation,
                                        DublinCore dublinCore) throws ContentException {
         var embargo = DublinCoreScraper.extractEmbargo(dublinCore, customer);
         record.setContentBundle(getContent(entryDirectory, brageLocation, dublinCore, embargo));
         return record;
     }
 
-    private ResourceContent getContent(File entryDirectory, BrageLocation brageLocation, DublinCore dublinCore,
+    private ResourceContent getContent(Path entryDirectory, BrageLocation brageLocation, DublinCore dublinCore,
                                        String embargo)
         throws ContentException {
         var license = new LicenseScraper(dublinCore).generateLicense();
-        var contentScraper = new ContentScraper(entryDirectory.toPath(), brageLocation, license, embargo, customer);
+        var contentScraper = new ContentScraper(entryDirectory, brageLocation, license, embargo, customer,
+                                                extractContentFiles);
         return contentScraper.scrapeContent();
     }
 
-    private Record injectResourceContent(File entryDirectory, BrageLocation brageLocation, DublinCore dublinCore,
+    private Record injectResourceContent(Path entryDirectory, BrageLocation brageLocation, DublinCore dublinCore,
                                          Record r) {
         try {
             return injectContentBundle(r, entryDirectory, brageLocation, dublinCore);
@@ -152,15 +327,26 @@ public class BrageProcessor implements Runnable {
         }
     }
 
-    private DublinCore parseDublinCore(File entryDirectory) {
-        return DublinCoreFactory.createDublinCoreFromXml(
-            getDublinCoreFile(entryDirectory, BRAGE_DUBLIN_CORE_XML_DEFAULT_NAME));
+    private DublinCore parseDublinCore(Path entryDirectory) {
+        return DublinCoreFactory.createDublinCoreFromXml(entryDirectory.resolve(BRAGE_DUBLIN_CORE_XML_DEFAULT_NAME),
+                                                         dublinCoreParser);
     }
 
-    private DublinCore parseFsDublinCore(File entryDirectory) {
-        var file = getDublinCoreFile(entryDirectory, FS_DUBLIN_CORE_XML_DEFAULT_NAME);
-        return file.exists()
-                   ? DublinCoreFactory.createDublinCoreFromXml(file)
+    /**
+     * A bundle whose dublin_core.xml cannot be read has no handle to claim, it fails when it is processed.
+     */
+    private DublinCore parseDublinCoreOfBundleWithoutHandleFile(Path entryDirectory) {
+        try {
+            return parseDublinCore(entryDirectory);
+        } catch (DublinCoreException e) {
+            return emptyDublinCore();
+        }
+    }
+
+    private DublinCore parseFsDublinCore(Path entryDirectory) {
+        var file = entryDirectory.resolve(FS_DUBLIN_CORE_XML_DEFAULT_NAME);
+        return Files.exists(file)
+                   ? DublinCoreFactory.createDublinCoreFromXml(file, dublinCoreParser)
                    : emptyDublinCore();
     }
 
@@ -173,22 +359,70 @@ public class BrageProcessor implements Runnable {
         return record;
     }
 
-    private List<Record> processBundles(List<File> resourceDirectories) throws IOException {
-        return resourceDirectories.stream()
-                   .filter(this::isBundle)
+    private List<Record> processBundles(List<Path> bundles) {
+        claimUnclaimedHandles(bundles);
+        return isNull(bundlePool)
+                   ? processBundlesSequentially(bundles)
+                   : processBundlesInParallel(bundles);
+    }
+
+    /**
+     * Bundles are scraped while the rest of the zipfile is still being extracted. Without a bundle pool every bundle
+     * is scraped on this thread as soon as it is extracted. With a bundle pool it is submitted to the pool, the
+     * records come back in extraction order. Duplicates are skipped by the handles claimed up front either way.
+     */
+    private void processBundlesWhileUnzipping() {
+        var processedBundles = new ArrayList<ForkJoinTask<Optional<Record>>>();
+        var numberOfBundles = UnZipper.extractResourceDirectories(
+            zipfile, destinationDirectory, UnZipper.DEFAULT_BUNDLE_QUEUE_CAPACITY,
+            bundle -> processedBundles.add(processExtractedBundle(bundle)));
+        if (numberOfBundles > 0) {
+            var processedRecords = processedBundles.stream()
+                                       .map(ForkJoinTask::join)
+                                       .flatMap(Optional::stream)
+                                       .collect(Collectors.toList());
+            records = processedRecords;
+        }
+    }
+
+    private ForkJoinTask<Optional<Record>> processExtractedBundle(File bundle) {
+        if (isBundle(bundle)) {
+            claimUnclaimedHandles(List.of(bundle.toPath()));
+        }
+        if (nonNull(bundlePool) && isBundle(bundle)) {
+            return bundlePool.submit(() -> processBundle(bundle.toPath()));
+        }
+        var processedBundle = ForkJoinTask.adapt(() -> isBundle(bundle)
+                                                           ? processBundle(bundle.toPath())
+                                                           : Optional.<Record>empty());
+        processedBundle.invoke();
+        return processedBundle;
+    }
+
+    private List<Record> processBundlesSequentially(List<Path> bundles) {
+        return bundles.stream()
                    .map(this::processBundle)
                    .flatMap(Optional::stream)
                    .collect(Collectors.toList());
     }
 
-    private Optional<Record> processBundle(File entryDirectory) {
+    /**
+     * Bundles are processed by the shared fork/join pool, the records come back in bundle order. Which bundle of a
+     * duplicated handle is processed was decided when the handles were claimed, so the same bundles are processed as
+     * when processing sequentially.
+     */
+    private List<Record> processBundlesInParallel(List<Path> bundles) {
+        return bundlePool.invoke(new BundleProcessingTask(bundles, this::processBundle));
+    }
+
+    private Optional<Record> processBundle(Path entryDirectory) {
         try {
-            var brageLocation = new BrageLocation(Path.of(entryDirectory.getPath()));
+            var brageLocation = new BrageLocation(getBrageBundlePath(entryDirectory));
             var dublinCore = parseDublinCore(entryDirectory);
             brageLocation.setTitle(DublinCoreScraper.extractMainTitle(dublinCore));
             brageLocation.setHandle(getHandle(entryDirectory, dublinCore, brageLocation));
             String handle = brageLocation.getHandle().toString();
-            if (BrageMigrationCommand.alreadyProcessed(handle)) {
+            if (isDuplicate(entryDirectory)) {
                 return Optional.empty();
             }
             if (isAlreadyImported(handle)) {
@@ -196,9 +430,10 @@ public class BrageProcessor implements Runnable {
             }
             return createRecord(entryDirectory,
                                 brageLocation,
-                                dublinCore);
+                                dublinCore)
+                       .map(record -> extractContentFilesIfNeeded(entryDirectory, record));
         } catch (Exception e) {
-            var brageLocation = new BrageLocation(Path.of(destinationDirectory, entryDirectory.getName()));
+            var brageLocation = new BrageLocation(Path.of(destinationDirectory, getBundleName(entryDirectory)));
             if (nonNull(brageLocation.getHandle())) {
                 logger.error(e + StringUtils.SPACE + brageLocation.getOriginInformation());
             } else {
@@ -211,15 +446,43 @@ public class BrageProcessor implements Runnable {
         }
     }
 
-    private Optional<Record> createRecord(File entryDirectory,
+    /**
+     * Content files are uploaded from the brage location on disk. Bundles read from the zipfile therefore get the
+     * content files of their record extracted when the records are going to be pushed, and only those.
+     */
+    private Record extractContentFilesIfNeeded(Path entryDirectory, Record record) {
+        if (extractContentFiles && isInZipfile(entryDirectory)) {
+            var destination = Path.of(destinationDirectory, getBundleName(entryDirectory));
+            record.getContentBundle().getContentFiles()
+                .forEach(contentFile -> extractContentFile(entryDirectory.resolve(contentFile.getFilename()),
+                                                           destination.resolve(contentFile.getFilename())));
+        }
+        return record;
+    }
+
+    private static void extractContentFile(Path source, Path destination) {
+        try {
+            if (Files.exists(source)) {
+                Files.createDirectories(destination.getParent());
+                Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<Record> createRecord(Path entryDirectory,
                                           BrageLocation brageLocation,
                                           DublinCore dublinCore) {
         var dublinCoreScraper = new DublinCoreScraper(enableOnlineValidation,
                                                       shouldLookUpInChannelRegister,
-                                                      contributors);
+                                                      contributors,
+                                                      referenceData,
+                                                      doiValidation);
         return Optional.of(dublinCoreScraper.validateAndParseDublinCore(dublinCore,
                                                                         brageLocation,
                                                                         customer))
+                   .map(record -> validateDoisConcurrentlyIfNeeded(record, brageLocation, dublinCore))
                    .map(this::injectCustomer)
                    .map(r -> injectResourceContent(entryDirectory, brageLocation, dublinCore, r))
                    .map(r -> injectBrageLocation(r, brageLocation))
@@ -228,6 +491,28 @@ public class BrageProcessor implements Runnable {
                    .map(r -> EmbargoParser.checkForEmbargoFromSuppliedEmbargoFile(r, embargoes, onlineEmbargoChecker));
     }
 
+    /**
+     * A concurrent DOI validation service is not used by the scraper, the DOIs of the record are checked while the
+     * rest of the collection is processed and their errors added to the record afterwards. The scraper leaves the
+     * errors of the record to be logged then, together with the DOI errors.
+     */
+    private Record validateDoisConcurrentlyIfNeeded(Record record, BrageLocation brageLocation,
+                                                    DublinCore dublinCore) {
+        if (enableOnlineValidation && doiValidation.isConcurrent()) {
+            pendingDoiValidations.add(new PendingDoiValidation(record, brageLocation,
+                                                               DublinCoreScraper.isInCristin(dublinCore),
+                                                               doiValidation.getDoiErrorDetailsAsync(dublinCore)));
+        }
+        return record;
+    }
+
+    private void completeDoiValidations() {
+        synchronized (pendingDoiValidations) {
+            pendingDoiValidations.forEach(PendingDoiValidation::complete);
+            pendingDoiValidations.clear();
+        }
+    }
+
     public static Record injectValuesFromFsDublinCore(Record record, DublinCore brageDublinCore, DublinCore fsDublinCore) {
         var subjectCode = getSubjectCode(fsDublinCore, brageDublinCore);
         record.setSubjectCode(subjectCode);
@@ -279,13 +564,41 @@ public class BrageProcessor implements Runnable {
         return affiliationType.getTypes().contains(record.getType().getNva());
     }
 
+    /**
+     * Bundles that did not claim their handle are duplicates of an earlier bundle, collection or run.
+     */
+    private boolean isDuplicate(Path bundle) {
+        return !bundleOwnsHandle.getOrDefault(getBundleName(bundle), false);
+    }
+
     private boolean isAlreadyImported(String handle) {
-        var importedHandles = AlreadyImportedHandlesScraper.scrapeHandlesFromSuppliedExternalFile(
-            new File("handles.csv"));
         return importedHandles.contains(handle);
     }
 
-    private URI getHandle(File entryDirectory, DublinCore dublinCore, BrageLocation brageLocation) throws HandleException {
+    private URI getHandle(Path entryDirectory, DublinCore dublinCore, BrageLocation brageLocation) throws HandleException {
         return handleScraper.scrapeHandle(getHandlePath(entryDirectory), dublinCore, brageLocation);
     }
-}
\ No newline at end of file
+
+    private static final class PendingDoiValidation {
+
+        private final Record record;
+        private final BrageLocation brageLocation;
+        private final boolean isCristinPost;
+        private final CompletableFuture<Optional<ArrayList<ErrorDetails>>> errors;
+
+        private PendingDoiValidation(Record record, BrageLocation brageLocation, boolean isCristinPost,
+                                     CompletableFuture<Optional<ArrayList<ErrorDetails>>> errors) {
+            this.record = record;
+            this.brageLocation = brageLocation;
+            this.isCristinPost = isCristinPost;
+            this.errors = errors;
+        }
+
+        private void complete() {
+            var recordErrors = new HashSet<>(record.getErrors());
+            errors.join().ifPresent(recordErrors::addAll);
+            record.setErrors(recordErrors);
+            DublinCoreScraper.logErrorsIfNotEmpty(brageLocation, recordErrors, isCristinPost);
+        }
+    }
+}
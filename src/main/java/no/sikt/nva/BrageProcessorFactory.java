@@ -1,13 +1,20 @@
 package no.sikt.nva;
 
 import static java.util.Objects.isNull;
+import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import no.sikt.nva.brage.migration.common.model.record.Contributor;
 import no.sikt.nva.model.Embargo;
 import no.sikt.nva.scrapers.AffiliationType;
+import no.sikt.nva.scrapers.AlreadyImportedHandlesScraper;
+import no.sikt.nva.scrapers.DublinCoreParser;
+import no.sikt.nva.scrapers.ImportedHandleIndex;
+import no.sikt.nva.scrapers.ReferenceData;
 import no.sikt.nva.scrapers.embargo.OnlineEmbargoChecker;
+import no.sikt.nva.validators.DoiValidationService;
 import nva.commons.core.StringUtils;
 
 public class BrageProcessorFactory {
@@ -17,12 +24,41 @@ public class BrageProcessorFactory {
     private final Map<String, List<Embargo>> embargoes;
     private final Map<String, Contributor> contributors;
     private final AffiliationType affiliations;
+    private final ForkJoinPool bundlePool;
+    private final ExtractionMode extractionMode;
+    private final boolean extractContentFiles;
+    private final DublinCoreParser dublinCoreParser;
+    private final ImportedHandleIndex importedHandles;
+    private final ProcessedHandleRegistry processedHandles;
+    private final ReferenceData referenceData;
+    private final DoiValidationService doiValidation;
 
     public BrageProcessorFactory(                                 Map<String, List<Embargo>> embargoes,
                                  Map<String, Contributor> contributors, AffiliationType affiliations) {
+        this(embargoes, contributors, affiliations, null, ExtractionMode.FULL, false, DublinCoreParser.JAXB,
+             AlreadyImportedHandlesScraper.scrapeHandleIndexFromSuppliedExternalFile(
+                 new File(AlreadyImportedHandlesScraper.DEFAULT_HANDLES_FILE_NAME)),
+             ProcessedHandleRegistry.inMemory(), ReferenceData.load(false), DoiValidationService.shared());
+    }
+
+    public BrageProcessorFactory(Map<String, List<Embargo>> embargoes,
+                                 Map<String, Contributor> contributors, AffiliationType affiliations,
+                                 ForkJoinPool bundlePool, ExtractionMode extractionMode,
+                                 boolean extractContentFiles, DublinCoreParser dublinCoreParser,
+                                 ImportedHandleIndex importedHandles,
+                                 ProcessedHandleRegistry processedHandles, ReferenceData referenceData,
+                                 DoiValidationService doiValidation) {
         this.embargoes = embargoes;
         this.contributors = contributors;
         this.affiliations = affiliations;
+        this.bundlePool = bundlePool;
+        this.extractionMode = extractionMode;
+        this.extractContentFiles = extractContentFiles;
+        this.dublinCoreParser = dublinCoreParser;
+        this.importedHandles = importedHandles;
+        this.processedHandles = processedHandles;
+        this.referenceData = referenceData;
+        this.doiValidation = doiValidation;
     }
 
     public BrageProcessor createBrageProcessor(final String zipfile,
@@ -38,7 +74,10 @@ public class BrageProcessorFactory {
         }
         return new BrageProcessor(zipfile, customer, destinationDirectory,
                                   enableOnlineValidation, shouldLookUpInChannelRegister, embargoes,
-                                  contributors, affiliations, isUnzipped, onlineEmbargoChecker);
+                                  contributors, affiliations, isUnzipped, onlineEmbargoChecker,
+                                  bundlePool, extractionMode,
+                                  extractContentFiles, dublinCoreParser, importedHandles,
+                                  processedHandles, referenceData, doiValidation);
     }
 
     private static int getLength(String zipfile) {
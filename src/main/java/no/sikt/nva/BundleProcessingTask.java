@@ -0,0 +1,59 @@
+package no.sikt.nva;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import no.sikt.nva.brage.migration.common.model.record.Record;
+
+/**
+ * Fork/join task processing the bundles of a single collection. The list of bundles is split in halves until it is
+ * small enough to be processed directly, idle workers steal the remaining halves. Results are joined left before
+ * right, so the records are returned in the same order as the bundles.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class BundleProcessingTask extends RecursiveTask<List<Record>> {
+
+    public static final int DEFAULT_THRESHOLD = 4;
+    private static final long serialVersionUID = 1L;
+    private final transient List<Path> bundles;
+    private final transient Function<Path, Optional<Record>> bundleProcessor;
+    private final int threshold;
+
+    public BundleProcessingTask(List<Path> bundles, Function<Path, Optional<Record>> bundleProcessor) {
+        this(bundles, bundleProcessor, DEFAULT_THRESHOLD);
+    }
+
+    public BundleProcessingTask(List<Path> bundles, Function<Path, Optional<Record>> bundleProcessor,
+                                int threshold) {
+        super();
+        this.bundles = bundles;
+        this.bundleProcessor = bundleProcessor;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected List<Record> compute() {
+        if (bundles.size() <= threshold) {
+            return processDirectly();
+        }
+        var middle = bundles.size() / 2;
+        var left = new BundleProcessingTask(bundles.subList(0, middle), bundleProcessor, threshold);
+        var right = new BundleProcessingTask(bundles.subList(middle, bundles.size()), bundleProcessor, threshold);
+        left.fork();
+        var rightRecords = right.compute();
+        var records = new ArrayList<>(left.join());
+        records.addAll(rightRecords);
+        return records;
+    }
+
+    private List<Record> processDirectly() {
+        var records = new ArrayList<Record>();
+        for (Path bundle : bundles) {
+            bundleProcessor.apply(bundle).ifPresent(records::add);
+        }
+        return records;
+    }
+}
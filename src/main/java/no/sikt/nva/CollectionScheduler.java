@@ -0,0 +1,89 @@
+package no.sikt.nva;
+
+import static no.sikt.nva.BrageMigrationCommand.FAILURE_IN_BRAGE_PROCESS;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the brage processors of an import, one collection per task.
+ *
+ * <p>With a single worker the collections are processed one after another in the order they were given, exactly as
+ * before. With more workers the collections are processed concurrently, largest collection first, so that the long
+ * running collections do not end up last and keep the run going on a single core. A failing collection is logged and
+ * does not affect the other collections.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class CollectionScheduler {
+
+    public static final int DEFAULT_NUMBER_OF_WORKERS = 1;
+    public static final String INVALID_NUMBER_OF_WORKERS_MESSAGE = "Number of workers must be at least 1, was: ";
+    public static final String SCHEDULING_COLLECTIONS_MESSAGE = "Processing {} collections using {} workers";
+    private static final Logger logger = LoggerFactory.getLogger(CollectionScheduler.class);
+    private final int numberOfWorkers;
+
+    public CollectionScheduler(int numberOfWorkers) {
+        if (numberOfWorkers < DEFAULT_NUMBER_OF_WORKERS) {
+            throw new IllegalArgumentException(INVALID_NUMBER_OF_WORKERS_MESSAGE + numberOfWorkers);
+        }
+        this.numberOfWorkers = numberOfWorkers;
+    }
+
+    public boolean isParallel() {
+        return numberOfWorkers > DEFAULT_NUMBER_OF_WORKERS;
+    }
+
+    public void runAll(List<BrageProcessor> brageProcessors) {
+        if (!isParallel() || brageProcessors.size() <= 1) {
+            brageProcessors.forEach(CollectionScheduler::runAndIgnoreException);
+            return;
+        }
+        var workers = Math.min(numberOfWorkers, brageProcessors.size());
+        logger.info(SCHEDULING_COLLECTIONS_MESSAGE, brageProcessors.size(), workers);
+        var executor = Executors.newFixedThreadPool(workers);
+        try {
+            var tasks = orderByCollectionSizeDescending(brageProcessors).stream()
+                            .map(brageProcessor -> executor.submit(() -> runAndIgnoreException(brageProcessor)))
+                            .collect(Collectors.toList());
+            tasks.forEach(CollectionScheduler::awaitCompletion);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Largest collection first minimises the time the last worker keeps running alone. The sort is stable, so
+     * collections of equal size keep the order from samlingsfil.txt and the schedule is the same on every run.
+     */
+    public static List<BrageProcessor> orderByCollectionSizeDescending(List<BrageProcessor> brageProcessors) {
+        var orderedProcessors = new ArrayList<>(brageProcessors);
+        orderedProcessors.sort(Comparator.comparingLong(BrageProcessor::getCollectionSize).reversed());
+        return orderedProcessors;
+    }
+
+    private static void awaitCompletion(Future<?> task) {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            logger.error(FAILURE_IN_BRAGE_PROCESS, e.getCause());
+        }
+    }
+
+    private static void runAndIgnoreException(BrageProcessor brageProcessor) {
+        try {
+            brageProcessor.run();
+        } catch (Exception e) {
+            logger.error(brageProcessor.getDestinationDirectory());
+            logger.error(FAILURE_IN_BRAGE_PROCESS, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package no.sikt.nva;
+
+/**
+ * How the bundles of a zipped collection are made available to the brage processor.
+ */
+public enum ExtractionMode {
+    /**
+     * The whole zipfile is extracted before the bundles are processed.
+     */
+    FULL,
+    /**
+     * Bundles are processed as soon as they are extracted, while the rest of the zipfile is still being extracted.
+     */
+    PIPELINED,
+    /**
+     * Bundles are read directly from the zipfile. Content files are only extracted when records are pushed to NVA.
+     */
+    NONE
+}
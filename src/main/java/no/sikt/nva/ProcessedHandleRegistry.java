@@ -0,0 +1,82 @@
+package no.sikt.nva;
+
+import static java.util.Objects.nonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import nva.commons.core.StringUtils;
+
+/**
+ * Handles of bundles processed in this run, shared by all brage processors. Claiming a handle is a single atomic
+ * insert in a concurrent set, so processors never wait on a global lock and exactly one claimer wins.
+ *
+ * <p>When created with a file, handles of records written by earlier runs are read from the file and count as
+ * claimed, so that duplicates across separate runs of the same customer are detected as well. Only handles of
+ * records that were actually written are persisted, bundles that failed are processed again by the next run.
+ */
+public class ProcessedHandleRegistry {
+
+    private final Set<String> handles;
+    private final Path file;
+
+    private ProcessedHandleRegistry(Path file) {
+        this.handles = ConcurrentHashMap.newKeySet();
+        this.file = file;
+    }
+
+    public static ProcessedHandleRegistry inMemory() {
+        return new ProcessedHandleRegistry(null);
+    }
+
+    public static ProcessedHandleRegistry persistent(Path file) {
+        var registry = new ProcessedHandleRegistry(file);
+        if (Files.exists(file)) {
+            try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                lines.filter(StringUtils::isNotBlank).forEach(registry.handles::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Claims the handle for the caller.
+     *
+     * @param handle handle of the bundle
+     * @return true if the handle was not claimed before, by this run or a previous run
+     */
+    public boolean claim(String handle) {
+        return handles.add(handle);
+    }
+
+    /**
+     * Appends the handles of the written records to the file of the registry, does nothing for an in-memory
+     * registry.
+     *
+     * @param writtenHandles handles of records written by this run
+     */
+    public void persist(Collection<String> writtenHandles) {
+        if (nonNull(file) && !writtenHandles.isEmpty()) {
+            handles.addAll(writtenHandles);
+            var lines = writtenHandles.stream().collect(Collectors.joining(System.lineSeparator(), "",
+                                                                           System.lineSeparator()));
+            try {
+                if (nonNull(file.getParent())) {
+                    Files.createDirectories(file.getParent());
+                }
+                Files.writeString(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                                  StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
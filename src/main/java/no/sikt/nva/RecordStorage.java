@@ -1,34 +1,28 @@
 package no.sikt.nva;
 
-import static java.util.Objects.nonNull;
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 import no.sikt.nva.brage.migration.common.model.record.Record;
-import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Ids of the records written so far in this run. Only the ids are kept, not the records, so that the records of a
+ * collection can be released once it is written.
+ */
 public class RecordStorage {
 
-    private List<Record> records;
+    private final Set<URI> recordIds;
 
     public RecordStorage() {
-        this.records = new ArrayList<>();
+        this.recordIds = new HashSet<>();
     }
 
-    public List<Record> getRecords() {
-        return records;
-    }
-
-    public void setRecords(List<Record> records) {
-        this.records = records;
-    }
-
-    public String getRecordLocationStringById(URI id) {
-        var recordFromStorage = records.stream().filter(record -> record.getId().equals(id)).findFirst().orElse(null);
-        if (nonNull(recordFromStorage)) {
-            return recordFromStorage.getId() + " " + recordFromStorage.getBrageLocation();
-        } else {
-            return StringUtils.EMPTY;
-        }
+    /**
+     * Registers the id of the record.
+     *
+     * @return true when no record with the same id has been registered before
+     */
+    public boolean register(Record record) {
+        return recordIds.add(record.getId());
     }
 }
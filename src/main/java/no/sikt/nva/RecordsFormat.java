@@ -0,0 +1,25 @@
+package no.sikt.nva;
+
+/**
+ * Format of the records file written for every collection.
+ */
+public enum RecordsFormat {
+    /**
+     * One JSON array with all records of the collection, written to records.json.
+     */
+    JSON("records.json"),
+    /**
+     * One record per line, written to records.ndjson, for tools reading the records line by line.
+     */
+    NDJSON("records.ndjson");
+
+    private final String fileName;
+
+    RecordsFormat(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -2,7 +2,11 @@ package no.sikt.nva;
 
 import static java.util.Objects.nonNull;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import no.sikt.nva.brage.migration.common.model.record.Record;
@@ -16,6 +20,10 @@ public final class RecordsWriter {
 
     public static final String WRITING_TO_JSON_FILE_HAS_FAILED = "WRITING TO JSON FILE HAS FAILED IN BUNDLE =";
     private static final Logger logger = LoggerFactory.getLogger(RecordsWriter.class);
+    private static final String NEWLINE = "\n";
+    private static final ObjectWriter ARRAY_WRITER = JsonUtils.dtoObjectMapper.writer()
+                                                         .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final ObjectWriter LINE_WRITER = ARRAY_WRITER.without(SerializationFeature.INDENT_OUTPUT);
     private static int counter;
 
     private RecordsWriter() {
@@ -26,8 +34,12 @@ public final class RecordsWriter {
     }
 
     public static void writeRecordsToFile(String fileName, List<Record> records) {
+        writeRecordsToFile(fileName, records, RecordsFormat.JSON);
+    }
+
+    public static void writeRecordsToFile(String fileName, List<Record> records, RecordsFormat recordsFormat) {
         try {
-            createFileWithRecords(fileName, records);
+            createFileWithRecords(fileName, records, recordsFormat);
             countRecords(records);
         } catch (RecordsWriterException e) {
             logger.warn(e.getMessage());
@@ -44,17 +56,40 @@ public final class RecordsWriter {
         return JsonUtils.dtoObjectMapper.writeValueAsString(records);
     }
 
-    private static void createFileWithRecords(String fileName, List<Record> records) {
-        writeRecords(fileName, records);
+    private static void createFileWithRecords(String fileName, List<Record> records, RecordsFormat recordsFormat) {
+        writeRecords(fileName, records, recordsFormat);
     }
 
-    private static void writeRecords(String fileName, List<Record> records) {
+    private static void writeRecords(String fileName, List<Record> records, RecordsFormat recordsFormat) {
         if (nonNull(records)) {
             try (var fileWriter = Files.newWriter(new File(fileName), StandardCharsets.UTF_8)) {
-                fileWriter.write(convertMultipleRecordsToJsonString(records));
+                if (RecordsFormat.NDJSON.equals(recordsFormat)) {
+                    writeRecordPerLine(fileWriter, records);
+                } else {
+                    writeRecordsAsArray(fileWriter, records);
+                }
             } catch (Exception e) {
                 throw new RecordsWriterException(WRITING_TO_JSON_FILE_HAS_FAILED, fileName);
             }
         }
     }
+
+    /**
+     * Records are serialized one at a time into the file, the resulting array is the same as when serializing the
+     * whole list at once.
+     */
+    private static void writeRecordsAsArray(Writer fileWriter, List<Record> records) throws IOException {
+        try (var sequenceWriter = ARRAY_WRITER.writeValuesAsArray(fileWriter)) {
+            for (Record record : records) {
+                sequenceWriter.write(record);
+            }
+        }
+    }
+
+    private static void writeRecordPerLine(Writer fileWriter, List<Record> records) throws IOException {
+        for (Record record : records) {
+            fileWriter.write(LINE_WRITER.writeValueAsString(record));
+            fileWriter.write(NEWLINE);
+        }
+    }
 }
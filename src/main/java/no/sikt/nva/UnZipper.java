@@ -7,10 +7,18 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import no.sikt.nva.brage.migration.aws.ColoredLogger;
 import no.sikt.nva.brage.migration.common.model.record.WarningDetails;
@@ -19,10 +27,14 @@ import nva.commons.core.JacocoGenerated;
 import org.apache.commons.io.FileUtils;
 
 @JacocoGenerated
+@SuppressWarnings("PMD.DoNotUseThreads")
 public final class UnZipper {
 
+    public static final int DEFAULT_BUNDLE_QUEUE_CAPACITY = 16;
     private static final String UNZIPPING_WENT_WRONG_WITH_EXCEPTION =
         "Unzipping went wrong with exception :";
+    private static final String ZIP_PATH_SEPARATOR = "/";
+    private static final File END_OF_BUNDLES = new File("");
     private static final ColoredLogger logger = ColoredLogger.create(UnZipper.class);
 
     private UnZipper() {
@@ -35,16 +47,126 @@ public final class UnZipper {
             var unzippedFile = unzip(fileToUnzip, destinationFile);
             return Arrays.stream(Objects.requireNonNull(unzippedFile.listFiles())).collect(Collectors.toList());
         } catch (Exception e) {
-            if(nonNull(e.getMessage())) {
-                logger.error(e.getMessage());
-            }
-            if (initialFile.exists()) {
+            logUnzipFailure(e, initialFile, pathToZip);
+            return List.of();
+        }
+    }
+
+    /**
+     * Extracts the zipfile on a separate thread and hands every bundle to the consumer as soon as all of its entries
+     * are written to disk, so that scraping does not wait for the whole collection to be extracted. The queue between
+     * extraction and consumer is bounded, extraction waits when the consumer falls behind. Bundles are handed over in
+     * the order their last entry appears in the zipfile, the consumer runs on the calling thread.
+     *
+     * @return number of bundles handed to the consumer, also when the extraction failed after some bundles were
+     *         handed over
+     */
+    public static int extractResourceDirectories(String pathToZip, String destinationDirectory, int queueCapacity,
+                                                 Consumer<File> bundleConsumer) {
+        var initialFile = new File(pathToZip.replaceAll(" ", ""));
+        var bundles = new ArrayBlockingQueue<File>(queueCapacity);
+        var extractor = Executors.newSingleThreadExecutor();
+        var numberOfBundles = 0;
+        try {
+            var extraction = extractor.submit(() -> extractBundles(initialFile, new File(destinationDirectory),
+                                                                   bundles));
+            numberOfBundles = consumeBundles(bundles, bundleConsumer);
+            extraction.get();
+            if (numberOfBundles == 0) {
                 logger.warn(new WarningDetails(Warning.EMPTY_COLLECTION, Path.of(pathToZip).toString()).toString());
+            }
+            return numberOfBundles;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (numberOfBundles == 0) {
+                logUnzipFailure(e.getCause(), initialFile, pathToZip);
             } else {
-                logger.warn(
-                    new WarningDetails(Warning.NONEXISTENT_COLLECTION, Path.of(pathToZip).toString()).toString());
+                logger.error(UNZIPPING_WENT_WRONG_WITH_EXCEPTION + e.getCause().getMessage());
+            }
+            return numberOfBundles;
+        } finally {
+            extractor.shutdownNow();
+        }
+    }
+
+    static void logUnzipFailure(Throwable e, File initialFile, String pathToZip) {
+        if (nonNull(e.getMessage())) {
+            logger.error(e.getMessage());
+        }
+        if (initialFile.exists()) {
+            logger.warn(new WarningDetails(Warning.EMPTY_COLLECTION, Path.of(pathToZip).toString()).toString());
+        } else {
+            logger.warn(
+                new WarningDetails(Warning.NONEXISTENT_COLLECTION, Path.of(pathToZip).toString()).toString());
+        }
+    }
+
+    private static int consumeBundles(BlockingQueue<File> bundles, Consumer<File> bundleConsumer)
+        throws InterruptedException {
+        var numberOfBundles = 0;
+        var bundle = bundles.take();
+        while (!END_OF_BUNDLES.equals(bundle)) {
+            bundleConsumer.accept(bundle);
+            numberOfBundles++;
+            bundle = bundles.take();
+        }
+        return numberOfBundles;
+    }
+
+    /**
+     * Entries are read in central directory order. The entries of every bundle are counted up front, a bundle is
+     * complete when its last entry is written, even if the entries of bundles are interleaved in the zipfile.
+     */
+    private static Void extractBundles(File zip, File destinationDirectory, BlockingQueue<File> bundles)
+        throws IOException, InterruptedException {
+        try (var zipFile = new ZipFile(zip)) {
+            var remainingEntries = countEntriesPerBundle(zipFile);
+            var entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                var entry = entries.nextElement();
+                extractEntry(zipFile, entry, destinationDirectory);
+                var bundleName = getBundleName(entry);
+                if (nonNull(bundleName) && remainingEntries.merge(bundleName, -1, Integer::sum) == 0) {
+                    bundles.put(new File(destinationDirectory, bundleName));
+                }
+            }
+        } catch (InterruptedException e) {
+            // keeps the interrupt flag, so that the final put fails fast instead of waiting for a consumer that is gone
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            bundles.put(END_OF_BUNDLES);
+        }
+        return null;
+    }
+
+    private static Map<String, Integer> countEntriesPerBundle(ZipFile zipFile) {
+        var entriesPerBundle = new HashMap<String, Integer>();
+        zipFile.stream()
+            .map(UnZipper::getBundleName)
+            .filter(Objects::nonNull)
+            .forEach(bundleName -> entriesPerBundle.merge(bundleName, 1, Integer::sum));
+        return entriesPerBundle;
+    }
+
+    /**
+     * Bundles are the top level directories of the zipfile, top level files do not belong to a bundle.
+     */
+    private static String getBundleName(ZipEntry entry) {
+        var separatorIndex = entry.getName().indexOf(ZIP_PATH_SEPARATOR);
+        return separatorIndex > 0 ? entry.getName().substring(0, separatorIndex) : null;
+    }
+
+    private static void extractEntry(ZipFile zipFile, ZipEntry entry, File destinationDirectory) throws IOException {
+        var newFile = newFile(destinationDirectory, entry);
+        if (entry.isDirectory()) {
+            handleUnknownFileType(newFile);
+        } else {
+            try (var inputStream = zipFile.getInputStream(entry)) {
+                createFile(inputStream, newFile);
             }
-            return List.of();
         }
     }
 
@@ -76,7 +198,7 @@ public final class UnZipper {
     }
 
     @SuppressWarnings("PMD.AssignmentInOperand")
-    private static void createFile(ZipInputStream inputStream, File newFile) throws IOException {
+    private static void createFile(InputStream inputStream, File newFile) throws IOException {
         byte[] buffer = new byte[4096];
         File parent = newFile.getParentFile();
         handleUnknownFileType(parent);
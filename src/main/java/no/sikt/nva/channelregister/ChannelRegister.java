@@ -1,5 +1,6 @@
 package no.sikt.nva.channelregister;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static no.sikt.nva.brage.migration.common.model.ErrorDetails.Error.DC_JOURNAL_NOT_IN_CHANNEL_REGISTER;
 import static no.sikt.nva.brage.migration.common.model.ErrorDetails.Error.DC_PUBLISHER_NOT_IN_CHANNEL_REGISTER;
@@ -13,19 +14,18 @@ import static no.sikt.nva.scrapers.CustomerMapper.NMBU;
 import static no.sikt.nva.scrapers.CustomerMapper.OMSORGSFORSKNING;
 import static no.sikt.nva.scrapers.DublinCoreScraper.isInCristin;
 import static no.sikt.nva.validators.DublinCoreValidator.filterOutNullValues;
-import static nva.commons.core.attempt.Try.attempt;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.opencsv.bean.CsvToBeanBuilder;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import no.sikt.nva.BrageProcessor;
 import no.sikt.nva.brage.migration.common.model.BrageLocation;
 import no.sikt.nva.brage.migration.common.model.BrageType;
@@ -38,11 +38,10 @@ import no.sikt.nva.model.dublincore.DcValue;
 import no.sikt.nva.model.dublincore.DublinCore;
 import no.sikt.nva.model.dublincore.Element;
 import no.sikt.nva.scrapers.DublinCoreScraper;
+import no.sikt.nva.scrapers.ReferenceData;
+import no.sikt.nva.scrapers.TextNormalizer;
 import no.sikt.nva.scrapers.TypeMapper;
-import no.unit.nva.commons.json.JsonUtils;
-import nva.commons.core.SingletonCollector;
 import nva.commons.core.StringUtils;
-import nva.commons.core.ioutils.IoUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,28 +69,38 @@ public final class ChannelRegister {
         "nmbu_publisher_channel_registry_faculties.csv";
     public static final String UIB_PUBLISHER_CHANNEL_REGISTRY_FACULTIES_CSV_PATH =
         "uib_specific_publisher_channel_registry.csv";
-    public static final String CUSTOMERS_ISSUING_DEGREES = "customer_pids_for_customers_issuing_degrees.json";
     public static final String PUBLISHER_WILDCARDS_CSV_NAME = "publisher_wildcards.csv";
     public static final String NTNU = "ntnu";
     private static final String JOURNAL_PATH = "journals_channel_registry_v2.csv";
     private static final String PUBLISHERS_PATH = "publisher_channel_registry_v2.csv";
     private static final String JOURNAL_ALIAS_PATH = "journals_channel_registry_aliases.csv";
     private static final char SEPARATOR = ';';
+    private static final String ISSN_KEY = "issn:";
+    private static final String TITLE_KEY = "title:";
+    private static final String PUBLISHER_KEY = "publisher:";
+    private static final String KEY_SEPARATOR = "\n";
     private static final Logger logger = LoggerFactory.getLogger(BrageProcessor.class);
-    /*volatile*/ private static ChannelRegister register;
-    private final List<ChannelRegisterJournal> channelRegisterJournals;
-    private final List<ChannelRegisterPublisher> channelRegisterPublishers;
-    private final List<ChannelRegisterAlias> channelRegisterAliasesJournals;
-    private final List<ChannelRegisterAlias> channelRegisterAliasesPublishers;
-    private final List<ChannelRegisterWildcard> publisherWildCards;
-    private final List<ChannelRegisterAlias> channelRegisterAliasesForNtnu;
-    private final List<ChannelRegisterAlias> channelRegisterAliasesForNmbu;
-    private final List<ChannelRegisterAlias> channelRegisterAliasesForBora;
-    private static final Set<CustomerIssuingDegrees> customerIssuingDegrees = getCustomersIssuingDegrees();
+    private final ChannelRegisterIndex journalsByIssn;
+    private final ChannelRegisterIndex journalsByTitle;
+    private final ChannelRegisterIndex publishersByTitle;
+    private final ChannelRegisterIndex channelRegisterAliasesJournals;
+    private final ChannelRegisterIndex channelRegisterAliasesPublishers;
+    private final WildcardMatcher publisherWildCards;
+    private final ChannelRegisterIndex channelRegisterAliasesForNtnu;
+    private final ChannelRegisterIndex channelRegisterAliasesForNmbu;
+    private final ChannelRegisterIndex channelRegisterAliasesForBora;
+    private final Map<String, CustomerIssuingDegrees> customersIssuingDegrees;
+    private final ResolutionCache resolutionCache;
 
     private ChannelRegister() {
-        this.channelRegisterJournals = getJournalsFromCsv();
-        this.channelRegisterPublishers = getPublishersFromCsv();
+        var journals = getJournalsFromCsv();
+        this.journalsByIssn = ChannelRegisterIndex.exact(journals, ChannelRegister::getIssns,
+                                                         ChannelRegisterJournal::getPid);
+        this.journalsByTitle = ChannelRegisterIndex.ignoringCase(journals, ChannelRegisterJournal::getOriginalTitle,
+                                                                 ChannelRegisterJournal::getPid);
+        this.publishersByTitle = ChannelRegisterIndex.ignoringCase(getPublishersFromCsv(),
+                                                                   ChannelRegisterPublisher::getOriginalTitle,
+                                                                   ChannelRegisterPublisher::getPid);
         this.channelRegisterAliasesJournals = getChannelRegisterAliases(JOURNAL_ALIAS_PATH);
         this.channelRegisterAliasesPublishers = getChannelRegisterAliases(PUBLISHER_CHANNEL_REGISTRY_ALIASES_CSV_PATH);
         this.channelRegisterAliasesForNtnu = getChannelRegisterAliases(
@@ -100,13 +109,23 @@ public final class ChannelRegister {
             getChannelRegisterAliases(UIB_PUBLISHER_CHANNEL_REGISTRY_FACULTIES_CSV_PATH);
         this.channelRegisterAliasesForNmbu = getChannelRegisterAliases(
             NMBU_PUBLISHER_CHANNEL_REGISTRY_FACULTIES_CSV_PATH);
-        this.publisherWildCards = getPublisherWildcards(PUBLISHER_WILDCARDS_CSV_NAME);
+        this.publisherWildCards = WildcardMatcher.compile(getPublisherWildcards(PUBLISHER_WILDCARDS_CSV_NAME));
+        this.customersIssuingDegrees = ReferenceData.readCustomersIssuingDegrees();
+        this.resolutionCache = new ResolutionCache();
     }
 
-    private static Set<CustomerIssuingDegrees> getCustomersIssuingDegrees() {
-        var json = IoUtils.stringFromResources(Path.of(CUSTOMERS_ISSUING_DEGREES));
-        return attempt(() -> JsonUtils.dtoObjectMapper.readValue(json,
-                                                                      new TypeReference<Set<CustomerIssuingDegrees>>() {})).orElseThrow();
+    private ChannelRegister(ChannelRegister register, ResolutionCache resolutionCache) {
+        this.journalsByIssn = register.journalsByIssn;
+        this.journalsByTitle = register.journalsByTitle;
+        this.publishersByTitle = register.publishersByTitle;
+        this.channelRegisterAliasesJournals = register.channelRegisterAliasesJournals;
+        this.channelRegisterAliasesPublishers = register.channelRegisterAliasesPublishers;
+        this.publisherWildCards = register.publisherWildCards;
+        this.channelRegisterAliasesForNtnu = register.channelRegisterAliasesForNtnu;
+        this.channelRegisterAliasesForNmbu = register.channelRegisterAliasesForNmbu;
+        this.channelRegisterAliasesForBora = register.channelRegisterAliasesForBora;
+        this.customersIssuingDegrees = register.customersIssuingDegrees;
+        this.resolutionCache = resolutionCache;
     }
 
     private List<ChannelRegisterWildcard> getPublisherWildcards(String filename) {
@@ -125,15 +144,23 @@ public final class ChannelRegister {
     }
 
     public static ChannelRegister getRegister() {
-        ChannelRegister result = register;
-        if (result == null) {
-            synchronized (ChannelRegister.class) {
-                if (register == null) {
-                    register = new ChannelRegister();
-                }
-            }
-        }
-        return register;
+        return RegisterHolder.REGISTER;
+    }
+
+    /**
+     * The same register with an empty resolution cache, so that a run starts without resolutions or counts from
+     * earlier runs in the same JVM.
+     */
+    public ChannelRegister withNewResolutionCache() {
+        return new ChannelRegister(this, new ResolutionCache());
+    }
+
+    public ResolutionCache getResolutionCache() {
+        return resolutionCache;
+    }
+
+    public Map<String, CustomerIssuingDegrees> getCustomersIssuingDegrees() {
+        return customersIssuingDegrees;
     }
 
     public Optional<ErrorDetails> getChannelRegisterErrors(DublinCore dublinCore,
@@ -150,13 +177,19 @@ public final class ChannelRegister {
         return Optional.empty();
     }
 
-    private static boolean doesNotHaveSpecialCaseMappingOverRidingRegularChannelRegistry(DublinCore dublinCore,
+    private boolean doesNotHaveSpecialCaseMappingOverRidingRegularChannelRegistry(DublinCore dublinCore,
                                                                                String customer ) {
-        return !isDegreeFromInstitutionIssuingDegrees(dublinCore, customer);
+        return !isDegreeFromInstitutionIssuingDegrees(dublinCore, customer, customersIssuingDegrees);
     }
 
-    public static boolean isDegreeFromInstitutionIssuingDegrees(DublinCore dublinCore, String customer) {
-        return isDegree(dublinCore) && customerIssuesDegrees(customer);
+    /**
+     * @param customersIssuingDegrees customers issuing degrees by brage customer, see
+     *                                {@link ReferenceData#getCustomersIssuingDegrees()}
+     */
+    public static boolean isDegreeFromInstitutionIssuingDegrees(DublinCore dublinCore, String customer,
+                                                                Map<String, CustomerIssuingDegrees>
+                                                                    customersIssuingDegrees) {
+        return isDegree(dublinCore) && customersIssuingDegrees.containsKey(customer);
     }
 
     private static boolean isDegree(DublinCore dublinCore) {
@@ -186,10 +219,8 @@ public final class ChannelRegister {
                    .orElse(null);
     }
 
-    private static String lookUpInDegreePids(String customer) {
-        var customerIssuingDegree =
-            customerIssuingDegrees.stream().filter(c -> c.getBrage().equals(customer)).findFirst().get();
-        return  customerIssuingDegree.getChannelRegistryPidProd();
+    private String lookUpInDegreePids(String customer) {
+        return customersIssuingDegrees.get(customer).getChannelRegistryPidProd();
     }
 
 
@@ -198,8 +229,8 @@ public final class ChannelRegister {
         return record.isDegree() && customerIssuesDegrees(customer);
     }
 
-    private static boolean customerIssuesDegrees(String customer) {
-        return customerIssuingDegrees.stream().anyMatch(customerIssuingDegree ->  customerIssuingDegree.getBrage().equals(customer));
+    private boolean customerIssuesDegrees(String customer) {
+        return customersIssuingDegrees.containsKey(customer);
     }
 
     public String lookUpInJournal(Publication publication, BrageLocation brageLocation, String customer) {
@@ -227,85 +258,87 @@ public final class ChannelRegister {
     }
 
     private static String formatValue(String value) {
-        return nonNull(value) ? value.replaceAll("(\n)|(\b)|(\u200b)|(\t)", StringUtils.EMPTY_STRING) : null;
+        return TextNormalizer.removeLineBreaks(value);
     }
 
     public String lookUpInJournalByIssn(String issn, BrageLocation brageLocation) {
-        try {
-            if (StringUtils.isBlank(issn)) {
-                return issn;
-            } else {
-                return channelRegisterJournals.stream()
-                           .filter(item -> item.hasIssn(issn))
-                           .map(ChannelRegisterJournal::getPid)
-                           .distinct()
-                           .collect(SingletonCollector.collectOrElse(null));
-            }
-        } catch (IllegalStateException e) {
+        if (StringUtils.isBlank(issn)) {
+            return issn;
+        }
+        var resolution = resolutionCache.resolve(ISSN_KEY + issn, () -> journalsByIssn.lookUp(issn));
+        if (resolution.isDuplicate()) {
             logger.error(new ErrorDetails(DUPLICATE_JOURNAL_IN_CHANNEL_REGISTER, filterOutNullValues(Set.of(issn)))
                          + StringUtils.SPACE
                          + brageLocation.getOriginInformation());
-            return null;
-        } catch (Exception e) {
-            return null;
         }
+        return resolution.getPid();
     }
 
+    /**
+     * Titles are cached by their normalized form, since titles differing only in case or surrounding whitespace
+     * resolve to the same pid.
+     */
     public String lookUpInJournalByTitle(String title, BrageLocation brageLocation) {
-        try {
-            if (StringUtils.isBlank(title)) {
-                return title;
-            } else {
-                return Optional.ofNullable(lookUpInJournalsByTitle(title))
-                           .orElseGet(() -> lookupInJournalAliases(title));
-            }
-        } catch (IllegalStateException e) {
+        if (StringUtils.isBlank(title)) {
+            return title;
+        }
+        var resolution = resolutionCache.resolve(TITLE_KEY + ChannelRegisterIndex.normalize(title),
+                                                 () -> Optional.ofNullable(lookUpInJournalsByTitle(title))
+                                                           .orElseGet(() -> lookupInJournalAliases(title)));
+        if (resolution.isDuplicate()) {
             logger.error(new ErrorDetails(DUPLICATE_JOURNAL_IN_CHANNEL_REGISTER,
                                           filterOutNullValues(Set.of(title)))
                          + StringUtils.SPACE
                          + brageLocation.getOriginInformation());
-            return null;
-        } catch (Exception e) {
-            return null;
         }
+        return resolution.getPid();
     }
 
     private String lookUpInJournalsByTitle(String title) {
-        return channelRegisterJournals.stream()
-                   .filter(item -> item.hasTitle(title))
-                   .map(ChannelRegisterJournal::getPid)
-                   .distinct()
-                   .collect(SingletonCollector.collectOrElse(null));
+        return journalsByTitle.lookUp(title);
     }
 
+    /**
+     * Publishers are cached by their exact value and the customer, since wildcards are matched case sensitively and
+     * some customers have their own aliases.
+     */
     public String lookUpInPublisher(String publisher, String customer) {
-        try {
-            return lookupInPublishers(publisher)
-                           .or(() -> lookupInPublisherWildcards(publisher))
-                           .orElseGet(() -> lookupInPublisherAliases(publisher, customer));
-
-        } catch (IllegalStateException e) {
+        if (isNull(publisher)) {
+            return null;
+        }
+        var resolution = resolutionCache.resolve(PUBLISHER_KEY + customer + KEY_SEPARATOR + publisher,
+                                                 () -> lookupInPublishers(publisher)
+                                                           .or(() -> lookupInPublisherWildcards(publisher))
+                                                           .orElseGet(() -> lookupInPublisherAliases(publisher,
+                                                                                                     customer)));
+        if (resolution.isDuplicate()) {
             logger.error(new ErrorDetails(DUPLICATE_PUBLISHER_IN_CHANNEL_REGISTER,
                                           filterOutNullValues(Set.of(publisher))).toString());
-            return null;
-        } catch (Exception e) {
-            return null;
         }
+        return resolution.getPid();
     }
 
     private Optional<String> lookupInPublisherWildcards(String publisher) {
         return getPublisherName(publisher)
-                   .map(value -> lookInPublishers(channelRegisterPublishers, value));
+                   .map(publishersByTitle::lookUp);
     }
 
     private Optional<String> getPublisherName(String publisher) {
-        return publisherWildCards.stream()
-                   .filter(wildcard -> publisher.contains(wildcard.getWildcard()))
-                   .map(ChannelRegisterWildcard::getName)
-                   .findFirst();
+        return publisherWildCards.findFirstMatch(publisher);
+    }
+
+    private static List<String> getIssns(ChannelRegisterJournal journal) {
+        return Stream.of(journal.getOnlineIssn(), journal.getPrintIssn())
+                   .filter(StringUtils::isNotBlank)
+                   .collect(Collectors.toList());
+    }
+
+    private static ChannelRegisterIndex getChannelRegisterAliases(String filePath) {
+        return ChannelRegisterIndex.ignoringCase(readChannelRegisterAliases(filePath), ChannelRegisterAlias::getAlias,
+                                                 ChannelRegisterAlias::getOriginalTitle);
     }
 
-    private static List<ChannelRegisterAlias> getChannelRegisterAliases(String filePath) {
+    private static List<ChannelRegisterAlias> readChannelRegisterAliases(String filePath) {
         try (var inputStream = Thread.currentThread().getContextClassLoader()
                                    .getResourceAsStream(filePath);
             var bufferedReader = new BufferedReader(new InputStreamReader(inputStream))) {
@@ -393,14 +426,15 @@ public final class ChannelRegister {
     }
 
     private static boolean isJournalArticle(DublinCore dublinCore, String customer) {
-        return DublinCoreScraper.extractType(dublinCore, customer).contains(BrageType.JOURNAL_ARTICLE.getValue())
-               || DublinCoreScraper.extractType(dublinCore, customer).contains(BrageType.JOURNAL_ISSUE.getValue())
-               || DublinCoreScraper.extractType(dublinCore, customer).contains(BrageType.ARTICLE.getValue());
+        var types = DublinCoreScraper.extractType(dublinCore, customer);
+        return types.contains(BrageType.JOURNAL_ARTICLE.getValue())
+               || types.contains(BrageType.JOURNAL_ISSUE.getValue())
+               || types.contains(BrageType.ARTICLE.getValue());
     }
 
     private String lookupInPublisherAliases(String publisher,
                                             String customer) {
-        var pid = lookupInPublisherAliases(channelRegisterPublishers, channelRegisterAliasesPublishers, publisher);
+        var pid = lookupInPublisherAliases(channelRegisterAliasesPublishers, publisher);
         if (StringUtils.isEmpty(pid)) {
             pid = lookupInCustomerSpecificCsv(publisher, customer).orElse(null);
         }
@@ -409,49 +443,29 @@ public final class ChannelRegister {
 
     private Optional<String> lookupInCustomerSpecificCsv(String publisher, String customer) {
         if (NTNU.equalsIgnoreCase(customer) || OMSORGSFORSKNING.equalsIgnoreCase(customer)) {
-            return Optional.ofNullable(lookupInPublisherAliases(channelRegisterPublishers, channelRegisterAliasesForNtnu, publisher));
+            return Optional.ofNullable(lookupInPublisherAliases(channelRegisterAliasesForNtnu, publisher));
         }
         if (BORA.equalsIgnoreCase(customer)) {
-            return Optional.ofNullable(lookupInPublisherAliases(channelRegisterPublishers, channelRegisterAliasesForBora, publisher));
+            return Optional.ofNullable(lookupInPublisherAliases(channelRegisterAliasesForBora, publisher));
         }
         if (NMBU.equalsIgnoreCase(customer)) {
-            return Optional.ofNullable(lookupInPublisherAliases(channelRegisterPublishers, channelRegisterAliasesForNmbu, publisher));
+            return Optional.ofNullable(lookupInPublisherAliases(channelRegisterAliasesForNmbu, publisher));
         }
         return Optional.empty();
     }
 
     private String lookupInJournalAliases(String publisher) {
-        var originalTitle = channelRegisterAliasesJournals.stream()
-                   .filter(item -> item.hasAlias(publisher))
-                   .map(ChannelRegisterAlias::getOriginalTitle)
-                   .distinct()
-                   .collect(SingletonCollector.collectOrElse(null));
+        var originalTitle = channelRegisterAliasesJournals.lookUp(publisher);
         return lookUpInJournalsByTitle(originalTitle);
     }
 
-    private String lookupInPublisherAliases(List<ChannelRegisterPublisher> publishers, List<ChannelRegisterAlias> aliases, String publisher) {
-        var originalPublisher = getOriginalPublisher(aliases, publisher);
+    private String lookupInPublisherAliases(ChannelRegisterIndex aliases, String publisher) {
+        var originalPublisher = aliases.lookUp(publisher);
         return nonNull(originalPublisher)
-                   ? lookInPublishers(publishers, originalPublisher)
+                   ? publishersByTitle.lookUp(originalPublisher)
                    : null;
     }
 
-    private static String lookInPublishers(List<ChannelRegisterPublisher> publishers, String originalPublisher) {
-        return publishers.stream()
-                   .filter(item -> item.hasPublisher(originalPublisher))
-                   .map(ChannelRegisterPublisher::getPid)
-                   .distinct()
-                   .collect(SingletonCollector.collectOrElse(null));
-    }
-
-    private static String getOriginalPublisher(List<ChannelRegisterAlias> aliases, String publisher) {
-        return aliases.stream()
-                   .filter(item -> item.hasAlias(publisher))
-                   .map(ChannelRegisterAlias::getOriginalTitle)
-                   .distinct()
-                   .collect(SingletonCollector.collectOrElse(null));
-    }
-
     private Optional<ErrorDetails> getErrorDetailsForJournalArticle(DublinCore dublinCore,
                                                                     BrageLocation brageLocation, String customer) {
         var publication = DublinCoreScraper.extractPublication(dublinCore, customer);
@@ -481,6 +495,14 @@ public final class ChannelRegister {
     }
 
     private Optional<String> lookupInPublishers(String publisherFromMapper) {
-        return Optional.ofNullable(lookInPublishers(channelRegisterPublishers, publisherFromMapper));
+        return Optional.ofNullable(publishersByTitle.lookUp(publisherFromMapper));
+    }
+
+    /**
+     * Lazy, thread safe initialization of the register, collections may be processed in parallel.
+     */
+    private static final class RegisterHolder {
+
+        private static final ChannelRegister REGISTER = new ChannelRegister();
     }
 }
@@ -36,10 +36,6 @@ public class ChannelRegisterAlias {
         this.originalTitle = originalTitle;
     }
 
-    public boolean hasAlias(String title) {
-        return getAlias().equalsIgnoreCase(title.trim());
-    }
-
     @JacocoGenerated
     @Override
     public int hashCode() {
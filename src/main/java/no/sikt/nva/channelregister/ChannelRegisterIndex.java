@@ -0,0 +1,82 @@
+package no.sikt.nva.channelregister;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import nva.commons.core.SingletonCollector;
+
+/**
+ * Index from the ISSNs or names in the channel register to the values having them, built once when the register is
+ * loaded. A lookup gives the same result as scanning the register: the only distinct value, null when there is none,
+ * and an {@link IllegalStateException} when there are several.
+ */
+final class ChannelRegisterIndex {
+
+    private final Map<String, Set<String>> valuesByKey;
+    private final boolean ignoreCase;
+
+    private ChannelRegisterIndex(Map<String, Set<String>> valuesByKey, boolean ignoreCase) {
+        this.valuesByKey = valuesByKey;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Keys are matched exactly, as ISSNs are.
+     */
+    static <T> ChannelRegisterIndex exact(List<T> entries, Function<T, List<String>> keys, Function<T, String> value) {
+        return create(entries, keys, value, false);
+    }
+
+    /**
+     * Keys are matched like {@link String#equalsIgnoreCase(String)} against the trimmed value looked up, as names are.
+     */
+    static <T> ChannelRegisterIndex ignoringCase(List<T> entries, Function<T, String> key,
+                                                Function<T, String> value) {
+        return create(entries, entry -> nonNull(key.apply(entry)) ? List.of(key.apply(entry)) : List.of(), value,
+                      true);
+    }
+
+    String lookUp(String key) {
+        if (isNull(key)) {
+            return null;
+        }
+        var values = valuesByKey.get(ignoreCase ? normalize(key) : key);
+        return isNull(values) ? null : values.stream().collect(SingletonCollector.collectOrElse(null));
+    }
+
+    /**
+     * Names normalizing to the same value are found by {@link #ignoringCase} indexes exactly when one of them is.
+     */
+    static String normalize(String name) {
+        return foldCase(name.trim());
+    }
+
+    private static <T> ChannelRegisterIndex create(List<T> entries, Function<T, List<String>> keys,
+                                                   Function<T, String> value, boolean ignoreCase) {
+        var valuesByKey = new HashMap<String, Set<String>>();
+        for (T entry : entries) {
+            for (String key : keys.apply(entry)) {
+                valuesByKey.computeIfAbsent(ignoreCase ? foldCase(key) : key, k -> new LinkedHashSet<>())
+                    .add(value.apply(entry));
+            }
+        }
+        return new ChannelRegisterIndex(valuesByKey, ignoreCase);
+    }
+
+    /**
+     * Two strings fold to the same key exactly when {@link String#equalsIgnoreCase(String)} considers them equal,
+     * since it compares characters by their upper case and then by the lower case of that.
+     */
+    private static String foldCase(String value) {
+        var folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return folded.toString();
+    }
+}
@@ -1,8 +1,6 @@
 package no.sikt.nva.channelregister;
 
 import com.opencsv.bean.CsvBindByName;
-import java.util.Optional;
-import nva.commons.core.StringUtils;
 
 public class ChannelRegisterJournal {
 
@@ -51,17 +49,4 @@ public class ChannelRegisterJournal {
     public void setOriginalTitle(String originalTitle) {
         this.originalTitle = originalTitle;
     }
-
-    public boolean hasIssn(String issn) {
-        var onlineIssn = Optional.ofNullable(this.getOnlineIssn()).orElse(StringUtils.EMPTY_STRING);
-        var printIssn = Optional.ofNullable(this.getPrintIssn()).orElse(StringUtils.EMPTY_STRING);
-
-        return onlineIssn.equals(issn) || printIssn.equals(issn);
-    }
-
-    public boolean hasTitle(String title) {
-        var originalTitle = Optional.of(this.getOriginalTitle()).orElse(StringUtils.EMPTY_STRING);
-
-        return originalTitle.equalsIgnoreCase(title.trim());
-    }
 }
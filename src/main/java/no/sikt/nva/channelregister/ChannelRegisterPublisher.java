@@ -1,8 +1,6 @@
 package no.sikt.nva.channelregister;
 
 import com.opencsv.bean.CsvBindByName;
-import java.util.Optional;
-import nva.commons.core.StringUtils;
 
 public class ChannelRegisterPublisher {
 
@@ -29,10 +27,4 @@ public class ChannelRegisterPublisher {
     public void setOriginalTitle(String originalTitle) {
         this.originalTitle = originalTitle;
     }
-
-    public boolean hasPublisher(String publisher) {
-        var originalTitle = Optional.of(this.getOriginalTitle()).orElse(StringUtils.EMPTY_STRING);
-
-        return originalTitle.equalsIgnoreCase(publisher.trim());
-    }
 }
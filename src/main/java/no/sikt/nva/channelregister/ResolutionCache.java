@@ -0,0 +1,79 @@
+package no.sikt.nva.channelregister;
+
+import static java.util.Objects.nonNull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Outcome of resolving ISSNs, titles and publishers in the channel register, so that every distinct value is only
+ * resolved once per run. A value with several distinct pids is remembered as a duplicate, so that the duplicate error
+ * can still be logged for every record having it. Safe to use from parallel collections and bundles.
+ */
+public final class ResolutionCache {
+
+    private final Map<String, Resolution> resolutions;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public ResolutionCache() {
+        this.resolutions = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    Resolution resolve(String key, Supplier<String> lookUp) {
+        var cached = resolutions.get(key);
+        if (nonNull(cached)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        var resolution = Resolution.of(lookUp);
+        var concurrentlyResolved = resolutions.putIfAbsent(key, resolution);
+        return nonNull(concurrentlyResolved) ? concurrentlyResolved : resolution;
+    }
+
+    static final class Resolution {
+
+        private static final Resolution DUPLICATE = new Resolution(null, true);
+        private final String pid;
+        private final boolean duplicate;
+
+        private Resolution(String pid, boolean duplicate) {
+            this.pid = pid;
+            this.duplicate = duplicate;
+        }
+
+        /**
+         * Several distinct pids make the lookup throw {@link IllegalStateException}, any other failure is treated as
+         * not found, as the uncached lookups did.
+         */
+        private static Resolution of(Supplier<String> lookUp) {
+            try {
+                return new Resolution(lookUp.get(), false);
+            } catch (IllegalStateException e) {
+                return DUPLICATE;
+            } catch (Exception e) {
+                return new Resolution(null, false);
+            }
+        }
+
+        String getPid() {
+            return pid;
+        }
+
+        boolean isDuplicate() {
+            return duplicate;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package no.sikt.nva.channelregister;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Aho-Corasick automaton over the publisher wildcards, built once when the register is loaded. A publisher is scanned
+ * once no matter how many wildcards there are. When several wildcards occur in the publisher, the one listed first
+ * wins, exactly as when testing every wildcard with {@link String#contains(CharSequence)} in list order.
+ */
+final class WildcardMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+    private final List<Map<Character, Integer>> transitions;
+    private final List<Integer> failures;
+    private final List<Integer> firstMatches;
+    private final List<String> names;
+
+    private WildcardMatcher(List<String> names) {
+        this.transitions = new ArrayList<>();
+        this.failures = new ArrayList<>();
+        this.firstMatches = new ArrayList<>();
+        this.names = names;
+        addState();
+    }
+
+    static WildcardMatcher compile(List<ChannelRegisterWildcard> wildcards) {
+        var names = new ArrayList<String>();
+        wildcards.forEach(wildcard -> names.add(wildcard.getName()));
+        var matcher = new WildcardMatcher(names);
+        for (int priority = 0; priority < wildcards.size(); priority++) {
+            var wildcard = wildcards.get(priority).getWildcard();
+            if (nonNull(wildcard)) {
+                matcher.addWildcard(wildcard, priority);
+            }
+        }
+        matcher.linkFailures();
+        return matcher;
+    }
+
+    /**
+     * @return the name of the first listed wildcard occurring in the publisher
+     */
+    Optional<String> findFirstMatch(String publisher) {
+        int firstMatch = firstMatches.get(ROOT);
+        var state = ROOT;
+        for (int i = 0; i < publisher.length() && firstMatch > 0; i++) {
+            state = next(state, publisher.charAt(i));
+            firstMatch = Math.min(firstMatch, firstMatches.get(state));
+        }
+        return firstMatch == NO_MATCH ? Optional.empty() : Optional.ofNullable(names.get(firstMatch));
+    }
+
+    private int next(int state, char character) {
+        var current = state;
+        var target = transitions.get(current).get(character);
+        while (isNull(target) && current != ROOT) {
+            current = failures.get(current);
+            target = transitions.get(current).get(character);
+        }
+        return isNull(target) ? ROOT : target;
+    }
+
+    private void addWildcard(String wildcard, int priority) {
+        var state = ROOT;
+        for (int i = 0; i < wildcard.length(); i++) {
+            var character = wildcard.charAt(i);
+            var target = transitions.get(state).get(character);
+            if (isNull(target)) {
+                target = addState();
+                transitions.get(state).put(character, target);
+            }
+            state = target;
+        }
+        firstMatches.set(state, Math.min(firstMatches.get(state), priority));
+    }
+
+    private int addState() {
+        transitions.add(new HashMap<>());
+        failures.add(ROOT);
+        firstMatches.add(NO_MATCH);
+        return transitions.size() - 1;
+    }
+
+    /**
+     * Breadth first, so that the failure state of a state is complete before the state itself. Every state also
+     * inherits the first match of its failure state, since the wildcard ending there occurs as well. The states right
+     * below the root fail to the root, an empty wildcard at the root matches every publisher.
+     */
+    private void linkFailures() {
+        var queue = new ArrayDeque<Integer>();
+        transitions.get(ROOT).values().forEach(queue::add);
+        while (!queue.isEmpty()) {
+            var state = queue.poll();
+            for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                var target = transition.getValue();
+                var failure = next(failures.get(state), transition.getKey());
+                failures.set(target, failure);
+                firstMatches.set(target, Math.min(firstMatches.get(target), firstMatches.get(failure)));
+                queue.add(target);
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package no.sikt.nva.model.dublincore;
 
+import static java.util.Objects.isNull;
 import jakarta.xml.bind.annotation.XmlEnum;
 import jakarta.xml.bind.annotation.XmlEnumValue;
 import jakarta.xml.bind.annotation.XmlType;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import nva.commons.core.JacocoGenerated;
 
 @XmlType(name = "element")
@@ -62,6 +67,8 @@ public enum Element {
     @XmlEnumValue("subjectcode")
     SUBJECT_CODE("subjectcode");
 
+    private static final Map<String, Element> ELEMENTS_BY_VALUE =
+        Arrays.stream(values()).collect(Collectors.toMap(Element::getValue, Function.identity()));
     private final String value;
 
     Element(String v) {
@@ -70,12 +77,18 @@ public enum Element {
 
     @JacocoGenerated
     public static Element fromValue(String v) {
-        for (Element c : Element.values()) {
-            if (c.getValue().equals(v)) {
-                return c;
-            }
+        var element = lookup(v);
+        if (isNull(element)) {
+            throw new IllegalArgumentException(v);
         }
-        throw new IllegalArgumentException(v);
+        return element;
+    }
+
+    /**
+     * Same mapping as the xml enum values, unknown and missing values give null like when unmarshalling.
+     */
+    public static Element lookup(String v) {
+        return isNull(v) ? null : ELEMENTS_BY_VALUE.get(v);
     }
 
     public String getValue() {
@@ -1,8 +1,13 @@
 package no.sikt.nva.model.dublincore;
 
+import static java.util.Objects.isNull;
 import jakarta.xml.bind.annotation.XmlEnum;
 import jakarta.xml.bind.annotation.XmlEnumValue;
 import jakarta.xml.bind.annotation.XmlType;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import nva.commons.core.JacocoGenerated;
 
 @XmlType(name = "qualifier")
@@ -213,6 +218,8 @@ public enum Qualifier {
     @XmlEnumValue("terms")
     TERMS("terms");
 
+    private static final Map<String, Qualifier> QUALIFIERS_BY_VALUE =
+        Arrays.stream(values()).collect(Collectors.toMap(Qualifier::getValue, Function.identity()));
     private final String value;
 
     Qualifier(String v) {
@@ -221,12 +228,18 @@ public enum Qualifier {
 
     @JacocoGenerated
     public static Qualifier fromValue(String v) {
-        for (Qualifier c : Qualifier.values()) {
-            if (c.getValue().equals(v)) {
-                return c;
-            }
+        var qualifier = lookup(v);
+        if (isNull(qualifier)) {
+            throw new IllegalArgumentException(v);
         }
-        throw new IllegalArgumentException(v);
+        return qualifier;
+    }
+
+    /**
+     * Same mapping as the xml enum values, unknown and missing values give null like when unmarshalling.
+     */
+    public static Qualifier lookup(String v) {
+        return isNull(v) ? null : QUALIFIERS_BY_VALUE.get(v);
     }
 
     public String getValue() {
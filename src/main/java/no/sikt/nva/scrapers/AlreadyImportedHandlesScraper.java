@@ -10,6 +10,7 @@ import nva.commons.core.paths.UriWrapper;
 
 public final class AlreadyImportedHandlesScraper {
     public static final URI HANDLE_DOMAIN = UriWrapper.fromHost("https://hdl.handle.net").getUri();
+    public static final String DEFAULT_HANDLES_FILE_NAME = "handles.csv";
 
     public static List<String> scrapeHandlesFromSuppliedExternalFile(File file) {
         try {
@@ -19,6 +20,22 @@ public final class AlreadyImportedHandlesScraper {
         }
     }
 
+    /**
+     * Reads the handles of the file straight into an index without keeping the lines or the handle strings.
+     *
+     * @param file csv file with handle and identifier of previously imported records
+     * @return index of handles, empty if the file cannot be read
+     */
+    public static ImportedHandleIndex scrapeHandleIndexFromSuppliedExternalFile(File file) {
+        var index = new ImportedHandleIndex();
+        try (var lines = Files.lines(file.toPath())) {
+            lines.map(AlreadyImportedHandlesScraper::constructHandle).forEach(index::add);
+            return index;
+        } catch (Exception e) {
+            return new ImportedHandleIndex();
+        }
+    }
+
     private static List<String> convertFileToHandlelist(String string) {
         return Arrays.stream(string.split("\n"))
                    .map(AlreadyImportedHandlesScraper::constructHandle)
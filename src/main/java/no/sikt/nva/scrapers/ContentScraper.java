@@ -21,6 +21,7 @@ import no.sikt.nva.brage.migration.common.model.ErrorDetails.Error;
 import no.sikt.nva.brage.migration.common.model.record.WarningDetails;
 import no.sikt.nva.brage.migration.common.model.record.WarningDetails.Warning;
 import no.sikt.nva.brage.migration.common.model.record.content.ContentFile;
+import no.sikt.nva.brage.migration.common.model.record.content.MimeTypeDetector;
 import no.sikt.nva.brage.migration.common.model.record.content.ResourceContent;
 import no.sikt.nva.brage.migration.common.model.record.content.ResourceContent.BundleType;
 import no.sikt.nva.brage.migration.common.model.record.license.License;
@@ -32,6 +33,8 @@ import org.slf4j.LoggerFactory;
 public final class ContentScraper {
 
     private static final String CONTENT_FILE_DEFAULT_NAME = "contents";
+    private static final String DUBLIN_CORE_FILE_NAME = "dublin_core.xml";
+    public static final String MIME_TYPE_NOT_DETECTED_MESSAGE = "Could not detect MIME type of {} at brage location {}";
     public static final String CONTENT_FILE_PARSING_ERROR_MESSAGE = "Could not parse content file: ";
     public static final String UNKNOWN_FILE_LOG_MESSAGE = "Unknown file in contents: ";
     public static final List<String> KNOWN_CONTENT_FILE_TYPES = List.of(BundleType.CCLICENSE.getValue(),
@@ -50,14 +53,25 @@ public final class ContentScraper {
     private final License license;
     private final String embargo;
     private final String customer;
+    private final boolean detectMimeTypes;
 
     public ContentScraper(Path bundlePath, BrageLocation brageLocation, License license, String embargo,
                           String customer) {
+        this(bundlePath, brageLocation, license, embargo, customer, false);
+    }
+
+    /**
+     * @param detectMimeTypes whether the MIME type of every content file is detected and stored on it, for records
+     *                        whose content files are going to be pushed
+     */
+    public ContentScraper(Path bundlePath, BrageLocation brageLocation, License license, String embargo,
+                          String customer, boolean detectMimeTypes) {
         this.bundlePath = bundlePath;
         this.brageLocation = brageLocation;
         this.license = license;
         this.embargo = embargo;
         this.customer = customer;
+        this.detectMimeTypes = detectMimeTypes;
     }
 
     public ResourceContent scrapeContent() {
@@ -128,7 +142,10 @@ public final class ContentScraper {
     }
 
     private ContentFile createDublinCoreFile() {
-        return new ContentFile("dublin_core.xml", BundleType.IGNORED, null, UUID.randomUUID(), null, null);
+        var dublinCoreFile = new ContentFile(DUBLIN_CORE_FILE_NAME, BundleType.IGNORED, null, UUID.randomUUID(),
+                                             null, null);
+        dublinCoreFile.setMimeType(detectMimeType(DUBLIN_CORE_FILE_NAME));
+        return dublinCoreFile;
     }
 
     private Optional<ContentFile> convertToFile(String fileInfo) {
@@ -176,9 +193,27 @@ public final class ContentScraper {
         contentFile.setBundleType(extractBundleType(fileInformationList));
         contentFile.setIdentifier(UUID.randomUUID());
         contentFile.setEmbargoDate(convertEmbargoToInstant());
+        contentFile.setMimeType(detectMimeType(contentFile.getFilename()));
         return contentFile;
     }
 
+    /**
+     * Detected once here and stored on the record, so that pushing the record to S3, also again with -b, does not
+     * have to read the file to find it. When it is not detected, it is detected on upload.
+     */
+    private String detectMimeType(String fileName) {
+        if (!detectMimeTypes) {
+            return null;
+        }
+        return attempt(() -> MimeTypeDetector.detect(bundlePath.resolve(fileName)))
+                   .orElse(failure -> logMimeTypeNotDetected(fileName));
+    }
+
+    private String logMimeTypeNotDetected(String fileName) {
+        logger.warn(MIME_TYPE_NOT_DETECTED_MESSAGE, fileName, brageLocation.getOriginInformation());
+        return null;
+    }
+
     private Instant convertEmbargoToInstant() {
         return nonNull(embargo) ? toInstant() : null;
     }
@@ -1,8 +1,10 @@
 package no.sikt.nva.scrapers;
 
-import jakarta.xml.bind.JAXBContext;
-import jakarta.xml.bind.JAXBException;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import no.sikt.nva.exceptions.DublinCoreException;
 import no.sikt.nva.model.dublincore.DcValue;
@@ -17,10 +19,29 @@ public final class DublinCoreFactory {
     }
 
     public static DublinCore createDublinCoreFromXml(File xml) {
+        return createDublinCoreFromXml(xml.toPath());
+    }
+
+    public static DublinCore createDublinCoreFromXml(Path xml) {
+        return createDublinCoreFromXml(xml, DublinCoreParser.JAXB);
+    }
+
+    /**
+     * Reads the xml through the file system of the path, which also works for paths inside a zipfile.
+     */
+    public static DublinCore createDublinCoreFromXml(Path xml, DublinCoreParser parser) {
+        try (var inputStream = Files.newInputStream(xml)) {
+            return createDublinCoreFromXml(inputStream, parser);
+        } catch (IOException e) {
+            throw new DublinCoreException(
+                UNABLE_TO_UNMARSHALL_DUBLIN_CORE_XML_TEMPLATE, e);
+        }
+    }
+
+    public static DublinCore createDublinCoreFromXml(InputStream xml, DublinCoreParser parser) {
         try {
-            var unmarshaller = JAXBContext.newInstance(DublinCore.class).createUnmarshaller();
-            return (DublinCore) unmarshaller.unmarshal(xml);
-        } catch (JAXBException e) {
+            return parser.parse(xml);
+        } catch (Exception e) {
             throw new DublinCoreException(
                 UNABLE_TO_UNMARSHALL_DUBLIN_CORE_XML_TEMPLATE, e);
         }
@@ -0,0 +1,25 @@
+package no.sikt.nva.scrapers;
+
+import java.io.InputStream;
+import no.sikt.nva.model.dublincore.DublinCore;
+
+/**
+ * Parsers available for dublin_core.xml and metadata_fs.xml, both give the same DublinCore.
+ */
+public enum DublinCoreParser {
+
+    JAXB {
+        @Override
+        public DublinCore parse(InputStream inputStream) throws Exception {
+            return JaxbDublinCoreParser.parse(inputStream);
+        }
+    },
+    STAX {
+        @Override
+        public DublinCore parse(InputStream inputStream) throws Exception {
+            return StaxDublinCoreParser.parse(inputStream);
+        }
+    };
+
+    public abstract DublinCore parse(InputStream inputStream) throws Exception;
+}
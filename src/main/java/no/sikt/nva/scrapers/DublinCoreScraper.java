@@ -11,13 +11,11 @@ import static no.sikt.nva.scrapers.CustomerMapper.FFI;
 import static no.sikt.nva.scrapers.CustomerMapper.UIO;
 import static no.sikt.nva.scrapers.EntityDescriptionExtractor.AUTHOR;
 import static no.sikt.nva.scrapers.EntityDescriptionExtractor.OTHER_CONTRIBUTOR;
-import static no.sikt.nva.validators.DublinCoreValidator.DEHYPHENATION_REGEX;
 import static no.sikt.nva.validators.DublinCoreValidator.getDublinCoreErrors;
 import static no.sikt.nva.validators.DublinCoreValidator.getDublinCoreWarnings;
 import static nva.commons.core.attempt.Try.attempt;
 import java.net.URI;
 import java.net.URL;
-import java.nio.file.Path;
 import java.time.Instant;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
@@ -32,6 +30,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import no.sikt.nva.brage.migration.common.model.BrageLocation;
 import no.sikt.nva.brage.migration.common.model.ErrorDetails;
@@ -53,16 +52,16 @@ import no.sikt.nva.brage.migration.common.model.record.Series;
 import no.sikt.nva.brage.migration.common.model.record.Type;
 import no.sikt.nva.brage.migration.common.model.record.WarningDetails;
 import no.sikt.nva.channelregister.ChannelRegister;
+import no.sikt.nva.channelregister.CustomerIssuingDegrees;
 import no.sikt.nva.exceptions.DublinCoreException;
 import no.sikt.nva.model.Embargo;
 import no.sikt.nva.model.dublincore.DcValue;
 import no.sikt.nva.model.dublincore.DublinCore;
 import no.sikt.nva.model.dublincore.Element;
 import no.sikt.nva.model.dublincore.Qualifier;
+import no.sikt.nva.validators.DoiValidationService;
 import no.sikt.nva.validators.DoiValidator;
-import no.unit.nva.commons.json.JsonUtils;
 import nva.commons.core.StringUtils;
-import nva.commons.core.ioutils.IoUtils;
 import nva.commons.core.paths.UriWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -85,6 +84,9 @@ public class DublinCoreScraper {
     public static final String NEW_ISMN_FIRST_ELEMENT = "9790";
     public static final String ORCID_HOST = "https://orcid.org/";
     public static final String ORCID_HOST_REGEX = "https?://(www\\.)?orcid\\.org/";
+    private static final Pattern ORCID_HOST_PATTERN = Pattern.compile(ORCID_HOST_REGEX);
+    private static final Pattern YEAR_AND_NUMBER_PATTERN = Pattern.compile("\\d{4}\\W\\d{2}");
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d+");
     public static final String OLD_ISMN_FIRST_ELEMENT = "m";
     public static final int MAX_SUBJECT_CODE_LENGTH = 15;
     private static Map<String, Contributor> contributors;
@@ -92,16 +94,31 @@ public class DublinCoreScraper {
     private final boolean shouldLookUpInChannelRegister;
     private ChannelRegister channelRegister;
     private final FundingSources fundingSources;
+    private final Map<String, CustomerIssuingDegrees> customersIssuingDegrees;
+    private final DoiValidationService doiValidation;
 
+    public DublinCoreScraper(boolean enableOnlineValidation, boolean shouldLookUpInChannelRegister,
+                             Map<String, Contributor> contributors, ReferenceData referenceData) {
+        this(enableOnlineValidation, shouldLookUpInChannelRegister, contributors, referenceData,
+             DoiValidationService.shared());
+    }
+
+    /**
+     * @param doiValidation service validating DOIs online, a concurrent service leaves the DOIs to the caller, which
+     *                      validates the DOIs of all records of a collection at the same time
+     */
     @SuppressWarnings("PMD.AssignmentToNonFinalStatic")
     public DublinCoreScraper(boolean enableOnlineValidation, boolean shouldLookUpInChannelRegister,
-                             Map<String, Contributor> contributors) {
+                             Map<String, Contributor> contributors, ReferenceData referenceData,
+                             DoiValidationService doiValidation) {
         this.enableOnlineValidation = enableOnlineValidation;
+        this.doiValidation = doiValidation;
         this.shouldLookUpInChannelRegister = shouldLookUpInChannelRegister;
         DublinCoreScraper.contributors = contributors;
-        this.fundingSources = readFundingSources();
+        this.fundingSources = referenceData.getFundingSources();
+        this.customersIssuingDegrees = referenceData.getCustomersIssuingDegrees();
         if (shouldLookUpInChannelRegister) {
-            this.channelRegister = ChannelRegister.getRegister();
+            this.channelRegister = referenceData.getChannelRegister();
         }
     }
 
@@ -116,7 +133,7 @@ public class DublinCoreScraper {
     }
 
     private static URI toUriWithOrcidPrefix(String value) {
-        var orcid = value.replaceAll(ORCID_HOST_REGEX, StringUtils.EMPTY_STRING);
+        var orcid = ORCID_HOST_PATTERN.matcher(value).replaceAll(StringUtils.EMPTY_STRING);
         return Optional.ofNullable(orcid)
             .filter(StringUtils::isNotBlank)
             .map(DublinCoreScraper::toOrcidUri)
@@ -127,12 +144,6 @@ public class DublinCoreScraper {
         return UriWrapper.fromHost(ORCID_HOST).addChild(orcid).getUri();
     }
 
-    private FundingSources readFundingSources() {
-        var value = IoUtils.stringFromResources(Path.of("funding_sources.json"));
-        return attempt(() -> JsonUtils.dtoObjectMapper.readValue(value, FundingSources.class))
-                   .orElseThrow();
-    }
-
     public static Set<String> extractIssn(DublinCore dublinCore) {
         return dublinCore.getDcValues()
                    .stream()
@@ -180,18 +191,11 @@ public class DublinCoreScraper {
     }
 
     public static String attemptToRepairIsbn(String value) {
-        return Optional.ofNullable(value)
-                   .map(isbn -> isbn.replaceAll(DEHYPHENATION_REGEX, StringUtils.EMPTY_STRING))
-                   .map(isbn -> isbn.replaceAll("[^0-9]", ""))
-                   .map(isbn -> isbn.replaceAll(StringUtils.WHITESPACES, StringUtils.EMPTY_STRING))
-                   .orElse(null);
+        return TextNormalizer.repairIsbn(value);
     }
 
     public static String attemptToRepairIsmn(String value) {
-        return Optional.ofNullable(value)
-                   .map(isbn -> isbn.replaceAll(DEHYPHENATION_REGEX, StringUtils.EMPTY_STRING))
-                   .map(isbn -> isbn.replaceAll(StringUtils.WHITESPACES, StringUtils.EMPTY_STRING))
-                   .orElse(null);
+        return TextNormalizer.repairIsmn(value);
     }
 
     public static String extractMainTitle(DublinCore dublinCore) {
@@ -254,7 +258,7 @@ public class DublinCoreScraper {
                    .stream()
                    .filter(DcValue::isType)
                    .map(DcValue::scrapeValueAndSetToScraped)
-                   .map(value -> value.replaceAll(EMPTY_SPACES_LINEBREAKS_REGEX, StringUtils.EMPTY_STRING))
+                   .map(TextNormalizer::removeLineBreaksAndQuotes)
                    .collect(Collectors.toSet());
     }
 
@@ -293,7 +297,7 @@ public class DublinCoreScraper {
     private static String fixOldIsmnFormatIfNeeded(String value) {
         var formattedIsmn = value.toLowerCase(Locale.ROOT);
         if (formattedIsmn.contains(OLD_ISMN_FIRST_ELEMENT)) {
-            return formattedIsmn.replaceAll(OLD_ISMN_FIRST_ELEMENT, NEW_ISMN_FIRST_ELEMENT);
+            return formattedIsmn.replace(OLD_ISMN_FIRST_ELEMENT, NEW_ISMN_FIRST_ELEMENT);
         } else {
             return value;
         }
@@ -421,8 +425,8 @@ public class DublinCoreScraper {
                                                          customer)
                     .ifPresent(errors::add);
             }
-            if (onlineValidationIsEnabled()) {
-                DoiValidator.getDoiErrorDetailsOnline(dublinCore).ifPresent(errors::addAll);
+            if (onlineValidationIsEnabled() && !doiValidation.isConcurrent()) {
+                doiValidation.getDoiErrorDetails(dublinCore).ifPresent(errors::addAll);
             }
             var warnings = getDublinCoreWarnings(dublinCore, customer, fundingSources);
             var record = createRecordFromDublinCoreAndBrageLocation(dublinCore,
@@ -437,7 +441,9 @@ public class DublinCoreScraper {
             logUnscrapedValues(dublinCore, brageLocation);
             var isCristinPost = isInCristin(dublinCore);
             logWarningsIfNotEmpty(brageLocation, warnings, isCristinPost);
-            logErrorsIfNotEmpty(brageLocation, errors, isCristinPost);
+            if (!validatesDoisConcurrently()) {
+                logErrorsIfNotEmpty(brageLocation, errors, isCristinPost);
+            }
             return record;
         } catch (Exception e) {
             throw new DublinCoreException(SCRAPING_HAS_FAILED + e.getMessage());
@@ -482,6 +488,10 @@ public class DublinCoreScraper {
         return enableOnlineValidation;
     }
 
+    private boolean validatesDoisConcurrently() {
+        return onlineValidationIsEnabled() && doiValidation.isConcurrent();
+    }
+
     public boolean lookUpInChannelRegisterIsEnabled() {
         return shouldLookUpInChannelRegister;
     }
@@ -503,7 +513,7 @@ public class DublinCoreScraper {
     }
 
     private static String replaceLowerCaseCheckDigit(String value) {
-        return value.replaceAll(REGEX_ISSN, StringUtils.EMPTY_STRING).toUpperCase(Locale.ROOT);
+        return TextNormalizer.repairIssnCharacters(value);
     }
 
     private static boolean lastLetterIsDelimiter(String value) {
@@ -521,8 +531,12 @@ public class DublinCoreScraper {
         }
     }
 
-    private static void logErrorsIfNotEmpty(BrageLocation brageLocation, Set<ErrorDetails> error,
-                                            boolean isCristinPost) {
+    /**
+     * Errors of a record whose DOIs are validated concurrently are logged by the caller once the DOIs are validated,
+     * so that the record still gets a single error line.
+     */
+    public static void logErrorsIfNotEmpty(BrageLocation brageLocation, Set<ErrorDetails> error,
+                                           boolean isCristinPost) {
         if (!error.isEmpty()) {
             if (isCristinPost) {
                 logger.error(CRISTIN_POST + error + StringUtils.SPACE + brageLocation.getOriginInformation());
@@ -716,7 +730,8 @@ public class DublinCoreScraper {
     }
 
     private static boolean isSeriesName(String value) {
-        return StringUtils.isNotBlank(value) && !value.matches("\\d{4}\\W\\d{2}") && !value.matches("\\d+");
+        return StringUtils.isNotBlank(value) && !YEAR_AND_NUMBER_PATTERN.matcher(value).matches()
+               && !NUMBER_PATTERN.matcher(value).matches();
     }
 
     private static String extractPartOf(DublinCore dublinCore) {
@@ -876,7 +891,7 @@ public class DublinCoreScraper {
     }
 
     private Set<String> determinePrioritizedProperties(DublinCore dublinCore, String customer) {
-        return PrioritizeField.getPrioritizedFields(dublinCore, customer);
+        return PrioritizeField.getPrioritizedFields(dublinCore, customer, customersIssuingDegrees);
     }
 
     public static List<Project> extractProjects(DublinCore dublinCore, FundingSources fundingSources) {
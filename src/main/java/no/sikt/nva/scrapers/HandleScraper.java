@@ -5,6 +5,10 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import no.sikt.nva.brage.migration.aws.ColoredLogger;
 import no.sikt.nva.brage.migration.common.model.BrageLocation;
 import no.sikt.nva.exceptions.HandleException;
@@ -18,7 +22,6 @@ public class HandleScraper {
     public static final String ERROR_MESSAGE_NO_HANDLE_IN_DUBLIN_CORE = "No handle present in dublin_core.xml";
     public static final String COULD_NOT_FIND_HANDLE_IN_HANDLE_FILE_NOR_DUBLIN_CORE =
         "NO HANDLE";
-    public static final String COULD_NOT_READ_HANDLE_FILE_EXCEPTION_MESSAGE = "Could not read handle file";
     public static final URI HANDLE_DOMAIN = UriWrapper.fromHost("https://hdl.handle.net").getUri();
     private static final ColoredLogger logger = ColoredLogger.create(HandleScraper.class);
     private static final String ERROR_MESSAGE_HANDLE_IN_DUBLIN_CORE_IS_MALFORMED = "Handle in dublin_core.xml is "
@@ -40,36 +43,51 @@ public class HandleScraper {
     public URI scrapeHandle(final Path handlefile, final DublinCore dublinCore, BrageLocation brageLocation)
         throws HandleException {
         try {
-            return extractHandleFromBundle(handlefile, dublinCore, brageLocation);
-        } catch (Exception e) {
+            return findHandleInBundle(handlefile, () -> dublinCore, DcValue::scrapeValueAndSetToScraped);
+        } catch (HandleException e) {
             logger.error(
                 "Could not extract handle for brage location " + brageLocation.getBrageBundlePath().toString());
             throw new HandleException(COULD_NOT_FIND_HANDLE_IN_HANDLE_FILE_NOR_DUBLIN_CORE, e);
         }
     }
 
-    private URI extractHandleFromHandlePath(final Path handlePath, BrageLocation brageLocation) throws HandleException {
-        String handleSubPath;
+    /**
+     * Finds the same handle as {@link #scrapeHandle} without logging and without marking the handle in dublinCore as
+     * scraped, so that handles can be read ahead of processing the bundles. dublinCore is only read when the handle
+     * file has no valid handle.
+     *
+     * @param handlefile path to location that might contain the handle file.
+     * @param dublinCore dublinCore potentially containing handle.
+     * @return handle URI, empty when the bundle has no valid handle
+     */
+    public Optional<URI> findHandle(final Path handlefile, final Supplier<DublinCore> dublinCore) {
         try {
-            handleSubPath = Files.readString(handlePath);
-        } catch (IOException e) {
-            logger.error(COULD_NOT_READ_HANDLE_FILE_EXCEPTION_MESSAGE + brageLocation.getBrageBundlePath());
-            throw new HandleException(COULD_NOT_READ_HANDLE_FILE_EXCEPTION_MESSAGE, e);
+            return Optional.of(findHandleInBundle(handlefile, dublinCore, DcValue::getValue));
+        } catch (HandleException e) {
+            return Optional.empty();
         }
+    }
+
+    private URI findHandleInBundle(final Path handleFile, final Supplier<DublinCore> dublinCore,
+                                   final Function<DcValue, String> handleValue) throws HandleException {
+        try {
+            return extractHandleFromHandlePath(handleFile);
+        } catch (IOException | HandleException e) {
+            return verifiedHandleURI(handleValue.apply(extractDcValueContainingHandleFromDublinCore(dublinCore.get())));
+        }
+    }
+
+    private URI extractHandleFromHandlePath(final Path handlePath) throws IOException, HandleException {
+        var handleSubPath = Files.readString(handlePath);
         var handle = UriWrapper.fromUri(HANDLE_DOMAIN).addChild(handleSubPath.trim()).getUri();
         verifyHandle(handle);
         return handle;
     }
 
-    private URI extractHandleFromDublinCore(final DublinCore dublinCore) throws HandleException {
-        var dcValueHandle = extractDcValueContainingHandleFromDublinCore(dublinCore);
-        var handleString = dcValueHandle.scrapeValueAndSetToScraped();
-        return verifiedHandleURI(handleString);
-    }
-
     private DcValue extractDcValueContainingHandleFromDublinCore(final DublinCore dublinCore)
         throws HandleException {
-        return dublinCore.getDcValues()
+        return Optional.ofNullable(dublinCore.getDcValues())
+                   .orElse(List.of())
                    .stream()
                    .filter(DcValue::isHandle)
                    .findFirst()
@@ -77,13 +95,17 @@ public class HandleScraper {
     }
 
     private URI verifiedHandleURI(final String handleString) throws HandleException {
-        var handle = UriWrapper.fromUri(handleString).getUri();
-        verifyHandle(handle);
-        return handle;
+        try {
+            var handle = UriWrapper.fromUri(handleString).getUri();
+            verifyHandle(handle);
+            return handle;
+        } catch (IllegalArgumentException e) {
+            throw new HandleException(String.format(ERROR_MESSAGE_HANDLE_IN_DUBLIN_CORE_IS_MALFORMED, handleString), e);
+        }
     }
 
     private void verifyHandle(final URI handle) throws HandleException {
-        if (!handle.getAuthority().equals(HANDLE_DOMAIN.getAuthority())
+        if (!HANDLE_DOMAIN.getAuthority().equals(handle.getAuthority())
             || StringUtils.isBlank(handle.getPath())
             || missingPrefixOrPostFix(handle.getPath())) {
 
@@ -98,12 +120,4 @@ public class HandleScraper {
                                      .count();
         return pathElements < 2;
     }
-
-    private URI extractHandleFromBundle(final Path handleFile, final DublinCore dublinCore, BrageLocation brageLocation) throws HandleException {
-        try {
-            return extractHandleFromHandlePath(handleFile, brageLocation);
-        } catch (HandleException handleException) {
-            return extractHandleFromDublinCore(dublinCore);
-        }
-    }
 }
@@ -0,0 +1,139 @@
+package no.sikt.nva.scrapers;
+
+import static java.util.Objects.isNull;
+import static no.sikt.nva.scrapers.AlreadyImportedHandlesScraper.HANDLE_DOMAIN;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Handles from previous imports, loaded once per run and shared by all brage processors. Handles of the form
+ * https://hdl.handle.net/prefix/suffix with numeric prefix and suffix, which is nearly all of them, are packed into a
+ * single long in an open addressing hash set. Other handles are kept as strings. Lookups are constant time.
+ *
+ * <p>The index is filled before processing starts and only read afterwards, it is not safe to add handles while
+ * other threads are looking them up.
+ */
+public final class ImportedHandleIndex {
+
+    private static final String HANDLE_PREFIX = HANDLE_DOMAIN + "/";
+    private static final char HANDLE_SEPARATOR = '/';
+    private static final long MAX_PREFIX = Integer.MAX_VALUE;
+    private static final long MAX_SUFFIX = 0xFFFF_FFFFL;
+    private static final int INITIAL_CAPACITY = 1024;
+    private final Set<String> otherHandles;
+    private long[] packedHandles;
+    private boolean containsZero;
+    private int numberOfPackedHandles;
+
+    public ImportedHandleIndex() {
+        this.otherHandles = new HashSet<>();
+        this.packedHandles = new long[INITIAL_CAPACITY];
+    }
+
+    public void add(String handle) {
+        var packed = pack(handle);
+        if (packed < 0) {
+            otherHandles.add(handle);
+        } else {
+            addPacked(packed);
+        }
+    }
+
+    public boolean contains(String handle) {
+        var packed = pack(handle);
+        return packed < 0 ? otherHandles.contains(handle) : containsPacked(packed);
+    }
+
+    public int size() {
+        return numberOfPackedHandles + (containsZero ? 1 : 0) + otherHandles.size();
+    }
+
+    /**
+     * Packs prefix and suffix into the upper and lower 32 bits, the sign bit is never set. Returns -1 for handles
+     * that cannot be packed without losing information, such as non-numeric parts, leading zeros or parts that are
+     * too large.
+     */
+    private static long pack(String handle) {
+        if (isNull(handle) || !handle.startsWith(HANDLE_PREFIX)) {
+            return -1;
+        }
+        var separator = handle.indexOf(HANDLE_SEPARATOR, HANDLE_PREFIX.length());
+        if (separator < 0) {
+            return -1;
+        }
+        var prefix = parsePart(handle, HANDLE_PREFIX.length(), separator, MAX_PREFIX);
+        var suffix = parsePart(handle, separator + 1, handle.length(), MAX_SUFFIX);
+        return prefix < 0 || suffix < 0 ? -1 : prefix << 32 | suffix;
+    }
+
+    private static long parsePart(String handle, int start, int end, long maxValue) {
+        var length = end - start;
+        if (length == 0 || length > 10 || length > 1 && handle.charAt(start) == '0') {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            var digit = handle.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value > maxValue ? -1 : value;
+    }
+
+    private void addPacked(long packed) {
+        if (packed == 0) {
+            containsZero = true;
+            return;
+        }
+        if ((numberOfPackedHandles + 1) * 2 > packedHandles.length) {
+            resize();
+        }
+        if (insert(packedHandles, packed)) {
+            numberOfPackedHandles++;
+        }
+    }
+
+    private boolean containsPacked(long packed) {
+        if (packed == 0) {
+            return containsZero;
+        }
+        var mask = packedHandles.length - 1;
+        var slot = hash(packed) & mask;
+        while (packedHandles[slot] != 0) {
+            if (packedHandles[slot] == packed) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private void resize() {
+        var resized = new long[packedHandles.length * 2];
+        Arrays.stream(packedHandles)
+            .filter(packed -> packed != 0)
+            .forEach(packed -> insert(resized, packed));
+        packedHandles = resized;
+    }
+
+    private static boolean insert(long[] table, long packed) {
+        var mask = table.length - 1;
+        var slot = hash(packed) & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == packed) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = packed;
+        return true;
+    }
+
+    private static int hash(long packed) {
+        var mixed = packed * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (mixed ^ mixed >>> 32);
+    }
+}
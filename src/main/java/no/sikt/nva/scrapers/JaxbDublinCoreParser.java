@@ -0,0 +1,47 @@
+package no.sikt.nva.scrapers;
+
+import static java.util.Objects.nonNull;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import no.sikt.nva.exceptions.DublinCoreException;
+import no.sikt.nva.model.dublincore.DublinCore;
+
+/**
+ * Unmarshals dublin_core.xml with one JAXB context for the whole run. The context is thread-safe, unmarshallers are
+ * not, so they are borrowed from a pool and handed back after use.
+ */
+public final class JaxbDublinCoreParser {
+
+    private static final String UNABLE_TO_CREATE_JAXB_CONTEXT = "Unable to create JAXB context for dublin_core.xml";
+    private static final JAXBContext CONTEXT = createContext();
+    private static final Queue<Unmarshaller> UNMARSHALLERS = new ConcurrentLinkedQueue<>();
+
+    private JaxbDublinCoreParser() {
+    }
+
+    public static DublinCore parse(InputStream inputStream) throws JAXBException {
+        var unmarshaller = borrowUnmarshaller();
+        try {
+            return (DublinCore) unmarshaller.unmarshal(inputStream);
+        } finally {
+            UNMARSHALLERS.offer(unmarshaller);
+        }
+    }
+
+    private static Unmarshaller borrowUnmarshaller() throws JAXBException {
+        var unmarshaller = UNMARSHALLERS.poll();
+        return nonNull(unmarshaller) ? unmarshaller : CONTEXT.createUnmarshaller();
+    }
+
+    private static JAXBContext createContext() {
+        try {
+            return JAXBContext.newInstance(DublinCore.class);
+        } catch (JAXBException e) {
+            throw new DublinCoreException(UNABLE_TO_CREATE_JAXB_CONTEXT, e);
+        }
+    }
+}
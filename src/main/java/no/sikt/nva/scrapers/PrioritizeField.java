@@ -1,9 +1,11 @@
 package no.sikt.nva.scrapers;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import no.sikt.nva.brage.migration.common.model.record.PrioritizedProperties;
 import no.sikt.nva.channelregister.ChannelRegister;
+import no.sikt.nva.channelregister.CustomerIssuingDegrees;
 import no.sikt.nva.model.dublincore.DublinCore;
 import nva.commons.core.JacocoGenerated;
 
@@ -26,9 +28,10 @@ public final class PrioritizeField {
 
     }
 
-    public static Set<String> getPrioritizedFields(DublinCore dublinCore, String customer){
+    public static Set<String> getPrioritizedFields(DublinCore dublinCore, String customer,
+                                                   Map<String, CustomerIssuingDegrees> customersIssuingDegrees){
         var prioritizedProperties = new HashSet<String>();
-        if (ChannelRegister.isDegreeFromInstitutionIssuingDegrees(dublinCore, customer)){
+        if (ChannelRegister.isDegreeFromInstitutionIssuingDegrees(dublinCore, customer, customersIssuingDegrees)){
             prioritizedProperties.addAll(DEGREE_PRIORITIZED_FIELDS);
         }
         return prioritizedProperties;
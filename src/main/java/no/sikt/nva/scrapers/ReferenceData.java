@@ -0,0 +1,93 @@
+package no.sikt.nva.scrapers;
+
+import static java.util.Objects.nonNull;
+import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import no.sikt.nva.brage.migration.common.model.record.FundingSources;
+import no.sikt.nva.channelregister.ChannelRegister;
+import no.sikt.nva.channelregister.CustomerIssuingDegrees;
+import no.sikt.nva.scrapers.embargo.CustomerAddressResolver;
+import no.unit.nva.commons.json.JsonUtils;
+import nva.commons.core.ioutils.IoUtils;
+
+/**
+ * Reference data read from the classpath, loaded once per run and shared by every processor and scraper. Nothing in
+ * here is changed after loading, so it can be read from several threads.
+ */
+public final class ReferenceData {
+
+    public static final String FUNDING_SOURCES_FILE_NAME = "funding_sources.json";
+    public static final String CUSTOMERS_ISSUING_DEGREES = "customer_pids_for_customers_issuing_degrees.json";
+    private final FundingSources fundingSources;
+    private final CustomerAddressResolver customerAddresses;
+    private final ChannelRegister channelRegister;
+    private final Map<String, CustomerIssuingDegrees> customersIssuingDegrees;
+
+    private ReferenceData(FundingSources fundingSources, CustomerAddressResolver customerAddresses,
+                          ChannelRegister channelRegister,
+                          Map<String, CustomerIssuingDegrees> customersIssuingDegrees) {
+        this.fundingSources = fundingSources;
+        this.customerAddresses = customerAddresses;
+        this.channelRegister = channelRegister;
+        this.customersIssuingDegrees = customersIssuingDegrees;
+    }
+
+    /**
+     * Loads the reference data. The channel register is loaded up front only when records are looked up in it, and
+     * gets a resolution cache of its own for this run.
+     */
+    public static ReferenceData load(boolean shouldLookUpInChannelRegister) {
+        var channelRegister = shouldLookUpInChannelRegister
+                                  ? ChannelRegister.getRegister().withNewResolutionCache()
+                                  : null;
+        return new ReferenceData(readFundingSources(),
+                                 new CustomerAddressResolver(),
+                                 channelRegister,
+                                 nonNull(channelRegister)
+                                     ? channelRegister.getCustomersIssuingDegrees()
+                                     : readCustomersIssuingDegrees());
+    }
+
+    /**
+     * Reads the customers issuing degrees, by brage customer, from the classpath.
+     */
+    public static Map<String, CustomerIssuingDegrees> readCustomersIssuingDegrees() {
+        var json = IoUtils.stringFromResources(Path.of(CUSTOMERS_ISSUING_DEGREES));
+        return attempt(() -> JsonUtils.dtoObjectMapper.readValue(json,
+                                                                 new TypeReference<Set<CustomerIssuingDegrees>>() {}))
+                   .orElseThrow()
+                   .stream()
+                   .collect(Collectors.toMap(CustomerIssuingDegrees::getBrage, Function.identity(),
+                                             (first, second) -> first));
+    }
+
+    public FundingSources getFundingSources() {
+        return fundingSources;
+    }
+
+    public CustomerAddressResolver getCustomerAddresses() {
+        return customerAddresses;
+    }
+
+    public Map<String, CustomerIssuingDegrees> getCustomersIssuingDegrees() {
+        return customersIssuingDegrees;
+    }
+
+    /**
+     * Returns the channel register, it is loaded on first use when it was not loaded up front.
+     */
+    public ChannelRegister getChannelRegister() {
+        return nonNull(channelRegister) ? channelRegister : ChannelRegister.getRegister();
+    }
+
+    private static FundingSources readFundingSources() {
+        var value = IoUtils.stringFromResources(Path.of(FUNDING_SOURCES_FILE_NAME));
+        return attempt(() -> JsonUtils.dtoObjectMapper.readValue(value, FundingSources.class))
+                   .orElseThrow();
+    }
+}
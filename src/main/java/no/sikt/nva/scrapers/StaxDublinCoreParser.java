@@ -0,0 +1,116 @@
+package no.sikt.nva.scrapers;
+
+import static java.util.Objects.isNull;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import no.sikt.nva.model.dublincore.DcValue;
+import no.sikt.nva.model.dublincore.DublinCore;
+import no.sikt.nva.model.dublincore.Element;
+import no.sikt.nva.model.dublincore.Qualifier;
+
+/**
+ * Streaming parser for the flat dublin_core.xml format, a dublin_core root with dcvalue children. Gives the same
+ * result as unmarshalling with JAXB: unknown elements and qualifiers become null, other elements are skipped, the
+ * value is the text of the dcvalue as is and the list of dcvalues is null when there are none.
+ */
+public final class StaxDublinCoreParser {
+
+    private static final String DUBLIN_CORE = "dublin_core";
+    private static final String DC_VALUE = "dcvalue";
+    private static final String ELEMENT = "element";
+    private static final String QUALIFIER = "qualifier";
+    private static final String UNEXPECTED_ROOT_ELEMENT = "Unexpected root element: ";
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private StaxDublinCoreParser() {
+    }
+
+    public static DublinCore parse(InputStream inputStream) throws XMLStreamException {
+        var reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            reader.nextTag();
+            if (!DUBLIN_CORE.equals(reader.getLocalName())) {
+                throw new XMLStreamException(UNEXPECTED_ROOT_ELEMENT + reader.getLocalName(), reader.getLocation());
+            }
+            return new DublinCore(readDcValues(reader));
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static List<DcValue> readDcValues(XMLStreamReader reader) throws XMLStreamException {
+        List<DcValue> dcValues = null;
+        var event = reader.next();
+        while (event != XMLStreamConstants.END_ELEMENT) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (DC_VALUE.equals(reader.getLocalName())) {
+                    dcValues = nonNullList(dcValues);
+                    dcValues.add(readDcValue(reader));
+                } else {
+                    skipElement(reader);
+                }
+            }
+            event = reader.next();
+        }
+        return dcValues;
+    }
+
+    private static List<DcValue> nonNullList(List<DcValue> dcValues) {
+        return isNull(dcValues) ? new ArrayList<>() : dcValues;
+    }
+
+    private static DcValue readDcValue(XMLStreamReader reader) throws XMLStreamException {
+        var element = Element.lookup(reader.getAttributeValue(null, ELEMENT));
+        var qualifier = Qualifier.lookup(reader.getAttributeValue(null, QUALIFIER));
+        return new DcValue(element, qualifier, readText(reader));
+    }
+
+    /**
+     * Collects the text directly inside the current element, text of nested elements is ignored.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        var text = new StringBuilder();
+        var depth = 1;
+        while (depth > 0) {
+            var event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (depth == 1 && isText(event)) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    private static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS
+               || event == XMLStreamConstants.CDATA
+               || event == XMLStreamConstants.SPACE;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        var depth = 1;
+        while (depth > 0) {
+            var event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        var factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
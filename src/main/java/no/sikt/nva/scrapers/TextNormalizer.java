@@ -0,0 +1,191 @@
+package no.sikt.nva.scrapers;
+
+/**
+ * Cleanup of identifiers and other dublin core values in a single pass over the characters, giving the same result
+ * as the regular expressions used for it before, but without compiling a pattern for every value. A value with
+ * nothing to remove is returned as it is, without copying it.
+ *
+ * <p>Whitespace is what {@code \s} matches: space, tab, line feed, vertical tab, form feed and carriage return.
+ * Hyphenation is what {@code DublinCoreValidator.DEHYPHENATION_REGEX} matches: the hyphen-minus, the hyphen, the soft
+ * hyphen, the middle dot and the character reference {@code &#x20;}.
+ */
+public final class TextNormalizer {
+
+    private static final String ENCODED_SPACE = "&#x20;";
+    private static final char HYPHEN = '-';
+    private static final char UNICODE_HYPHEN = '\u2010';
+    private static final char MIDDLE_DOT = '\u00B7';
+    private static final char SOFT_HYPHEN = '\u00AD';
+    private static final char VERTICAL_TAB = '\u000B';
+    private static final char BACKSPACE = '\b';
+    private static final char ZERO_WIDTH_SPACE = '\u200B';
+
+    private TextNormalizer() {
+    }
+
+    public static String removeWhitespace(String value) {
+        return remove(value, Removal.WHITESPACE);
+    }
+
+    public static String removeHyphenation(String value) {
+        return remove(value, Removal.HYPHENATION);
+    }
+
+    /**
+     * Removes hyphenation and then everything that is not a digit.
+     */
+    public static String repairIsbn(String value) {
+        return remove(value, Removal.ALL_BUT_DIGITS);
+    }
+
+    /**
+     * Removes hyphenation and whitespace.
+     */
+    public static String repairIsmn(String value) {
+        return remove(value, Removal.HYPHENATION_AND_WHITESPACE);
+    }
+
+    /**
+     * Keeps digits, hyphens and the check digit X only, with the check digit in upper case.
+     */
+    public static String repairIssnCharacters(String value) {
+        return remove(value, Removal.ALL_BUT_ISSN_CHARACTERS);
+    }
+
+    /**
+     * Removes line feeds, backspaces, zero width spaces and tabs.
+     */
+    public static String removeLineBreaks(String value) {
+        return remove(value, Removal.LINE_BREAKS);
+    }
+
+    /**
+     * Removes line feeds, backspaces, zero width spaces, tabs and double quotes.
+     */
+    public static String removeLineBreaksAndQuotes(String value) {
+        return remove(value, Removal.LINE_BREAKS_AND_QUOTES);
+    }
+
+    public static String removeBracketsAndDots(String value) {
+        return remove(value, Removal.BRACKETS_AND_DOTS);
+    }
+
+    private static String remove(String value, Removal removal) {
+        if (value == null) {
+            return null;
+        }
+        var length = value.length();
+        var index = 0;
+        while (index < length && keeps(value, index, removal)) {
+            index++;
+        }
+        if (index == length) {
+            return value;
+        }
+        var result = new StringBuilder(length).append(value, 0, index);
+        while (index < length) {
+            if (removal.removesEncodedSpace && value.startsWith(ENCODED_SPACE, index)) {
+                index += ENCODED_SPACE.length();
+                continue;
+            }
+            var character = value.charAt(index);
+            if (!removal.removes(character)) {
+                result.append(removal.upperCasesCheckDigit && character == 'x' ? 'X' : character);
+            }
+            index++;
+        }
+        return result.toString();
+    }
+
+    private static boolean keeps(String value, int index, Removal removal) {
+        var character = value.charAt(index);
+        return !removal.removes(character)
+               && !(removal.upperCasesCheckDigit && character == 'x')
+               && !(removal.removesEncodedSpace && value.startsWith(ENCODED_SPACE, index));
+    }
+
+    private static boolean isWhitespace(char character) {
+        return character == ' '
+               || character == '\t'
+               || character == '\n'
+               || character == VERTICAL_TAB
+               || character == '\f'
+               || character == '\r';
+    }
+
+    private static boolean isHyphenation(char character) {
+        return character == HYPHEN
+               || character == UNICODE_HYPHEN
+               || character == MIDDLE_DOT
+               || character == SOFT_HYPHEN;
+    }
+
+    private static boolean isLineBreak(char character) {
+        return character == '\n' || character == BACKSPACE || character == ZERO_WIDTH_SPACE || character == '\t';
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private enum Removal {
+        WHITESPACE(false, false) {
+            @Override
+            boolean removes(char character) {
+                return isWhitespace(character);
+            }
+        },
+        HYPHENATION(true, false) {
+            @Override
+            boolean removes(char character) {
+                return isHyphenation(character);
+            }
+        },
+        HYPHENATION_AND_WHITESPACE(true, false) {
+            @Override
+            boolean removes(char character) {
+                return isHyphenation(character) || isWhitespace(character);
+            }
+        },
+        ALL_BUT_DIGITS(true, false) {
+            @Override
+            boolean removes(char character) {
+                return !isDigit(character);
+            }
+        },
+        ALL_BUT_ISSN_CHARACTERS(false, true) {
+            @Override
+            boolean removes(char character) {
+                return !isDigit(character) && character != HYPHEN && character != 'x' && character != 'X';
+            }
+        },
+        LINE_BREAKS(false, false) {
+            @Override
+            boolean removes(char character) {
+                return isLineBreak(character);
+            }
+        },
+        LINE_BREAKS_AND_QUOTES(false, false) {
+            @Override
+            boolean removes(char character) {
+                return isLineBreak(character) || character == '"';
+            }
+        },
+        BRACKETS_AND_DOTS(false, false) {
+            @Override
+            boolean removes(char character) {
+                return character == '.' || character == '[' || character == ']';
+            }
+        };
+
+        private final boolean removesEncodedSpace;
+        private final boolean upperCasesCheckDigit;
+
+        Removal(boolean removesEncodedSpace, boolean upperCasesCheckDigit) {
+            this.removesEncodedSpace = removesEncodedSpace;
+            this.upperCasesCheckDigit = upperCasesCheckDigit;
+        }
+
+        abstract boolean removes(char character);
+    }
+}
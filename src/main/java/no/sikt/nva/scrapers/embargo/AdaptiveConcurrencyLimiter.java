@@ -0,0 +1,145 @@
+package no.sikt.nva.scrapers.embargo;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the requests in flight to a single host, adapting the limit to how the host responds (AIMD).
+ *
+ * <p>Every fast successful response raises the limit by one request per limit's worth of responses, up to the
+ * maximum. A response telling us to slow down (429, 5xx) or a failed request halves it, never below one request.
+ * A host asking to wait, through Retry-After, gets no new requests until then. After
+ * {@link #FAILURES_OPENING_CIRCUIT} failed requests in a row the host is considered down, and requests wait for
+ * {@link #OPEN_CIRCUIT_MILLIS} before they are sent. Requests are then let through again, by then at most
+ * {@link #MIN_LIMIT} at a time, the first success closes the circuit and another failure opens it right away. Requests
+ * are never refused, as a file that was not checked could be migrated as open while it is embargoed.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    static final int MIN_LIMIT = 1;
+    static final int INITIAL_LIMIT = 4;
+    static final long SLOW_RESPONSE_MILLIS = 2000;
+    static final int FAILURES_OPENING_CIRCUIT = 5;
+    static final long OPEN_CIRCUIT_MILLIS = 60_000;
+    private static final long CIRCUIT_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double DECREASE_FACTOR = 0.5;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition capacityAvailable = lock.newCondition();
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    private double limit;
+    private int inFlight;
+    private long pausedUntilNanos;
+    private int consecutiveFailures;
+    private long circuitOpenUntilNanos;
+    private boolean circuitOpen;
+
+    AdaptiveConcurrencyLimiter(int maxLimit) {
+        this(maxLimit, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int maxLimit, LongSupplier nanoClock) {
+        this.maxLimit = Math.max(MIN_LIMIT, maxLimit);
+        this.nanoClock = nanoClock;
+        this.limit = Math.min(INITIAL_LIMIT, this.maxLimit);
+    }
+
+    /**
+     * Waits until the host may get another request, also while the circuit is open.
+     *
+     * @throws InterruptedException when interrupted while waiting, the request should then not be sent
+     */
+    void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                var openFor = circuitOpen ? circuitOpenUntilNanos - nanoClock.getAsLong() : 0;
+                var pausedFor = pausedUntilNanos - nanoClock.getAsLong();
+                if (openFor > 0) {
+                    capacityAvailable.awaitNanos(Math.min(openFor, CIRCUIT_CHECK_NANOS));
+                } else if (pausedFor > 0) {
+                    capacityAvailable.awaitNanos(pausedFor);
+                } else if (inFlight < (int) limit) {
+                    inFlight++;
+                    return;
+                } else {
+                    capacityAvailable.await();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            capacityAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess(long latencyMillis) {
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+            circuitOpen = false;
+            if (latencyMillis < SLOW_RESPONSE_MILLIS) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+                capacityAvailable.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The host answered, but asks us to slow down.
+     */
+    void onOverload(long retryAfterMillis) {
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+            decrease();
+            pausedUntilNanos = Math.max(pausedUntilNanos,
+                                        nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The host did not answer properly, by a timeout, a failed connection or a server error.
+     */
+    void onFailure() {
+        lock.lock();
+        try {
+            decrease();
+            consecutiveFailures++;
+            if (consecutiveFailures >= FAILURES_OPENING_CIRCUIT) {
+                circuitOpen = true;
+                circuitOpenUntilNanos = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(OPEN_CIRCUIT_MILLIS);
+                capacityAvailable.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease() {
+        limit = Math.max(MIN_LIMIT, limit * DECREASE_FACTOR);
+    }
+}
@@ -4,6 +4,7 @@ import static java.util.Objects.isNull;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 import no.sikt.nva.brage.migration.common.model.record.Record;
 import no.sikt.nva.brage.migration.common.model.record.content.ContentFile;
@@ -36,10 +37,42 @@ public class EmbargoParser {
         if (containsHandle(embargoes, handle)) {
             embargoContentFiles(embargoes.get(handle), record);
         }
-        checkOnlineForMissingEmbargos(record, onlineEmbargoChecker);
+        if (onlineEmbargoChecker.getMaxRequestsInFlight() == OnlineEmbargoChecker.SYNCHRONOUS) {
+            checkOnlineForMissingEmbargos(record, onlineEmbargoChecker);
+        }
         return record;
     }
 
+    /**
+     * Checks the files of all records of a collection at once when the checker checks files concurrently, instead of
+     * file by file while each bundle is processed. Returns when every file is checked, with the locked files
+     * embargoed, so that the records can be written.
+     */
+    public static void checkOnlineForMissingEmbargosConcurrently(List<Record> records,
+                                                                 OnlineEmbargoChecker onlineEmbargoChecker) {
+        if (onlineEmbargoChecker.getMaxRequestsInFlight() == OnlineEmbargoChecker.SYNCHRONOUS) {
+            return;
+        }
+        var checks = records.stream()
+                         .flatMap(record -> record.getContentBundle().getContentFiles().stream()
+                                                .filter(ContentFile::shouldBeCheckedForEmbargo)
+                                                .filter(contentFile -> isNull(contentFile.getEmbargoDate()))
+                                                .map(contentFile -> checkEmbargoOnlineAsync(contentFile, record,
+                                                                                            onlineEmbargoChecker)))
+                         .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(checks).join();
+    }
+
+    private static CompletableFuture<Void> checkEmbargoOnlineAsync(ContentFile contentFile, Record record,
+                                                                   OnlineEmbargoChecker onlineEmbargoChecker) {
+        return onlineEmbargoChecker.fileIsLockedOnlineAsync(record.getId().toString(), contentFile.getFilename())
+                   .thenAccept(isLockedOnline -> {
+                       if (isLockedOnline) {
+                           contentFile.setEmbargoDate(PERMANENTLY_LOCKED);
+                       }
+                   });
+    }
+
     private static void checkOnlineForMissingEmbargos(Record record, OnlineEmbargoChecker onlineEmbargoChecker) {
         record.getContentBundle().getContentFiles().stream()
             .filter(ContentFile::shouldBeCheckedForEmbargo)
@@ -0,0 +1,111 @@
+package no.sikt.nva.scrapers.embargo;
+
+import static java.util.Objects.nonNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Report of the files found locked by the online embargo check, written through a single buffered writer shared by
+ * all threads. Every line is written while holding the lock of the report, so lines of concurrent checks never
+ * interleave.
+ *
+ * <p>The file is opened on the first line and kept open until the report is closed. Lines are flushed at the given
+ * interval, so the report can be followed during long runs, and when the report is closed or the JVM shuts down.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+final class LockedFilesReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(LockedFilesReport.class);
+    private static final String LINE_FORMAT = "%s , %s\n";
+    private static final String SHUTTING_DOWN_MESSAGE = "Closing locked files report while the JVM shuts down";
+    private final Object lock = new Object();
+    private final Path file;
+    private final Duration flushInterval;
+    private BufferedWriter writer;
+    private ScheduledExecutorService flusher;
+    private Thread shutdownHook;
+    private boolean open;
+
+    LockedFilesReport(Path file, Duration flushInterval) {
+        this.file = file;
+        this.flushInterval = flushInterval;
+    }
+
+    void append(String handle, String filename) {
+        synchronized (lock) {
+            try {
+                if (!open) {
+                    open();
+                }
+                writer.write(String.format(LINE_FORMAT, handle, filename));
+            } catch (IOException e) {
+                logger.error(e.getMessage());
+            }
+        }
+    }
+
+    void flush() {
+        synchronized (lock) {
+            if (open) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    logger.error(e.getMessage());
+                }
+            }
+        }
+    }
+
+    void close() {
+        synchronized (lock) {
+            if (!open) {
+                return;
+            }
+            open = false;
+            stopFlushing();
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.error(e.getMessage());
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                                         StandardOpenOption.APPEND);
+        open = true;
+        shutdownHook = new Thread(this::flush);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        if (!flushInterval.isZero() && !flushInterval.isNegative()) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "locked-files-report-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                                           TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void stopFlushing() {
+        if (nonNull(flusher)) {
+            flusher.shutdownNow();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            logger.debug(SHUTTING_DOWN_MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package no.sikt.nva.scrapers.embargo;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import nva.commons.core.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Results of online embargo checks kept across runs, so that reruns of a customer only go online for files not
+ * checked before or checked longer ago than the time to live.
+ *
+ * <p>Only answers about the file itself are cached, checks that failed are done again by the next run. Every line
+ * of the file holds when the file was checked, the status code, whether it was locked, the handle and the filename,
+ * separated by tabs. The file is rewritten as a whole when persisted, expired entries are then left out.
+ */
+public class OnlineEmbargoCache {
+
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofDays(30);
+    public static final String INVALID_CACHE_LINE_MESSAGE = "Ignoring invalid line in online embargo cache: {}";
+    private static final Logger logger = LoggerFactory.getLogger(OnlineEmbargoCache.class);
+    private static final String SEPARATOR = "\t";
+    private static final int NUMBER_OF_FIELDS = 5;
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private final Map<String, Entry> entries;
+    private final Path file;
+    private final Duration timeToLive;
+    private final boolean refresh;
+    private final Clock clock;
+
+    OnlineEmbargoCache(Path file, Duration timeToLive, boolean refresh, Clock clock) {
+        this.entries = new ConcurrentHashMap<>();
+        this.file = file;
+        this.timeToLive = timeToLive;
+        this.refresh = refresh;
+        this.clock = clock;
+    }
+
+    public static OnlineEmbargoCache disabled() {
+        return new OnlineEmbargoCache(null, DEFAULT_TIME_TO_LIVE, false, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache reading the entries of previous runs from the file, if it exists.
+     *
+     * @param refresh when true, cached entries are not used and every file is checked online again, the new results
+     *                still replace the cached ones
+     */
+    public static OnlineEmbargoCache persistent(Path file, Duration timeToLive, boolean refresh) {
+        return persistent(file, timeToLive, refresh, Clock.systemUTC());
+    }
+
+    static OnlineEmbargoCache persistent(Path file, Duration timeToLive, boolean refresh, Clock clock) {
+        var cache = new OnlineEmbargoCache(file, timeToLive, refresh, clock);
+        if (Files.exists(file)) {
+            try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                lines.filter(StringUtils::isNotBlank).forEach(cache::load);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * @return whether the file was locked when last checked, empty when it has to be checked online
+     */
+    public Optional<Boolean> isLocked(String handle, String filename) {
+        if (refresh) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entries.get(key(handle, filename)))
+                   .filter(this::isFresh)
+                   .map(Entry::isLocked);
+    }
+
+    public void put(String handle, String filename, int statusCode, boolean locked) {
+        if (nonNull(file)) {
+            entries.put(key(handle, filename), new Entry(handle, filename, statusCode, locked, clock.instant()));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the entries that have not expired to the file of the cache, does nothing for a disabled cache. The file
+     * is replaced only when completely written.
+     */
+    public void persist() {
+        if (isNull(file)) {
+            return;
+        }
+        var lines = entries.values().stream()
+                        .filter(this::isFresh)
+                        .map(Entry::toLine)
+                        .collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator()));
+        try {
+            if (nonNull(file.getParent())) {
+                Files.createDirectories(file.getParent());
+            }
+            var temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_FILE_SUFFIX);
+            Files.writeString(temporaryFile, lines, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void load(String line) {
+        var fields = line.split(SEPARATOR, NUMBER_OF_FIELDS);
+        try {
+            var entry = new Entry(fields[3], fields[4], Integer.parseInt(fields[1]),
+                                  Boolean.parseBoolean(fields[2]), Instant.parse(fields[0]));
+            if (isFresh(entry)) {
+                entries.put(key(entry.handle, entry.filename), entry);
+            }
+        } catch (RuntimeException e) {
+            logger.warn(INVALID_CACHE_LINE_MESSAGE, line);
+        }
+    }
+
+    private boolean isFresh(Entry entry) {
+        return entry.checkedAt.plus(timeToLive).isAfter(clock.instant());
+    }
+
+    private static String key(String handle, String filename) {
+        return handle + SEPARATOR + filename;
+    }
+
+    private static final class Entry {
+
+        private final String handle;
+        private final String filename;
+        private final int statusCode;
+        private final boolean locked;
+        private final Instant checkedAt;
+
+        private Entry(String handle, String filename, int statusCode, boolean locked, Instant checkedAt) {
+            this.handle = handle;
+            this.filename = filename;
+            this.statusCode = statusCode;
+            this.locked = locked;
+            this.checkedAt = checkedAt;
+        }
+
+        private boolean isLocked() {
+            return locked;
+        }
+
+        private String toLine() {
+            return String.join(SEPARATOR, checkedAt.toString(), String.valueOf(statusCode), String.valueOf(locked),
+                               handle, filename);
+        }
+    }
+}
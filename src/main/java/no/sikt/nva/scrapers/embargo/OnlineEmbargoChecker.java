@@ -1,10 +1,50 @@
 package no.sikt.nva.scrapers.embargo;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 public interface OnlineEmbargoChecker {
 
+    int SYNCHRONOUS = 0;
+
     boolean fileIsLockedOnline(String handle, String filename);
 
+    /**
+     * Checks the file without waiting for the answer, checkers not supporting this check synchronously.
+     */
+    default CompletableFuture<Boolean> fileIsLockedOnlineAsync(String handle, String filename) {
+        return CompletableFuture.completedFuture(fileIsLockedOnline(handle, filename));
+    }
+
+    /**
+     * @return number of online checks in flight at the same time, {@link #SYNCHRONOUS} when every file is checked
+     *     synchronously while its bundle is processed
+     */
+    default int getMaxRequestsInFlight() {
+        return SYNCHRONOUS;
+    }
+
+    void setMaxRequestsInFlight(int maxRequestsInFlight);
+
     void calculateCustomerAddress(String customer);
 
+    void calculateCustomerAddress(String customer, CustomerAddressResolver customerAddressResolver);
+
     void setOutputDirectory(String outputDirectory);
+
+    /**
+     * @param cache results of online checks kept across runs, files found in it are not checked online
+     */
+    void setCache(OnlineEmbargoCache cache);
+
+    /**
+     * @param reportFlushInterval how often the report of files found locked is flushed during the run, zero only
+     *                            flushes it when it is closed
+     */
+    void setReportFlushInterval(Duration reportFlushInterval);
+
+    /**
+     * Flushes and closes the report of files found locked, a file found locked afterwards opens it again.
+     */
+    void closeReport();
 }
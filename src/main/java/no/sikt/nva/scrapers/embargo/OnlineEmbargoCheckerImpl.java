@@ -1,20 +1,28 @@
 package no.sikt.nva.scrapers.embargo;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static no.sikt.nva.scrapers.embargo.CustomerAddressResolver.IGNORED_CUSTOMERS;
 import static nva.commons.core.attempt.Try.attempt;
-import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Redirect;
 import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import nva.commons.core.JacocoGenerated;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +30,6 @@ import org.slf4j.LoggerFactory;
 public class OnlineEmbargoCheckerImpl implements OnlineEmbargoChecker {
 
     private static final Logger logger = LoggerFactory.getLogger(OnlineEmbargoCheckerImpl.class);
-    private static final String WARNING_FORMATTED = "%s , %s\n";
     private static final String FILES_LOCKED_DUE_TO_ONLINE_CHECK_FAILS =
         "LockedDuringOnlineCheck.csv";
     private static final int REDIRECT = 302;
@@ -35,10 +42,27 @@ public class OnlineEmbargoCheckerImpl implements OnlineEmbargoChecker {
 
     private static final int MAX_RETRIES = 3;
     private static final int WAIT_TIME = 2000;
+    private static final String CHECK_FAILED_REPEATEDLY_MESSAGE =
+        "Online check of embargo failed repeatedly for {} with status code {}";
+    private static final String CHECK_FAILED_MESSAGE = "Online check of embargo failed for {}";
+    private static final String CHECK_INTERRUPTED_MESSAGE =
+        "Online check of embargo interrupted for {} while waiting for the host";
+    private static final int SERVER_ERROR = 500;
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final long MAX_RETRY_AFTER_MILLIS = 300_000;
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_REPORT_FLUSH_INTERVAL = Duration.ofSeconds(10);
     private final HttpClient httpClient;
 
     private String customerAddress;
     private String outputDirectory;
+    private int maxRequestsInFlight;
+    private final Map<String, AdaptiveConcurrencyLimiter> limitersByHost = new ConcurrentHashMap<>();
+    private final Object lockedFilesLock = new Object();
+    private OnlineEmbargoCache cache = OnlineEmbargoCache.disabled();
+    private Duration reportFlushInterval = DEFAULT_REPORT_FLUSH_INTERVAL;
+    private LockedFilesReport lockedFilesReport;
 
     @JacocoGenerated
     public OnlineEmbargoCheckerImpl(HttpClient httpClient) {
@@ -60,33 +84,104 @@ public class OnlineEmbargoCheckerImpl implements OnlineEmbargoChecker {
         if (IGNORED_CUSTOMERS.contains(customerAddress)) {
             return false;
         }
-        var isLockedOnline = checkIfFileIsLockedOnline(handle, filename);
-        if (isLockedOnline) {
-            writeOnlineEmbargoToFile(handle, filename);
+        var cached = cache.isLocked(handle, filename);
+        if (cached.isPresent()) {
+            return reportLocked(handle, filename, cached.get());
         }
-        return isLockedOnline;
+        var answer = checkIfFileIsLockedOnline(handle, filename);
+        return reportLocked(handle, filename, remember(handle, filename, answer));
+    }
+
+    /**
+     * Up to the number of requests the host currently allows, at most the configured number, are in flight. The
+     * calling thread waits for one of them to complete before sending another.
+     */
+    @Override
+    public CompletableFuture<Boolean> fileIsLockedOnlineAsync(String handle, String filename) {
+        if (customerAddress == null || outputDirectory == null) {
+            throw new IllegalArgumentException("CustomerAddress or outputDirectory is null");
+        }
+        if (IGNORED_CUSTOMERS.contains(customerAddress)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        var cached = cache.isLocked(handle, filename);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(reportLocked(handle, filename, cached.get()));
+        }
+        var fullUri = extractFullUri(handle, filename);
+        var request = createRequest(fullUri);
+        var limiter = limiterFor(fullUri);
+        if (!acquire(limiter, fullUri)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return foundLockedFileOnlineAsync(request, fullUri, MAX_RETRIES, limiter)
+                   .whenComplete((answer, exception) -> limiter.release())
+                   .thenApply(answer -> reportLocked(handle, filename, remember(handle, filename, answer)));
+    }
+
+    @Override
+    public int getMaxRequestsInFlight() {
+        return maxRequestsInFlight;
+    }
+
+    @Override
+    public void setMaxRequestsInFlight(int maxRequestsInFlight) {
+        this.maxRequestsInFlight = maxRequestsInFlight;
+        limitersByHost.clear();
     }
 
     @Override
     public void calculateCustomerAddress(String customer) {
-        var customerAddressResolver = new CustomerAddressResolver();
+        calculateCustomerAddress(customer, new CustomerAddressResolver());
+    }
+
+    @Override
+    public void calculateCustomerAddress(String customer, CustomerAddressResolver customerAddressResolver) {
         this.customerAddress = customerAddressResolver.getAddressForCustomer(customer);
     }
 
     @Override
     public void setOutputDirectory(String outputDirectory) {
         this.outputDirectory = outputDirectory;
+        replaceLockedFilesReport();
+    }
+
+    @Override
+    public void setReportFlushInterval(Duration reportFlushInterval) {
+        this.reportFlushInterval = reportFlushInterval;
+        replaceLockedFilesReport();
+    }
+
+    @Override
+    public void closeReport() {
+        synchronized (lockedFilesLock) {
+            if (nonNull(lockedFilesReport)) {
+                lockedFilesReport.close();
+            }
+        }
+    }
+
+    @Override
+    public void setCache(OnlineEmbargoCache cache) {
+        this.cache = cache;
     }
 
     public void writeOnlineEmbargoToFile(String handle, String filename) {
-        try (var write = Files.newBufferedWriter(Path.of(outputDirectory, FILES_LOCKED_DUE_TO_ONLINE_CHECK_FAILS),
-                                                 StandardCharsets.UTF_8,
-                                                 StandardOpenOption.CREATE,
-                                                 StandardOpenOption.APPEND)
-        ) {
-            write.write(String.format(WARNING_FORMATTED, handle, filename));
-        } catch (IOException e) {
-            logger.error(e.getMessage());
+        synchronized (lockedFilesLock) {
+            lockedFilesReport.append(handle, filename);
+        }
+    }
+
+    /**
+     * The report of the previous output directory is closed, the new one is opened when its first line is written.
+     */
+    private void replaceLockedFilesReport() {
+        synchronized (lockedFilesLock) {
+            closeReport();
+            if (nonNull(outputDirectory)) {
+                lockedFilesReport = new LockedFilesReport(
+                    Path.of(outputDirectory, FILES_LOCKED_DUE_TO_ONLINE_CHECK_FAILS), reportFlushInterval);
+            }
         }
     }
 
@@ -94,10 +189,60 @@ public class OnlineEmbargoCheckerImpl implements OnlineEmbargoChecker {
         return customerAddress;
     }
 
-    private boolean checkIfFileIsLockedOnline(String handle, String filename) {
+    private boolean reportLocked(String handle, String filename, boolean isLockedOnline) {
+        if (isLockedOnline) {
+            writeOnlineEmbargoToFile(handle, filename);
+        }
+        return isLockedOnline;
+    }
+
+    /**
+     * Caches the answer of the host, a failed check is not cached and counts as not locked, as it always did.
+     */
+    private boolean remember(String handle, String filename, Answer answer) {
+        if (isNull(answer)) {
+            return false;
+        }
+        cache.put(handle, filename, answer.statusCode, answer.locked);
+        return answer.locked;
+    }
+
+    private Answer checkIfFileIsLockedOnline(String handle, String filename) {
         var fullUri = extractFullUri(handle, filename);
         var request = createRequest(fullUri);
-        return foundLockedFileOnline(request, fullUri, MAX_RETRIES);
+        var limiter = limiterFor(fullUri);
+        if (!acquire(limiter, fullUri)) {
+            return null;
+        }
+        try {
+            return foundLockedFileOnline(request, fullUri, MAX_RETRIES, limiter);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    /**
+     * Waits for the host to take another request, also while it is considered down, so that no file is migrated
+     * without being checked. Only an interrupted wait, when the run is stopped, leaves the file unchecked.
+     */
+    private static boolean acquire(AdaptiveConcurrencyLimiter limiter, URI fullUri) {
+        try {
+            limiter.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error(CHECK_INTERRUPTED_MESSAGE, fullUri.toString());
+            return false;
+        }
+    }
+
+    /**
+     * All files of a customer are on the same host, the limiter of the host adapts the requests in flight to it.
+     */
+    private AdaptiveConcurrencyLimiter limiterFor(URI fullUri) {
+        var maxRequests = maxRequestsInFlight > SYNCHRONOUS ? maxRequestsInFlight : DEFAULT_MAX_REQUESTS_PER_HOST;
+        return limitersByHost.computeIfAbsent(String.valueOf(fullUri.getHost()),
+                                              host -> new AdaptiveConcurrencyLimiter(maxRequests));
     }
 
     private URI extractFullUri(String handle, String filename) {
@@ -114,47 +259,163 @@ public class OnlineEmbargoCheckerImpl implements OnlineEmbargoChecker {
                    .orElseThrow();
     }
 
-    @SuppressWarnings("PMD.CognitiveComplexity")
-    private boolean foundLockedFileOnline(HttpRequest request, URI fullUri, int retriesLeft) {
+    private Answer foundLockedFileOnline(HttpRequest request, URI fullUri, int retriesLeft,
+                                         AdaptiveConcurrencyLimiter limiter) {
         try {
+            var sent = System.nanoTime();
             var response = httpClient.send(request, BodyHandlers.ofString());
-            if (!response.uri().getRawPath().equals(request.uri().getRawPath())) {
-                return true;
-            }
-            if (response.statusCode() == OK) {
-                return false;
-            } else if (SHOULD_BE_LOCKED_STATUS_CODES.contains(response.statusCode())) {
-                logger.error("File locked {} by status code {}",
-                             fullUri.toString(), response.statusCode());
-                return true;
-            } else if (response.statusCode() == TOO_MANY_REQUESTS) {
+            var status = interpret(response, request, fullUri, limiter, sent);
+            if (status == Status.RETRY_LATER) {
                 if (retriesLeft > 0) {
-                    Thread.sleep(WAIT_TIME);
-                    return foundLockedFileOnline(request, fullUri, retriesLeft - 1);
+                    Thread.sleep(retryAfterMillis(response));
+                    return foundLockedFileOnline(request, fullUri, retriesLeft - 1, limiter);
                 } else {
-                    logger.error("Online check of embargo failed repeatedly for {} with status code {}",
-                                 fullUri.toString(), response.statusCode());
-                    return false;
+                    logger.error(CHECK_FAILED_REPEATEDLY_MESSAGE, fullUri.toString(), response.statusCode());
+                    return null;
                 }
-            } else {
-                logger.error("Online check of embargo failed for {} with status code {}", fullUri.toString(),
-                             response.statusCode());
-                return false;
             }
+            return Answer.of(status, response);
         } catch (Exception e) {
+            limiter.onFailure();
             if (retriesLeft > 0) {
-                return foundLockedFileOnline(request, fullUri, retriesLeft - 1);
+                return foundLockedFileOnline(request, fullUri, retriesLeft - 1, limiter);
             } else {
-                logger.error("Online check of embargo failed for {}", fullUri.toString(), e);
+                logger.error(CHECK_FAILED_MESSAGE, fullUri.toString(), e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Same checks and retries as {@link #foundLockedFileOnline}, but the wait before asking a host that asked us to
+     * slow down again does not hold any thread.
+     */
+    private CompletableFuture<Answer> foundLockedFileOnlineAsync(HttpRequest request, URI fullUri, int retriesLeft,
+                                                                 AdaptiveConcurrencyLimiter limiter) {
+        var sent = System.nanoTime();
+        return httpClient.sendAsync(request, BodyHandlers.discarding())
+                   .handle((response, exception) -> isNull(exception)
+                                                        ? afterResponse(response, request, fullUri, retriesLeft,
+                                                                        limiter, sent)
+                                                        : afterFailure(exception, request, fullUri, retriesLeft,
+                                                                       limiter))
+                   .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Answer> afterResponse(HttpResponse<?> response, HttpRequest request, URI fullUri,
+                                                    int retriesLeft, AdaptiveConcurrencyLimiter limiter, long sent) {
+        var status = interpret(response, request, fullUri, limiter, sent);
+        if (status == Status.RETRY_LATER) {
+            if (retriesLeft > 0) {
+                var wait = CompletableFuture.delayedExecutor(retryAfterMillis(response), TimeUnit.MILLISECONDS);
+                return CompletableFuture.runAsync(() -> { }, wait)
+                           .thenCompose(waited -> foundLockedFileOnlineAsync(request, fullUri, retriesLeft - 1,
+                                                                             limiter));
             }
+            logger.error(CHECK_FAILED_REPEATEDLY_MESSAGE, fullUri.toString(), response.statusCode());
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.completedFuture(Answer.of(status, response));
+    }
+
+    private CompletableFuture<Answer> afterFailure(Throwable exception, HttpRequest request, URI fullUri,
+                                                   int retriesLeft, AdaptiveConcurrencyLimiter limiter) {
+        limiter.onFailure();
+        if (retriesLeft > 0) {
+            return foundLockedFileOnlineAsync(request, fullUri, retriesLeft - 1, limiter);
         }
-        return false;
+        logger.error(CHECK_FAILED_MESSAGE, fullUri.toString(), exception);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Also tells the limiter of the host how it responded: any answer about the file itself counts as a success,
+     * 429 and server errors with Retry-After as asking us to slow down, other server errors as failures. A host
+     * asking us to slow down is asked again once we have waited.
+     */
+    private static Status interpret(HttpResponse<?> response, HttpRequest request, URI fullUri,
+                                    AdaptiveConcurrencyLimiter limiter, long sent) {
+        var statusCode = response.statusCode();
+        if (isOverloaded(response)) {
+            limiter.onOverload(retryAfterMillis(response));
+        } else if (statusCode >= SERVER_ERROR) {
+            limiter.onFailure();
+        } else {
+            limiter.onSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent));
+        }
+        if (!response.uri().getRawPath().equals(request.uri().getRawPath())) {
+            return Status.LOCKED;
+        }
+        if (statusCode == OK) {
+            return Status.NOT_LOCKED;
+        } else if (SHOULD_BE_LOCKED_STATUS_CODES.contains(statusCode)) {
+            logger.error("File locked {} by status code {}",
+                         fullUri.toString(), statusCode);
+            return Status.LOCKED;
+        } else if (isOverloaded(response)) {
+            return Status.RETRY_LATER;
+        } else {
+            logger.error("Online check of embargo failed for {} with status code {}", fullUri.toString(),
+                         statusCode);
+            return Status.FAILED;
+        }
+    }
+
+    private static boolean isOverloaded(HttpResponse<?> response) {
+        var statusCode = response.statusCode();
+        return statusCode == TOO_MANY_REQUESTS || statusCode >= SERVER_ERROR && hasRetryAfter(response);
+    }
+
+    private static boolean hasRetryAfter(HttpResponse<?> response) {
+        return nonNull(response.headers()) && response.headers().firstValue(RETRY_AFTER).isPresent();
+    }
+
+    /**
+     * Retry-After is either a number of seconds or an HTTP date. Without it, or when it cannot be read, we wait as long
+     * as we always did.
+     */
+    private static long retryAfterMillis(HttpResponse<?> response) {
+        if (!hasRetryAfter(response)) {
+            return WAIT_TIME;
+        }
+        var retryAfter = response.headers().firstValue(RETRY_AFTER).orElseThrow().trim();
+        var millis = attempt(() -> TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter)))
+                         .orElse(failure -> attempt(() -> millisUntil(retryAfter)).orElse(ignored -> (long) WAIT_TIME));
+        return Math.max(0, Math.min(MAX_RETRY_AFTER_MILLIS, millis));
+    }
+
+    private static long millisUntil(String httpDate) {
+        var date = ZonedDateTime.parse(httpDate, DateTimeFormatter.RFC_1123_DATE_TIME);
+        return Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis();
     }
 
     private HttpRequest createRequest(URI fullUri) {
         return HttpRequest.newBuilder()
                    .uri(fullUri)
                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                   .timeout(REQUEST_TIMEOUT)
                    .build();
     }
+
+    private enum Status {
+        LOCKED, NOT_LOCKED, RETRY_LATER, FAILED
+    }
+
+    /**
+     * What the host answered about the file, checks that failed have no answer.
+     */
+    private static final class Answer {
+
+        private final int statusCode;
+        private final boolean locked;
+
+        private Answer(int statusCode, boolean locked) {
+            this.statusCode = statusCode;
+            this.locked = locked;
+        }
+
+        private static Answer of(Status status, HttpResponse<?> response) {
+            return status == Status.FAILED ? null : new Answer(response.statusCode(), status == Status.LOCKED);
+        }
+    }
 }
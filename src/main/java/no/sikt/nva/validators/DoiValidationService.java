@@ -0,0 +1,237 @@
+package no.sikt.nva.validators;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.sikt.nva.brage.migration.common.model.ErrorDetails.Error.INVALID_DOI_ONLINE_CHECK;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import no.sikt.nva.brage.migration.common.model.ErrorDetails;
+import no.sikt.nva.model.dublincore.DublinCore;
+import nva.commons.core.StringUtils;
+import nva.commons.doi.UnitHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validates DOIs online against doi.org through one shared HTTP client, every DOI only once.
+ *
+ * <p>Results are kept by the DOI in lower case, as DOIs are case insensitive, so duplicates within a run share a
+ * single check, also when they are checked at the same time. When created with a file, the results of previous runs
+ * are read from it and DOIs found there are not checked again. A DOI that could not be checked because doi.org could
+ * not be reached counts as invalid, as it always did, but is not written to the file.
+ *
+ * <p>With a number of requests in flight, DOIs are checked on threads of the service, so the DOIs of all records of a
+ * collection can be checked at the same time. Otherwise they are checked on the calling thread.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class DoiValidationService {
+
+    public static final int SYNCHRONOUS = 0;
+    public static final String INVALID_CACHE_LINE_MESSAGE = "Ignoring invalid line in DOI cache: {}";
+    private static final Logger logger = LoggerFactory.getLogger(DoiValidationService.class);
+    private static final String SEPARATOR = "\t";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private final Map<String, CompletableFuture<Result>> results;
+    private final DoiLookup lookup;
+    private final Path file;
+    private final int maxRequestsInFlight;
+    private final ExecutorService executor;
+
+    DoiValidationService(DoiLookup lookup, Path file, int maxRequestsInFlight) {
+        this.results = new ConcurrentHashMap<>();
+        this.lookup = lookup;
+        this.file = file;
+        this.maxRequestsInFlight = maxRequestsInFlight;
+        this.executor = maxRequestsInFlight > SYNCHRONOUS
+                            ? Executors.newFixedThreadPool(maxRequestsInFlight, DoiValidationService::daemonThread)
+                            : null;
+        if (nonNull(file) && Files.exists(file)) {
+            readResults();
+        }
+    }
+
+    /**
+     * Service shared by everything validating DOIs without a service of its own, checking DOIs on the calling thread
+     * and keeping results for this run only.
+     */
+    public static DoiValidationService shared() {
+        return SharedService.INSTANCE;
+    }
+
+    /**
+     * @param file                file with results of previous runs, results of this run are added when persisted,
+     *                            null keeps results for this run only
+     * @param maxRequestsInFlight number of DOIs checked at the same time, {@link #SYNCHRONOUS} checks them on the
+     *                            calling thread
+     */
+    public static DoiValidationService create(Path file, int maxRequestsInFlight) {
+        return new DoiValidationService(defaultLookup(), file, maxRequestsInFlight);
+    }
+
+    public boolean isConcurrent() {
+        return nonNull(executor);
+    }
+
+    public int getMaxRequestsInFlight() {
+        return maxRequestsInFlight;
+    }
+
+    /**
+     * Checks every DOI of the dublin core, waiting for the answers.
+     */
+    public Optional<ArrayList<ErrorDetails>> getDoiErrorDetails(DublinCore dublinCore) {
+        return getDoiErrorDetailsAsync(dublinCore).join();
+    }
+
+    /**
+     * Checks every DOI of the dublin core, only waiting for the answers when the service checks DOIs synchronously.
+     */
+    public CompletableFuture<Optional<ArrayList<ErrorDetails>>> getDoiErrorDetailsAsync(DublinCore dublinCore) {
+        var dois = DoiValidator.getDoisToValidateOnline(dublinCore);
+        var checks = dois.stream().map(this::validate).collect(Collectors.toList());
+        return CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new))
+                   .thenApply(allChecked -> toErrorDetails(dois, checks));
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Writes the results of DOIs checked by this or previous runs to the file of the service, does nothing without a
+     * file. DOIs that could not be checked are left out, the file is replaced only when completely written.
+     */
+    public void persist() {
+        if (isNull(file)) {
+            return;
+        }
+        var lines = results.entrySet().stream()
+                        .filter(entry -> isDefinite(entry.getValue()))
+                        .map(entry -> entry.getKey() + SEPARATOR + entry.getValue().join())
+                        .collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator()));
+        try {
+            if (nonNull(file.getParent())) {
+                Files.createDirectories(file.getParent());
+            }
+            var temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_FILE_SUFFIX);
+            Files.writeString(temporaryFile, lines, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The first caller of a DOI checks it, later callers get the result of that check, whether it has completed or
+     * not.
+     */
+    private CompletableFuture<Result> validate(String doi) {
+        var check = new CompletableFuture<Result>();
+        var existing = results.putIfAbsent(key(doi), check);
+        if (nonNull(existing)) {
+            return existing;
+        }
+        if (isConcurrent()) {
+            executor.execute(() -> check.complete(lookUp(doi)));
+        } else {
+            check.complete(lookUp(doi));
+        }
+        return check;
+    }
+
+    private Result lookUp(String doi) {
+        try {
+            lookup.validate(doi);
+            return Result.VALID;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.UNREACHABLE;
+        } catch (IOException e) {
+            return Result.UNREACHABLE;
+        } catch (Exception e) {
+            return Result.INVALID;
+        }
+    }
+
+    private static Optional<ArrayList<ErrorDetails>> toErrorDetails(List<String> dois,
+                                                                    List<CompletableFuture<Result>> checks) {
+        var errors = new ArrayList<ErrorDetails>();
+        for (int index = 0; index < dois.size(); index++) {
+            if (checks.get(index).join() != Result.VALID) {
+                errors.add(new ErrorDetails(INVALID_DOI_ONLINE_CHECK, Set.of(dois.get(index))));
+            }
+        }
+        return errors.isEmpty() ? Optional.empty() : Optional.of(errors);
+    }
+
+    private static boolean isDefinite(CompletableFuture<Result> check) {
+        return check.isDone() && check.join() != Result.UNREACHABLE;
+    }
+
+    private void readResults() {
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            lines.filter(StringUtils::isNotBlank).forEach(this::readResult);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readResult(String line) {
+        var separator = line.lastIndexOf(SEPARATOR);
+        try {
+            var result = Result.valueOf(line.substring(separator + 1));
+            results.put(line.substring(0, separator), CompletableFuture.completedFuture(result));
+        } catch (RuntimeException e) {
+            logger.warn(INVALID_CACHE_LINE_MESSAGE, line);
+        }
+    }
+
+    private static String key(String doi) {
+        return doi.toLowerCase(Locale.ROOT);
+    }
+
+    private static Thread daemonThread(Runnable runnable) {
+        var thread = new Thread(runnable, "doi-validation");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static DoiLookup defaultLookup() {
+        var validator = new nva.commons.doi.DoiValidator(new UnitHttpClient());
+        return doi -> validator.validateOnline(URI.create(doi));
+    }
+
+    private enum Result {
+        VALID, INVALID, UNREACHABLE
+    }
+
+    /**
+     * Checks a DOI online, a DOI is valid when no exception is thrown.
+     */
+    @FunctionalInterface
+    interface DoiLookup {
+
+        void validate(String doi) throws Exception;
+    }
+
+    private static final class SharedService {
+
+        private static final DoiValidationService INSTANCE = create(null, SYNCHRONOUS);
+    }
+}
@@ -1,7 +1,6 @@
 package no.sikt.nva.validators;
 
 import static no.sikt.nva.brage.migration.common.model.ErrorDetails.Error.INVALID_DC_IDENTIFIER_DOI_OFFLINE_CHECK;
-import static no.sikt.nva.brage.migration.common.model.ErrorDetails.Error.INVALID_DOI_ONLINE_CHECK;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -17,8 +16,7 @@ import java.util.stream.Collectors;
 import no.sikt.nva.brage.migration.common.model.ErrorDetails;
 import no.sikt.nva.model.dublincore.DcValue;
 import no.sikt.nva.model.dublincore.DublinCore;
-import nva.commons.core.StringUtils;
-import nva.commons.doi.UnitHttpClient;
+import no.sikt.nva.scrapers.TextNormalizer;
 import org.apache.commons.validator.routines.UrlValidator;
 import org.jetbrains.annotations.NotNull;
 
@@ -33,18 +31,21 @@ public class DoiValidator {
     public static final String SLASH = "/";
     public static final String DOI = "doi";
     public static final String ORG = "org/";
+    private static final Pattern DOI_PATTERN = Pattern.compile("^(https?://)?(doi\\.org/)?10.\\d{4,9}/\\S+/?$",
+                                                               Pattern.CASE_INSENSITIVE);
 
     public static Optional<ArrayList<ErrorDetails>> getDoiErrorDetailsOnline(DublinCore dublinCore) {
-        var doiList = extractDoiList(dublinCore);
-        var filteredDoiList = doiList.stream().filter(doi -> !doi.isEmpty()).collect(Collectors.toList());
-        if (filteredDoiList.isEmpty()) {
-            return Optional.empty();
-        } else {
-            var updatedUriDoiList = filteredDoiList.stream()
-                                        .map(DoiValidator::updateDoiStructureIfNeeded)
-                                        .collect(Collectors.toList());
-            return validateDoiListOnline(updatedUriDoiList);
-        }
+        return DoiValidationService.shared().getDoiErrorDetails(dublinCore);
+    }
+
+    /**
+     * @return the DOIs of the dublin core in the form they are checked online
+     */
+    public static List<String> getDoisToValidateOnline(DublinCore dublinCore) {
+        return extractDoiList(dublinCore).stream()
+                   .filter(doi -> !doi.isEmpty())
+                   .map(DoiValidator::updateDoiStructureIfNeeded)
+                   .collect(Collectors.toList());
     }
 
     public static Optional<ArrayList<ErrorDetails>> getDoiErrorDetailsOffline(DublinCore dublinCore) {
@@ -142,14 +143,6 @@ public class DoiValidator {
                    : doi.split(DOI_WITH_COLON.toLowerCase(Locale.ROOT))[1];
     }
 
-    private static Optional<ArrayList<ErrorDetails>> validateDoiListOnline(List<String> doiList) {
-        var doiErrorList = new ArrayList<ErrorDetails>();
-        for (String doi : doiList) {
-            validateDoiOnline(doi).ifPresent(doiErrorList::add);
-        }
-        return getErrorDetails(doiErrorList);
-    }
-
     private static Optional<ArrayList<ErrorDetails>> validateDoiListOffline(List<String> doiList) {
         var doiErrorList = new ArrayList<ErrorDetails>();
         for (String doi : doiList) {
@@ -167,13 +160,6 @@ public class DoiValidator {
         }
     }
 
-    private static Optional<ErrorDetails> validateDoiOnline(String doi) {
-        if (!isValidDoiOnline(doi)) {
-            return Optional.of(new ErrorDetails(INVALID_DOI_ONLINE_CHECK, Set.of(doi)));
-        }
-        return Optional.empty();
-    }
-
     private static Optional<ErrorDetails> validateDoiOffline(String doi) {
         if (isValidDoiOffline(doi)) {
              return Optional.empty();
@@ -188,17 +174,6 @@ public class DoiValidator {
         return UrlValidator.getInstance().isValid(value) && !value.contains(DOI_DOMAIN_NAME);
     }
 
-    private static boolean isValidDoiOnline(String doi) {
-        var httpClient = new UnitHttpClient();
-        var validator = new nva.commons.doi.DoiValidator(httpClient);
-        try {
-            validator.validateOnline(URI.create(doi));
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
     private static List<String> extractDoiList(DublinCore dublinCore) {
         return dublinCore.getDcValues()
                    .stream()
@@ -212,13 +187,11 @@ public class DoiValidator {
     }
 
     public static boolean isValidDoi(String doi) {
-        var doiRegex = "^(https?://)?(doi\\.org/)?10.\\d{4,9}/\\S+/?$";
-        var pattern = Pattern.compile(doiRegex, Pattern.CASE_INSENSITIVE);
-        return pattern.matcher(doi).matches();
+        return DOI_PATTERN.matcher(doi).matches();
     }
 
     private static String removeEmptySpaces(String value) {
-        return value.replaceAll("\\s", StringUtils.EMPTY_STRING);
+        return TextNormalizer.removeWhitespace(value);
     }
 
     public static String attemptToReturnLink(String value) {
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import no.sikt.nva.brage.migration.common.model.BrageType;
 import no.sikt.nva.brage.migration.common.model.ErrorDetails;
@@ -42,6 +43,7 @@ import no.sikt.nva.scrapers.EntityDescriptionExtractor;
 import no.sikt.nva.scrapers.LicenseScraper;
 import no.sikt.nva.scrapers.PageConverter;
 import no.sikt.nva.scrapers.SubjectScraper;
+import no.sikt.nva.scrapers.TextNormalizer;
 import no.sikt.nva.scrapers.TypeMapper;
 import no.sikt.nva.scrapers.TypeTranslator;
 import nva.commons.core.StringUtils;
@@ -59,6 +61,11 @@ public final class DublinCoreValidator {
     public static final String QUESTION_MARK = "?";
     public static final String HYPHEN = "-";
     public static final String DASH = "–";
+    private static final Pattern TWO_DIGITS_PATTERN = Pattern.compile("\\d{2}");
+    private static final Pattern FOUR_DIGITS_PATTERN = Pattern.compile("\\d{4}");
+    private static final Pattern YEAR_PERIOD_PATTERN = Pattern.compile(YEAR_PERIOD_REGEX);
+    private static final Pattern UNKNOWN_YEAR_PERIOD_PATTERN = Pattern.compile(UNKNOWN_YEAR_PERIOD_REGEX);
+    private static final Pattern OPEN_YEAR_PERIOD_PATTERN = Pattern.compile("[0-9]{4}[-]");
     private static final int ONE_DESCRIPTION = 1;
     public static final String NO_CUSTOMER = null;
 
@@ -123,11 +130,12 @@ public final class DublinCoreValidator {
 
     public static boolean containsYearAndMonth(String date) {
         var yearAndMonthList = Arrays.asList(date.split(HYPHEN));
-        return yearAndMonthList.size() == 2 && yearAndMonthList.get(yearAndMonthList.size() - 1).matches("\\d{2}");
+        return yearAndMonthList.size() == 2
+               && TWO_DIGITS_PATTERN.matcher(yearAndMonthList.get(yearAndMonthList.size() - 1)).matches();
     }
 
     public static boolean containsYearOnly(String date) {
-        return date.matches("\\d{4}");
+        return FOUR_DIGITS_PATTERN.matcher(date).matches();
     }
 
     public static Set<String> filterOutNullValues(Set<String> values) {
@@ -135,13 +143,12 @@ public final class DublinCoreValidator {
     }
 
     public static boolean containsTwoDigitYearOnly(String date) {
-        return date.matches("\\d{2}");
+        return TWO_DIGITS_PATTERN.matcher(date).matches();
     }
 
     public static boolean isPeriodDate(String date) {
-        return date.matches(YEAR_PERIOD_REGEX)
-               || date.matches(UNKNOWN_YEAR_PERIOD_REGEX)
-               || date.matches(YEAR_PERIOD_REGEX);
+        return YEAR_PERIOD_PATTERN.matcher(date).matches()
+               || UNKNOWN_YEAR_PERIOD_PATTERN.matcher(date).matches();
     }
 
     private static Optional<ErrorDetails> getIsmnError(DublinCore dublinCore) {
@@ -366,8 +373,8 @@ public final class DublinCoreValidator {
                                  .filter(DcValue::isPageNumber)
                                  .findAny()
                                  .map(DcValue::getValue)
+                                 .map(TextNormalizer::removeBracketsAndDots)
                                  .orElse(StringUtils.EMPTY_STRING)
-                                 .replaceAll(REGEX_BRACKETS_AND_DOT, StringUtils.EMPTY_STRING)
                                  .trim();
             return PageConverter.isValidPageNumber(pageNumber) ? Optional.empty()
                        : Optional.of(new WarningDetails(Warning.PAGE_NUMBER_FORMAT_NOT_RECOGNIZED, pageNumber));
@@ -382,8 +389,8 @@ public final class DublinCoreValidator {
                            .filter(DcValue::isPublicationDate)
                            .findAny()
                            .map(DcValue::getValue)
-                           .map(value -> value.replaceAll(StringUtils.WHITESPACES, StringUtils.EMPTY_STRING))
-                           .map(value -> value.replaceAll(DASH, HYPHEN))
+                           .map(TextNormalizer::removeWhitespace)
+                           .map(value -> value.replace(DASH, HYPHEN))
                            .map(DublinCoreValidator::modifyIfDateIsOfLocalDateTimeFormat)
                            .map(DublinCoreValidator::constructDateFromPeriod)
                            .orElse(new DcValue().scrapeValueAndSetToScraped());
@@ -403,13 +410,13 @@ public final class DublinCoreValidator {
     }
 
     private static String constructDateFromPeriod(String value) {
-        if (value.matches(YEAR_PERIOD_REGEX)) {
+        if (YEAR_PERIOD_PATTERN.matcher(value).matches()) {
             return value.split(HYPHEN)[0];
         }
-        if (value.matches(UNKNOWN_YEAR_PERIOD_REGEX)) {
+        if (UNKNOWN_YEAR_PERIOD_PATTERN.matcher(value).matches()) {
             return value.replace(QUESTION_MARK, StringUtils.EMPTY_STRING);
         }
-        if (value.matches("[0-9]{4}[-]")) {
+        if (OPEN_YEAR_PERIOD_PATTERN.matcher(value).matches()) {
             return value.replace(HYPHEN, StringUtils.EMPTY_STRING);
         }
         return value;
@@ -1,6 +1,8 @@
 package no.sikt.nva;
 
 import static no.sikt.nva.BrageMigrationCommand.INCOMPATIBLE_ARGUMENTS_ZIPFILE_AND_INPUT_DIRECTORY;
+import static no.sikt.nva.BrageMigrationCommand.RECORDS_WITHOUT_ERRORS;
+import static no.sikt.nva.BrageMigrationCommand.SLASH;
 import static no.sikt.nva.RecordsWriter.WRITING_TO_JSON_FILE_HAS_FAILED;
 import static no.sikt.nva.ResourceNameConstants.EMBARGO_TEST_DIRECTORY;
 import static no.sikt.nva.ResourceNameConstants.EMPTY_ZIP_FILE_NAME;
@@ -15,14 +17,35 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.net.ssl.SSLSession;
 import no.sikt.nva.brage.migration.common.model.record.WarningDetails.Warning;
+import no.sikt.nva.scrapers.embargo.OnlineEmbargoCheckerImpl;
+import no.sikt.nva.utils.CollectionFixtures;
 import no.sikt.nva.utils.FakeOnlineEmbargoChecker;
 import no.unit.nva.stubs.FakeS3Client;
 import nva.commons.logutils.LogUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import picocli.CommandLine;
 
 public class BrageMigrationCommandTest {
@@ -32,6 +55,9 @@ public class BrageMigrationCommandTest {
     public static final String BUNDLE_WITH_FORWARD_SLASHES_ZIP = "bundleWithForwardSlashes.zip";
     public static final String PUSH_TO_AWS = "-a";
     private static final int NORMAL_EXIT_CODE = 0;
+    private static final String DUPLICATED_HANDLE = "11250/900001";
+    private static final String LOCKED_FILES_REPORT = "LockedDuringOnlineCheck.csv";
+    private static final String UUID_PATTERN = "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}";
     private static List<String> arguments;
 
     @BeforeEach
@@ -121,6 +147,53 @@ public class BrageMigrationCommandTest {
         new CommandLine(new BrageMigrationCommand(new FakeS3Client(), new FakeOnlineEmbargoChecker())).execute(arguments.toArray(String[]::new));
     }
 
+    @Test
+    void shouldPushRecordsInParallelWhenMoreThanOnePushWorkerIsSpecified() {
+        arguments.add(TEST_RESOURCE_PATH + BUNDLE_WITH_FORWARD_SLASHES_ZIP);
+        arguments.addAll(List.of(PUSH_TO_AWS, "--push-workers", "2"));
+        var appender = LogUtils.getTestingAppenderForRootLogger();
+        new CommandLine(new BrageMigrationCommand(new FakeS3Client(), new FakeOnlineEmbargoChecker())).execute(
+            arguments.toArray(String[]::new));
+        assertThat(appender.getMessages(), containsString("Records pushed to AWS: "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"--workers 4", "--bundle-workers 2", "--pipelined-unzip --bundle-workers 2",
+        "--workers 4 --pipelined-unzip --bundle-workers 2"})
+    void shouldMigrateAndCheckTheSameBundlesWhenProcessedInParallel(String parallelOptions, @TempDir Path tempDir)
+        throws Exception {
+        var input = tempDir.resolve("input");
+        CollectionFixtures.writeCollection(input.resolve("first.zip"), Map.of("1", DUPLICATED_HANDLE,
+                                                                              "2", "11250/900002"));
+        CollectionFixtures.writeCollection(input.resolve("second.zip"), Map.of("1", "11250/900003",
+                                                                               "2", DUPLICATED_HANDLE));
+        Files.writeString(input.resolve("samlingsfil.txt"), "first" + System.lineSeparator() + "second");
+        Files.writeString(input.resolve("FileEmbargo.txt"), "");
+        var output = tempDir.resolve("output");
+
+        var sequential = migrateAndReadOutput(input, output);
+        var parallel = migrateAndReadOutput(input, output, parallelOptions.split(" "));
+
+        assertThat(parallel, is(equalTo(sequential)));
+        assertThat(sequential.get(LOCKED_FILES_REPORT), containsString(DUPLICATED_HANDLE));
+    }
+
+    @Test
+    void shouldSkipBundlesWrittenByPreviousRunWhenProcessedHandlesFileIsSpecified(@TempDir Path tempDir) {
+        var processedHandlesFile = tempDir.resolve("processed_handles.txt");
+        arguments.addAll(List.of(TEST_RESOURCE_PATH + BUNDLE_WITH_FORWARD_SLASHES_ZIP, "--processed-handles-file",
+                                 processedHandlesFile.toString()));
+        var firstRun = new CommandLine(new BrageMigrationCommand(new FakeS3Client(), new FakeOnlineEmbargoChecker()))
+                           .execute(arguments.toArray(String[]::new));
+        var appender = LogUtils.getTestingAppenderForRootLogger();
+        var secondRun = new CommandLine(new BrageMigrationCommand(new FakeS3Client(), new FakeOnlineEmbargoChecker()))
+                            .execute(arguments.toArray(String[]::new));
+        assertThat(firstRun, equalTo(NORMAL_EXIT_CODE));
+        assertThat(secondRun, equalTo(NORMAL_EXIT_CODE));
+        assertThat(Files.exists(processedHandlesFile), equalTo(true));
+        assertThat(appender.getMessages(), containsString(RECORDS_WITHOUT_ERRORS + "0" + SLASH + "0"));
+    }
+
     @Test
     void shouldCreateRecordWithEmbargo() {
         var appender = LogUtils.getTestingAppenderForRootLogger();
@@ -189,4 +262,82 @@ public class BrageMigrationCommandTest {
         assertThat(status, not(equalTo(NORMAL_EXIT_CODE)));
         assertThat(appender.getMessages(), containsString("Embargo File does not exist: "));
     }
+
+    /**
+     * Content files get a random identifier on every run, everything else is compared as written.
+     */
+    private static Map<String, String> migrateAndReadOutput(Path input, Path output, String... options)
+        throws IOException, InterruptedException {
+        var arguments = new ArrayList<>(List.of("-c", "ntnu", "-D", input.toString(), "-O", output.toString()));
+        arguments.addAll(List.of(options));
+        new CommandLine(new BrageMigrationCommand(new FakeS3Client(), new OnlineEmbargoCheckerImpl(lockingHttpClient())))
+            .execute(arguments.toArray(String[]::new));
+        var files = Map.of("first", output.resolve("first").resolve("records.json"),
+                           "second", output.resolve("second").resolve("records.json"),
+                           LOCKED_FILES_REPORT, output.resolve(LOCKED_FILES_REPORT));
+        var contents = new HashMap<String, String>();
+        for (var file : files.entrySet()) {
+            contents.put(file.getKey(), Files.readString(file.getValue()).replaceAll(UUID_PATTERN, "uuid"));
+            Files.delete(file.getValue());
+        }
+        return contents;
+    }
+
+    /**
+     * Files of bundles with the duplicated handle are locked, all other files are open.
+     */
+    private static HttpClient lockingHttpClient() throws IOException, InterruptedException {
+        var httpClient = mock(HttpClient.class);
+        when(httpClient.send(any(), any())).thenAnswer(invocation -> new HeadResponse(invocation.getArgument(0)));
+        return httpClient;
+    }
+
+    private static final class HeadResponse implements HttpResponse<Object> {
+
+        private final HttpRequest request;
+
+        private HeadResponse(HttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public int statusCode() {
+            return request.uri().getRawPath().contains("/" + DUPLICATED_HANDLE + "/") ? 302 : 200;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return request;
+        }
+
+        @Override
+        public Optional<HttpResponse<Object>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return HttpHeaders.of(Map.of(), (name, value) -> true);
+        }
+
+        @Override
+        public Object body() {
+            return null;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return request.uri();
+        }
+
+        @Override
+        public Version version() {
+            return Version.HTTP_2;
+        }
+    }
 }
@@ -1,23 +1,45 @@
 package no.sikt.nva;
 
+import static no.sikt.nva.ResourceNameConstants.TEST_RESOURCE_PATH;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import no.sikt.nva.brage.migration.common.model.BrageLocation;
 import no.sikt.nva.brage.migration.common.model.record.Record;
+import no.sikt.nva.brage.migration.common.model.record.content.ContentFile;
 import no.sikt.nva.model.dublincore.DcValue;
 import no.sikt.nva.model.dublincore.DublinCore;
 import no.sikt.nva.model.dublincore.Element;
 import no.sikt.nva.model.dublincore.Qualifier;
+import no.sikt.nva.scrapers.AffiliationType;
 import no.sikt.nva.scrapers.DublinCoreFactory;
+import no.sikt.nva.scrapers.DublinCoreParser;
 import no.sikt.nva.scrapers.DublinCoreScraper;
+import no.sikt.nva.scrapers.ImportedHandleIndex;
+import no.sikt.nva.scrapers.ReferenceData;
+import no.sikt.nva.utils.CollectionFixtures;
+import no.sikt.nva.utils.FakeOnlineEmbargoChecker;
+import no.sikt.nva.validators.DoiValidationService;
+import nva.commons.logutils.LogUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class BrageProcessorTest {
 
+    private static final String BUNDLE_WITH_FORWARD_SLASHES_ZIP = "bundleWithForwardSlashes.zip";
+    private static final String DUPLICATED_HANDLE = "11250/900001";
+
     @Test
     void shouldExtractSubjectCodeFromFsDublinAndRemoveLocalCodeWithTheSameValueFromDescription() {
         var duplicatedSubjectCode = "JUS123";
@@ -62,7 +84,120 @@ class BrageProcessorTest {
     }
 
     private static Record createRecordFromDublinCore(DublinCore dublinCore) {
-        return new DublinCoreScraper(false, false, Map.of())
+        return new DublinCoreScraper(false, false, Map.of(), ReferenceData.load(false))
                    .validateAndParseDublinCore(dublinCore, new BrageLocation(null), "ntnu");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReadBundlesFromZipfileWithoutExtractingAnything(@TempDir Path tempDir) {
+        var brageProcessor = createBrageProcessor(tempDir, ExtractionMode.NONE, false);
+
+        brageProcessor.run();
+
+        assertFalse(brageProcessor.getRecords().isEmpty());
+        assertTrue(Files.notExists(Path.of(brageProcessor.getDestinationDirectory())));
+    }
+
+    @Test
+    void shouldCreateTheSameRecordsWhenReadingFromZipfileAsWhenExtractingIt(@TempDir Path tempDir) {
+        var extracting = createBrageProcessor(tempDir.resolve("extracted"), ExtractionMode.FULL, false);
+        var readingFromZipfile = createBrageProcessor(tempDir.resolve("zipfile"), ExtractionMode.NONE, false);
+
+        extracting.run();
+        readingFromZipfile.run();
+
+        assertEquals(describe(extracting.getRecords()), describe(readingFromZipfile.getRecords()));
+    }
+
+    @Test
+    void shouldExtractOnlyContentFilesWhenReadingFromZipfileAndRecordsArePushed(@TempDir Path tempDir)
+        throws Exception {
+        var brageProcessor = createBrageProcessor(tempDir, ExtractionMode.NONE, true);
+
+        brageProcessor.run();
+
+        for (var record : brageProcessor.getRecords()) {
+            var bundle = Path.of(brageProcessor.getDestinationDirectory(), Path.of(record.getBrageLocation())
+                                                                                .getFileName().toString());
+            for (ContentFile contentFile : record.getContentBundle().getContentFiles()) {
+                assertTrue(Files.exists(bundle.resolve(contentFile.getFilename())));
+            }
+            assertTrue(Files.notExists(bundle.resolve("handle")));
+        }
+    }
+
+    @Test
+    void shouldProcessTheSameBundlesInParallelAsSequentiallyWhenTheFirstBundleWithAHandleFails(@TempDir Path tempDir)
+        throws IOException {
+        var zipfile = tempDir.resolve("collection.zip");
+        CollectionFixtures.writeCollection(zipfile, Map.of("1", DUPLICATED_HANDLE,
+                                                           "2", "11250/900002",
+                                                           "3", DUPLICATED_HANDLE), Set.of("1"));
+        var sequentially = createBrageProcessor(zipfile, tempDir, ExtractionMode.NONE, null);
+        var inParallel = createBrageProcessor(zipfile, tempDir, ExtractionMode.NONE, new ForkJoinPool(4));
+
+        var sequentialLogs = runAndReadLogs(sequentially);
+        var parallelLogs = runAndReadLogs(inParallel);
+
+        assertEquals(describe(sequentially.getRecords()), describe(inParallel.getRecords()));
+        assertEquals(1, inParallel.getRecords().size());
+        assertTrue(inParallel.getRecords().get(0).getBrageLocation().endsWith("2"));
+        assertEquals(sequentialLogs, parallelLogs);
+    }
+
+    @Test
+    void shouldKeepRecordsOfBundlesExtractedBeforeExtractionFails(@TempDir Path tempDir) throws IOException {
+        var zipfile = tempDir.resolve("collection.zip");
+        CollectionFixtures.writeCollection(zipfile, new TreeMap<>(Map.of("1", "11250/900001",
+                                                                         "2", "11250/900002",
+                                                                         "3", "11250/900003")));
+        CollectionFixtures.damageEntry(zipfile, "3/handle");
+        var brageProcessor = createBrageProcessor(zipfile, tempDir, ExtractionMode.PIPELINED, null);
+
+        brageProcessor.run();
+
+        var handles = brageProcessor.getRecords().stream()
+                          .map(record -> record.getId().toString())
+                          .sorted()
+                          .collect(Collectors.toList());
+        assertEquals(List.of("https://hdl.handle.net/11250/900001", "https://hdl.handle.net/11250/900002"),
+                     handles);
+    }
+
+    private static List<String> runAndReadLogs(BrageProcessor brageProcessor) {
+        var appender = LogUtils.getTestingAppenderForRootLogger();
+        brageProcessor.run();
+        return appender.getMessages().lines().sorted().collect(Collectors.toList());
+    }
+
+    private static BrageProcessor createBrageProcessor(Path zipfile, Path outputDirectory,
+                                                       ExtractionMode extractionMode, ForkJoinPool bundlePool) {
+        return new BrageProcessorFactory(Map.of(), Map.of(), new AffiliationType(Map.of(), List.of()), bundlePool,
+                                         extractionMode, false, DublinCoreParser.JAXB,
+                                         new ImportedHandleIndex(), ProcessedHandleRegistry.inMemory(),
+                                         ReferenceData.load(false), DoiValidationService.shared())
+                   .createBrageProcessor(zipfile.toString(), "someCustomer", false, false,
+                                         outputDirectory.toString(), false, new FakeOnlineEmbargoChecker());
+    }
+
+    private static BrageProcessor createBrageProcessor(Path outputDirectory, ExtractionMode extractionMode,
+                                                       boolean extractContentFiles) {
+        return new BrageProcessorFactory(Map.of(), Map.of(), new AffiliationType(Map.of(), List.of()), null,
+                                         extractionMode, extractContentFiles, DublinCoreParser.JAXB,
+                                         new ImportedHandleIndex(), ProcessedHandleRegistry.inMemory(),
+                                         ReferenceData.load(false), DoiValidationService.shared())
+                   .createBrageProcessor(TEST_RESOURCE_PATH + BUNDLE_WITH_FORWARD_SLASHES_ZIP, "someCustomer",
+                                         false, false, outputDirectory.toString(), false,
+                                         new FakeOnlineEmbargoChecker());
+    }
+
+    private static List<String> describe(List<Record> records) {
+        return records.stream()
+                   .map(record -> record.getId() + " " + record.getBrageLocation() + " "
+                                  + record.getContentBundle().getContentFiles().stream()
+                                        .map(ContentFile::getFilename)
+                                        .collect(Collectors.toList()))
+                   .sorted()
+                   .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,71 @@
+package no.sikt.nva;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.sikt.nva.brage.migration.common.model.record.Record;
+import org.junit.jupiter.api.Test;
+
+public class BundleProcessingTaskTest {
+
+    private static final String HANDLE_PREFIX = "https://hdl.handle.net/11250/";
+
+    @Test
+    void shouldReturnRecordsInBundleOrderWhenProcessingInParallel() {
+        var bundles = createBundles(100);
+        var pool = new ForkJoinPool(4);
+        try {
+            var records = pool.invoke(new BundleProcessingTask(bundles, BundleProcessingTaskTest::toRecord, 1));
+            assertThat(handles(records), equalTo(expectedHandles(bundles)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void shouldSkipBundlesThatFailedWithoutAffectingTheOtherBundles() {
+        var bundles = createBundles(10);
+        var pool = new ForkJoinPool(2);
+        try {
+            var records = pool.invoke(new BundleProcessingTask(bundles, BundleProcessingTaskTest::failOddBundles));
+            var expected = bundles.stream()
+                               .filter(bundle -> Integer.parseInt(bundle.getFileName().toString()) % 2 == 0)
+                               .map(bundle -> HANDLE_PREFIX + bundle.getFileName().toString())
+                               .collect(Collectors.toList());
+            assertThat(handles(records), equalTo(expected));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Path> createBundles(int numberOfBundles) {
+        return IntStream.range(0, numberOfBundles)
+                   .mapToObj(String::valueOf)
+                   .map(Path::of)
+                   .collect(Collectors.toList());
+    }
+
+    private static Optional<Record> toRecord(Path bundle) {
+        var record = new Record();
+        record.setId(URI.create(HANDLE_PREFIX + bundle.getFileName().toString()));
+        return Optional.of(record);
+    }
+
+    private static Optional<Record> failOddBundles(Path bundle) {
+        return Integer.parseInt(bundle.getFileName().toString()) % 2 == 0 ? toRecord(bundle) : Optional.empty();
+    }
+
+    private static List<String> handles(List<Record> records) {
+        return records.stream().map(record -> record.getId().toString()).collect(Collectors.toList());
+    }
+
+    private static List<String> expectedHandles(List<Path> bundles) {
+        return bundles.stream().map(bundle -> HANDLE_PREFIX + bundle.getFileName().toString()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,56 @@
+package no.sikt.nva;
+
+import static no.sikt.nva.ResourceNameConstants.EMPTY_ZIP_FILE_NAME;
+import static no.sikt.nva.ResourceNameConstants.TEST_RESOURCE_PATH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.List;
+import java.util.Map;
+import no.sikt.nva.scrapers.AffiliationType;
+import no.sikt.nva.utils.FakeOnlineEmbargoChecker;
+import org.junit.jupiter.api.Test;
+
+public class CollectionSchedulerTest {
+
+    private static final String BUNDLE_WITH_FORWARD_SLASHES_ZIP = "bundleWithForwardSlashes.zip";
+    private static final String NONEXISTENT_ZIP = "nonexistent.zip";
+    private static final String OUTPUT_DIRECTORY = "someOutputPath";
+
+    @Test
+    void shouldScheduleLargestCollectionFirstAndKeepOrderOfCollectionsWithSameSize() {
+        var nonexistent = createBrageProcessor(NONEXISTENT_ZIP);
+        var empty = createBrageProcessor(EMPTY_ZIP_FILE_NAME);
+        var largest = createBrageProcessor(BUNDLE_WITH_FORWARD_SLASHES_ZIP);
+        var anotherNonexistent = createBrageProcessor("anotherNonexistent.zip");
+
+        var ordered = CollectionScheduler.orderByCollectionSizeDescending(
+            List.of(nonexistent, empty, largest, anotherNonexistent));
+
+        assertThat(ordered, contains(largest, empty, nonexistent, anotherNonexistent));
+    }
+
+    @Test
+    void shouldProcessAllCollectionsWhenRunningInParallel() {
+        var missingCollection = createBrageProcessor(NONEXISTENT_ZIP);
+        var collection = createBrageProcessor(BUNDLE_WITH_FORWARD_SLASHES_ZIP);
+
+        new CollectionScheduler(2).runAll(List.of(missingCollection, collection));
+
+        assertThat(missingCollection.getRecords(), is(nullValue()));
+        assertThat(collection.getRecords().isEmpty(), is(false));
+    }
+
+    @Test
+    void shouldNotAcceptLessThanOneWorker() {
+        assertThrows(IllegalArgumentException.class, () -> new CollectionScheduler(0));
+    }
+
+    private static BrageProcessor createBrageProcessor(String zipfile) {
+        return new BrageProcessorFactory(Map.of(), Map.of(), new AffiliationType(Map.of(), List.of()))
+                   .createBrageProcessor(TEST_RESOURCE_PATH + zipfile, "someCustomer", false, false,
+                                         OUTPUT_DIRECTORY, false, new FakeOnlineEmbargoChecker());
+    }
+}
@@ -0,0 +1,74 @@
+package no.sikt.nva;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ProcessedHandleRegistryTest {
+
+    private static final String HANDLE_PREFIX = "https://hdl.handle.net/11250/";
+    private static final int NUMBER_OF_HANDLES = 10_000;
+    private static final int NUMBER_OF_CLAIMERS = 8;
+
+    @Test
+    void shouldLetExactlyOneClaimerWinEveryHandle() throws Exception {
+        var registry = ProcessedHandleRegistry.inMemory();
+        var wins = new AtomicInteger();
+        Callable<Void> claimAll = () -> {
+            IntStream.range(0, NUMBER_OF_HANDLES)
+                .filter(suffix -> registry.claim(HANDLE_PREFIX + suffix))
+                .forEach(suffix -> wins.incrementAndGet());
+            return null;
+        };
+        var executor = Executors.newFixedThreadPool(NUMBER_OF_CLAIMERS);
+        try {
+            var claimers = executor.invokeAll(IntStream.range(0, NUMBER_OF_CLAIMERS)
+                                                  .mapToObj(claimer -> claimAll)
+                                                  .collect(Collectors.toList()));
+            for (Future<Void> claimer : claimers) {
+                claimer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(wins.get(), is(NUMBER_OF_HANDLES));
+    }
+
+    @Test
+    void shouldNotPersistAnythingForInMemoryRegistry(@TempDir Path tempDir) {
+        var registry = ProcessedHandleRegistry.inMemory();
+
+        registry.persist(List.of(HANDLE_PREFIX + 1));
+
+        assertThat(tempDir.toFile().list().length, is(0));
+    }
+
+    @Test
+    void shouldTreatHandlesWrittenByPreviousRunAsClaimed(@TempDir Path tempDir) {
+        var file = tempDir.resolve("processed_handles.txt");
+        var firstRun = ProcessedHandleRegistry.persistent(file);
+        firstRun.claim(HANDLE_PREFIX + 1);
+        firstRun.claim(HANDLE_PREFIX + 2);
+        firstRun.persist(List.of(HANDLE_PREFIX + 1));
+
+        var secondRun = ProcessedHandleRegistry.persistent(file);
+
+        assertThat(secondRun.claim(HANDLE_PREFIX + 1), is(false));
+        assertThat(secondRun.claim(HANDLE_PREFIX + 2), is(true));
+        secondRun.persist(List.of(HANDLE_PREFIX + 2));
+
+        var thirdRun = ProcessedHandleRegistry.persistent(file);
+        assertThat(thirdRun.claim(HANDLE_PREFIX + 1), is(false));
+        assertThat(thirdRun.claim(HANDLE_PREFIX + 2), is(false));
+    }
+}
@@ -0,0 +1,40 @@
+package no.sikt.nva;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.net.URI;
+import no.sikt.nva.brage.migration.common.model.record.Record;
+import org.junit.jupiter.api.Test;
+
+public class RecordStorageTest {
+
+    private static final URI HANDLE = URI.create("https://hdl.handle.net/11250/2506045");
+    private static final URI OTHER_HANDLE = URI.create("https://hdl.handle.net/11250/2506046");
+
+    @Test
+    void shouldRegisterRecordIdOnlyOnce() {
+        var recordStorage = new RecordStorage();
+
+        assertThat(recordStorage.register(recordWithId(HANDLE)), is(true));
+        assertThat(recordStorage.register(recordWithId(HANDLE)), is(false));
+        assertThat(recordStorage.register(recordWithId(OTHER_HANDLE)), is(true));
+    }
+
+    @Test
+    void shouldTreatRecordsWithSameIdAsDuplicatesEvenWhenTheyDiffer() {
+        var recordStorage = new RecordStorage();
+        var record = recordWithId(HANDLE);
+        var differentRecordWithSameId = recordWithId(HANDLE);
+        differentRecordWithSameId.setBrageLocation("someOtherLocation");
+
+        recordStorage.register(record);
+
+        assertThat(recordStorage.register(differentRecordWithSameId), is(false));
+    }
+
+    private static Record recordWithId(URI id) {
+        var record = new Record();
+        record.setId(id);
+        return record;
+    }
+}
@@ -4,13 +4,21 @@ import static no.sikt.nva.RecordsWriter.WRITING_TO_JSON_FILE_HAS_FAILED;
 import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import no.sikt.nva.brage.migration.common.model.record.Record;
 import no.sikt.nva.brage.migration.common.model.record.Type;
 import no.sikt.nva.scrapers.TypeMapper;
+import no.unit.nva.commons.json.JsonUtils;
 import nva.commons.logutils.LogUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class RecordsWriterTest {
 
@@ -23,6 +31,31 @@ public class RecordsWriterTest {
         assertThat(appender.getMessages(), containsString(WRITING_TO_JSON_FILE_HAS_FAILED));
     }
 
+    @Test
+    void shouldWriteSameJsonArrayAsSerializingAllRecordsAtOnce(@TempDir Path tempDir) throws IOException {
+        var records = List.of(createRecord(), createRecord(), createRecord());
+        var file = tempDir.resolve(RecordsFormat.JSON.getFileName());
+
+        RecordsWriter.writeRecordsToFile(file.toString(), records, RecordsFormat.JSON);
+
+        assertThat(Files.readString(file), is(equalTo(RecordsWriter.convertMultipleRecordsToJsonString(records))));
+    }
+
+    @Test
+    void shouldWriteOneRecordPerLineWhenWritingNdjson(@TempDir Path tempDir) throws IOException {
+        var records = List.of(createRecord(), createRecord(), createRecord());
+        var file = tempDir.resolve(RecordsFormat.NDJSON.getFileName());
+
+        RecordsWriter.writeRecordsToFile(file.toString(), records, RecordsFormat.NDJSON);
+
+        var lines = Files.readAllLines(file);
+        assertThat(lines, hasSize(records.size()));
+        for (int i = 0; i < records.size(); i++) {
+            var record = JsonUtils.dtoObjectMapper.readValue(lines.get(i), Record.class);
+            assertThat(record.getId(), is(equalTo(records.get(i).getId())));
+        }
+    }
+
     private Record createRecord() {
         var record = new Record();
         record.setId(randomUri());
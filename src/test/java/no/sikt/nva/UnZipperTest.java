@@ -0,0 +1,75 @@
+package no.sikt.nva;
+
+import static no.sikt.nva.ResourceNameConstants.EMPTY_ZIP_FILE_NAME;
+import static no.sikt.nva.ResourceNameConstants.TEST_RESOURCE_PATH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class UnZipperTest {
+
+    private static final String BUNDLE_WITH_FORWARD_SLASHES_ZIP = "bundleWithForwardSlashes.zip";
+
+    @Test
+    void shouldHandOverTheSameBundlesAsExtractingTheWholeZipfileFirst(@TempDir Path tempDir) {
+        var zipfile = TEST_RESOURCE_PATH + BUNDLE_WITH_FORWARD_SLASHES_ZIP;
+        var extracted = UnZipper.extractResourceDirectories(zipfile, tempDir.resolve("extracted").toString())
+                            .stream()
+                            .filter(File::isDirectory)
+                            .map(File::getName)
+                            .collect(Collectors.toList());
+        var pipelined = new ArrayList<String>();
+
+        var numberOfBundles = UnZipper.extractResourceDirectories(zipfile, tempDir.resolve("pipelined").toString(), 1,
+                                                                  bundle -> pipelined.add(bundle.getName()));
+
+        assertThat(numberOfBundles, is(pipelined.size()));
+        assertThat(pipelined, containsInAnyOrder(extracted.toArray()));
+    }
+
+    @Test
+    void shouldHandOverBundlesOnlyWhenAllEntriesAreExtracted(@TempDir Path tempDir) {
+        var zipfile = TEST_RESOURCE_PATH + BUNDLE_WITH_FORWARD_SLASHES_ZIP;
+        var extractedDirectory = tempDir.resolve("extracted");
+        UnZipper.extractResourceDirectories(zipfile, extractedDirectory.toString());
+        var filesWhenHandedOver = new HashMap<String, Long>();
+
+        UnZipper.extractResourceDirectories(zipfile, tempDir.resolve("pipelined").toString(), 1,
+                                            bundle -> filesWhenHandedOver.put(bundle.getName(), countFiles(bundle)));
+
+        for (var bundle : filesWhenHandedOver.entrySet()) {
+            assertThat(bundle.getValue(), is(countFiles(extractedDirectory.resolve(bundle.getKey()).toFile())));
+        }
+    }
+
+    private static long countFiles(File bundle) {
+        try (var files = Files.walk(bundle.toPath())) {
+            return files.count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void shouldNotHandOverAnyBundlesWhenZipfileIsMissingOrEmpty(@TempDir Path tempDir) {
+        var bundles = new ArrayList<File>();
+
+        UnZipper.extractResourceDirectories(TEST_RESOURCE_PATH + "nonexistent.zip", tempDir.toString(), 1,
+                                            bundles::add);
+        UnZipper.extractResourceDirectories(TEST_RESOURCE_PATH + EMPTY_ZIP_FILE_NAME, tempDir.toString(), 1,
+                                            bundles::add);
+
+        assertThat(bundles, is(empty()));
+    }
+}
@@ -0,0 +1,73 @@
+package no.sikt.nva.channelregister;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class ChannelRegisterIndexTest {
+
+    private static final String PID = "70196DF2-7107-40F2-B6DF-045F3FAED38D";
+    private static final String OTHER_PID = "0C9EEA8C-5E43-4E2A-9E24-8A5B6F3C6E11";
+    private static final String TITLE = "Earth System Science Data";
+
+    @ParameterizedTest
+    @ValueSource(strings = {TITLE, "earth system science data", "  EARTH SYSTEM SCIENCE DATA  "})
+    void shouldFindNamesIgnoringCaseAndSurroundingWhitespace(String title) {
+        var index = ChannelRegisterIndex.ignoringCase(List.of(publisher(PID, TITLE)),
+                                                      ChannelRegisterPublisher::getOriginalTitle,
+                                                      ChannelRegisterPublisher::getPid);
+
+        assertThat(index.lookUp(title), is(equalTo(PID)));
+    }
+
+    @Test
+    void shouldMatchIssnExactly() {
+        var index = ChannelRegisterIndex.exact(List.of(publisher(PID, "2038-324X")),
+                                               publisher -> List.of(publisher.getOriginalTitle()),
+                                               ChannelRegisterPublisher::getPid);
+
+        assertThat(index.lookUp("2038-324X"), is(equalTo(PID)));
+        assertThat(index.lookUp("2038-324x"), is(nullValue()));
+    }
+
+    @Test
+    void shouldReturnTheOnlyPidWhenSameEntryOccursSeveralTimes() {
+        var index = ChannelRegisterIndex.ignoringCase(List.of(publisher(PID, TITLE), publisher(PID, TITLE)),
+                                                      ChannelRegisterPublisher::getOriginalTitle,
+                                                      ChannelRegisterPublisher::getPid);
+
+        assertThat(index.lookUp(TITLE), is(equalTo(PID)));
+    }
+
+    @Test
+    void shouldThrowWhenNameHasSeveralDistinctPids() {
+        var index = ChannelRegisterIndex.ignoringCase(List.of(publisher(PID, TITLE), publisher(OTHER_PID, TITLE)),
+                                                      ChannelRegisterPublisher::getOriginalTitle,
+                                                      ChannelRegisterPublisher::getPid);
+
+        assertThrows(IllegalStateException.class, () -> index.lookUp(TITLE));
+    }
+
+    @Test
+    void shouldReturnNullForMissingOrNullName() {
+        var index = ChannelRegisterIndex.ignoringCase(List.of(publisher(PID, TITLE)),
+                                                      ChannelRegisterPublisher::getOriginalTitle,
+                                                      ChannelRegisterPublisher::getPid);
+
+        assertThat(index.lookUp("Some other title"), is(nullValue()));
+        assertThat(index.lookUp(null), is(nullValue()));
+    }
+
+    private static ChannelRegisterPublisher publisher(String pid, String originalTitle) {
+        var publisher = new ChannelRegisterPublisher();
+        publisher.setPid(pid);
+        publisher.setOriginalTitle(originalTitle);
+        return publisher;
+    }
+}
@@ -5,6 +5,7 @@ import static no.sikt.nva.brage.migration.common.model.NvaType.DOCTORAL_THESIS;
 import static no.sikt.nva.brage.migration.common.model.NvaType.MASTER_THESIS;
 import static no.unit.nva.testutils.RandomDataGenerator.randomString;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
@@ -17,6 +18,7 @@ import no.sikt.nva.brage.migration.common.model.record.PublicationContext;
 import no.sikt.nva.brage.migration.common.model.record.Record;
 import no.sikt.nva.brage.migration.common.model.record.Type;
 import nva.commons.core.paths.UriWrapper;
+import nva.commons.logutils.LogUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -27,6 +29,7 @@ public class ChannelRegisterTest {
 
     public static final String PRINT_ISSN = "2038-324X";
     public static final String ONLINE_ISSN = "2279-7084";
+    private static final String DUPLICATE_JOURNAL_TITLE = "Earth System Science Data";
 
     public static Stream<Arguments> provideDegrees() {
         return Stream.of(Arguments.of(BACHELOR_THESIS.getValue()),
@@ -129,4 +132,47 @@ public class ChannelRegisterTest {
 
         assertThat(actual, is(nullValue()));
     }
+
+    @Test
+    void shouldResolveSameIssnOnlyOncePerResolutionCache() {
+        var register = ChannelRegister.getRegister().withNewResolutionCache();
+        var brageLocation = new BrageLocation(null);
+
+        var first = register.lookUpInJournalByIssn(PRINT_ISSN, brageLocation);
+        var second = register.lookUpInJournalByIssn(PRINT_ISSN, brageLocation);
+
+        assertThat(second, is(equalTo(first)));
+        assertThat(register.getResolutionCache().getMisses(), is(equalTo(1L)));
+        assertThat(register.getResolutionCache().getHits(), is(equalTo(1L)));
+    }
+
+    @Test
+    void shouldShareCacheEntryForTitlesDifferingOnlyInCaseAndWhitespace() {
+        var register = ChannelRegister.getRegister().withNewResolutionCache();
+        var brageLocation = new BrageLocation(null);
+
+        register.lookUpInJournalByTitle("someTitle", brageLocation);
+        register.lookUpInJournalByTitle("  SOMETITLE ", brageLocation);
+
+        assertThat(register.getResolutionCache().getMisses(), is(equalTo(1L)));
+    }
+
+    @Test
+    void shouldLogDuplicateJournalForEveryLookupWhenResolutionIsCached() {
+        var register = ChannelRegister.getRegister().withNewResolutionCache();
+        var appender = LogUtils.getTestingAppenderForRootLogger();
+
+        register.lookUpInJournalByTitle(DUPLICATE_JOURNAL_TITLE, brageLocationWithTitle("firstRecord"));
+        register.lookUpInJournalByTitle(DUPLICATE_JOURNAL_TITLE, brageLocationWithTitle("secondRecord"));
+
+        assertThat(register.getResolutionCache().getHits(), is(equalTo(1L)));
+        assertThat(appender.getMessages(), containsString("firstRecord"));
+        assertThat(appender.getMessages(), containsString("secondRecord"));
+    }
+
+    private static BrageLocation brageLocationWithTitle(String title) {
+        var brageLocation = new BrageLocation(null);
+        brageLocation.setTitle(title);
+        return brageLocation;
+    }
 }
@@ -0,0 +1,42 @@
+package no.sikt.nva.channelregister;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class WildcardMatcherTest {
+
+    private static final List<ChannelRegisterWildcard> WILDCARDS = List.of(
+        new ChannelRegisterWildcard("Høgskolen i Oslo og Akershus", "OsloMet"),
+        new ChannelRegisterWildcard("Høgskolen i Oslo", "OsloMet, old name"),
+        new ChannelRegisterWildcard("NTNU", "Norges teknisk-naturvitenskapelige universitet"),
+        new ChannelRegisterWildcard("Kunsthøgskolen i Oslo", "Kunsthøgskolen i Oslo"),
+        new ChannelRegisterWildcard("skolen", "Any school"));
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "Utgitt av Høgskolen i Oslo og Akershus, 2015",
+        "Høgskolen i Oslo",
+        "NTNU, Høgskolen i Oslo",
+        "Kunsthøgskolen i Oslo",
+        "Skolen",
+        "Handelshøyskolen BI",
+        "ntnu",
+        "Kunsthøgskolen i Oslo og NTNU"})
+    void shouldFindSameWildcardAsTestingEveryWildcardInListOrder(String publisher) {
+        var matcher = WildcardMatcher.compile(WILDCARDS);
+
+        assertThat(matcher.findFirstMatch(publisher), is(equalTo(findByScanning(publisher))));
+    }
+
+    private static Optional<String> findByScanning(String publisher) {
+        return WILDCARDS.stream()
+                   .filter(wildcard -> publisher.contains(wildcard.getWildcard()))
+                   .map(ChannelRegisterWildcard::getName)
+                   .findFirst();
+    }
+}
@@ -0,0 +1,138 @@
+package no.sikt.nva.generator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipFile;
+import no.sikt.nva.model.dublincore.DcValue;
+import no.sikt.nva.model.dublincore.DublinCore;
+import no.sikt.nva.scrapers.ContributorScraper;
+import no.sikt.nva.scrapers.DublinCoreFactory;
+import no.sikt.nva.scrapers.DublinCoreParser;
+import no.sikt.nva.scrapers.embargo.EmbargoScraper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SyntheticExportGeneratorTest {
+
+    private static final String DUBLIN_CORE_FILENAME = "dublin_core.xml";
+    private static final long SEED = 42;
+
+    @Test
+    void shouldSpreadRecordsOverTheCollectionsListedInSamlingsfil(@TempDir Path directory) throws IOException {
+        generator(directory, 3, Map.of(), Map.of()).generate(10);
+
+        var collections = Files.readAllLines(directory.resolve(SyntheticExportGenerator.COLLECTION_FILENAME));
+
+        assertThat(collections, contains("synthetic_0", "synthetic_1", "synthetic_2"));
+        var numberOfBundles = 0;
+        for (var collection : collections) {
+            numberOfBundles += readDublinCores(directory.resolve(collection + ".zip")).size();
+        }
+        assertThat(numberOfBundles, is(10));
+    }
+
+    @Test
+    void shouldGenerateBundlesWithDublinCoreOfTheConfiguredTypes(@TempDir Path directory) throws IOException {
+        generator(directory, 1, Map.of("Master thesis", 1), Map.of()).generate(20);
+
+        var dublinCores = readDublinCores(directory.resolve("synthetic_0.zip"));
+
+        var types = new ArrayList<String>();
+        dublinCores.forEach(dublinCore -> dublinCore.getDcValues().stream()
+                                              .filter(DcValue::isType)
+                                              .map(DcValue::getValue)
+                                              .forEach(types::add));
+        assertThat(types, hasSize(20));
+        assertThat(types, everyItem(is("Master thesis")));
+    }
+
+    @Test
+    void shouldGenerateBundlesWithHandleContentsAndOriginalFileOfConfiguredSize(@TempDir Path directory)
+        throws IOException {
+        new SyntheticExportGenerator(directory, 1, Map.of(), Map.of(), 3, 2000, 2000, SEED).generate(1);
+
+        try (var zip = new ZipFile(directory.resolve("synthetic_0.zip").toFile())) {
+            var bundle = SyntheticExportGenerator.FIRST_HANDLE_ID + "/";
+            var handle = new String(zip.getInputStream(zip.getEntry(bundle + "handle")).readAllBytes());
+            var contents = new String(zip.getInputStream(zip.getEntry(bundle + "contents")).readAllBytes());
+            var original = zip.getInputStream(zip.getEntry(bundle + SyntheticExportGenerator.FIRST_HANDLE_ID
+                                                           + ".pdf")).readAllBytes();
+
+            assertThat(handle, is(SyntheticExportGenerator.HANDLE_PREFIX
+                                  + SyntheticExportGenerator.FIRST_HANDLE_ID + "\n"));
+            assertThat(contents, startsWith(SyntheticExportGenerator.FIRST_HANDLE_ID + ".pdf\tbundle:ORIGINAL"));
+            assertThat(original.length, is(2000));
+            assertThat(new String(original, 0, 5), is("%PDF-"));
+        }
+    }
+
+    @Test
+    void shouldWriteEmbargoesContributorsAndHandlesReadableByTheMigration(@TempDir Path directory)
+        throws IOException {
+        var shares = Map.of(SyntheticField.EMBARGO, 1.0, SyntheticField.IMPORTED, 1.0,
+                            SyntheticField.KNOWN_CONTRIBUTOR, 1.0);
+        generator(directory, 1, Map.of(), shares).generate(5);
+
+        var embargoes = EmbargoScraper.getEmbargoes(
+            directory.resolve(SyntheticExportGenerator.EMBARGO_FILENAME).toFile());
+        var contributors = ContributorScraper.getContributors(
+            directory.resolve(SyntheticExportGenerator.CONTRIBUTORS_FILENAME).toFile());
+        var handles = Files.readAllLines(directory.resolve(SyntheticExportGenerator.HANDLES_FILENAME));
+
+        assertThat(embargoes.size(), is(5));
+        assertThat(contributors.size(), is(400));
+        assertThat(handles, hasSize(5));
+        assertThat(handles, everyItem(startsWith(SyntheticExportGenerator.HANDLE_PREFIX)));
+    }
+
+    @Test
+    void shouldGenerateTheSameExportForTheSameSeed(@TempDir Path first, @TempDir Path second) throws IOException {
+        generator(first, 2, Map.of(), Map.of()).generate(50);
+        generator(second, 2, Map.of(), Map.of()).generate(50);
+
+        for (var file : List.of(SyntheticExportGenerator.EMBARGO_FILENAME,
+                                SyntheticExportGenerator.CONTRIBUTORS_FILENAME, "synthetic_1.zip")) {
+            assertThat(Files.readAllBytes(first.resolve(file)), is(Files.readAllBytes(second.resolve(file))));
+        }
+    }
+
+    @Test
+    void shouldRefuseToGenerateAnEmptyExport(@TempDir Path directory) {
+        var generator = generator(directory, 1, Map.of(), Map.of());
+
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(0));
+    }
+
+    private static SyntheticExportGenerator generator(Path directory, int numberOfCollections,
+                                                      Map<String, Integer> typeWeights,
+                                                      Map<SyntheticField, Double> fieldShares) {
+        return new SyntheticExportGenerator(directory, numberOfCollections, typeWeights, fieldShares, 5, 100, 1000,
+                                            SEED);
+    }
+
+    private static List<DublinCore> readDublinCores(Path zipfile) throws IOException {
+        var dublinCores = new ArrayList<DublinCore>();
+        try (var zip = new ZipFile(zipfile.toFile())) {
+            var entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                var entry = entries.nextElement();
+                if (entry.getName().endsWith(DUBLIN_CORE_FILENAME)) {
+                    dublinCores.add(DublinCoreFactory.createDublinCoreFromXml(zip.getInputStream(entry),
+                                                                              DublinCoreParser.JAXB));
+                }
+            }
+        }
+        return dublinCores;
+    }
+}
@@ -17,6 +17,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import no.sikt.nva.brage.migration.common.model.BrageLocation;
 import no.sikt.nva.brage.migration.common.model.ErrorDetails.Error;
@@ -145,6 +146,37 @@ public class ContentScraperTest {
         assertThat(filenames, containsInAnyOrder(ORIGINAL_FILENAME_1, ORIGINAL_FILENAME_2, DUBLIN_CORE_FILE_NAME));
     }
 
+    @Test
+    void shouldDetectMimeTypeOfContentFilesWhenScrapingRecordsThatArePushed(@TempDir Path tempDir) throws Exception {
+        var bundle = initiateBundleWithPdf(tempDir);
+        var contentScraper = new ContentScraper(bundle, new BrageLocation(null), someLicense, null, randomString(),
+                                                true);
+        var mimeTypes = contentScraper.scrapeContent().getContentFiles().stream()
+                            .map(ContentFile::getMimeType)
+                            .collect(Collectors.toList());
+
+        assertThat(mimeTypes, containsInAnyOrder("application/pdf", "application/xml"));
+    }
+
+    @Test
+    void shouldNotDetectMimeTypeOfContentFilesWhenScrapingRecordsThatAreNotPushed(@TempDir Path tempDir)
+        throws Exception {
+        var bundle = initiateBundleWithPdf(tempDir);
+        var contentScraper = new ContentScraper(bundle, new BrageLocation(null), someLicense, null, randomString());
+        var contentFiles = contentScraper.scrapeContent().getContentFiles();
+
+        assertTrue(contentFiles.stream().map(ContentFile::getMimeType).allMatch(Objects::isNull));
+    }
+
+    private static Path initiateBundleWithPdf(Path tempDir) throws IOException {
+        var bundle = tempDir.resolve("bundle");
+        Files.createDirectories(bundle);
+        Files.writeString(bundle.resolve("contents"), ORIGINAL_FILENAME_1 + "\tbundle:ORIGINAL\tdescription:Pdf");
+        Files.writeString(bundle.resolve(ORIGINAL_FILENAME_1), "%PDF-1.4\n");
+        Files.writeString(bundle.resolve(DUBLIN_CORE_FILE_NAME), "<?xml version=\"1.0\"?><dublin_core/>");
+        return bundle;
+    }
+
     private static Path initiateBundle(Path tempDir) throws IOException {
         var bundle = tempDir.resolve("bundle");
         Files.createDirectories(bundle);
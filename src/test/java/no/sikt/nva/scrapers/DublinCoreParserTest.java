@@ -0,0 +1,108 @@
+package no.sikt.nva.scrapers;
+
+import static no.sikt.nva.ResourceNameConstants.TEST_RESOURCE_PATH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import no.sikt.nva.exceptions.DublinCoreException;
+import no.sikt.nva.model.dublincore.DcValue;
+import no.sikt.nva.model.dublincore.DublinCore;
+import no.sikt.nva.model.dublincore.Element;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class DublinCoreParserTest {
+
+    private static final String XML_PREFIX = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"valid_dublin_core.xml", "valid_dublin_core_with_warnings.xml",
+        "dc_with_duplicated_values.xml", "metadata_fs.xml"})
+    void shouldParseResourceFilesEquallyWithStaxAndJaxb(String fileName) {
+        var xml = Path.of(TEST_RESOURCE_PATH + fileName);
+
+        var jaxb = DublinCoreFactory.createDublinCoreFromXml(xml, DublinCoreParser.JAXB);
+        var stax = DublinCoreFactory.createDublinCoreFromXml(xml, DublinCoreParser.STAX);
+
+        assertThat(describe(stax), is(equalTo(describe(jaxb))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "<dcvalue element=\"unknown\" qualifier=\"author\">Navnesen, Fornavn</dcvalue>",
+        "<dcvalue element=\"contributor\" qualifier=\"unknown\">Navnesen, Fornavn</dcvalue>",
+        "<dcvalue element=\"title\">Tittel</dcvalue>",
+        "<dcvalue element=\"title\" qualifier=\"none\" language=\"nb_NO\">Tittel</dcvalue>",
+        "<dcvalue element=\"title\" qualifier=\"none\"></dcvalue>",
+        "<dcvalue element=\"title\" qualifier=\"none\"/>",
+        "<dcvalue element=\"title\" qualifier=\"none\">  Tittel med\n linjeskift  </dcvalue>",
+        "<dcvalue element=\"title\" qualifier=\"none\">Tittel &amp; &#x20;<![CDATA[<undertittel>]]></dcvalue>",
+        "<other><dcvalue element=\"title\" qualifier=\"none\">Ignored</dcvalue></other>"
+        + "<dcvalue element=\"title\" qualifier=\"none\">Tittel</dcvalue>",
+        "<!-- comment --><dcvalue element=\"date\" qualifier=\"issued\">2020</dcvalue>"
+    })
+    void shouldParseDcValuesEquallyWithStaxAndJaxb(String dcValues) {
+        var xml = XML_PREFIX + "<dublin_core schema=\"dc\">" + dcValues + "</dublin_core>";
+
+        var jaxb = parse(xml, DublinCoreParser.JAXB);
+        var stax = parse(xml, DublinCoreParser.STAX);
+
+        assertThat(describe(stax), is(equalTo(describe(jaxb))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"JAXB", "STAX"})
+    void shouldReturnNullDcValuesWhenDublinCoreIsEmpty(String parser) {
+        var dublinCore = parse(XML_PREFIX + "<dublin_core schema=\"dc\"/>", DublinCoreParser.valueOf(parser));
+
+        assertThat(dublinCore.getDcValues(), is(nullValue()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"JAXB", "STAX"})
+    void shouldThrowDublinCoreExceptionWhenXmlIsNotDublinCore(String parser) {
+        assertThrows(DublinCoreException.class,
+                     () -> parse(XML_PREFIX + "<metadata><dcvalue element=\"title\">Tittel</dcvalue></metadata>",
+                                 DublinCoreParser.valueOf(parser)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"JAXB", "STAX"})
+    void shouldThrowDublinCoreExceptionWhenXmlIsMalformed(String parser) {
+        assertThrows(DublinCoreException.class,
+                     () -> parse(XML_PREFIX + "<dublin_core><dcvalue element=\"title\">Tittel</dublin_core>",
+                                 DublinCoreParser.valueOf(parser)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"contributor", "subjectcode", "unknown"})
+    void shouldLookUpElementsLikeFromValue(String value) {
+        var expected = Element.lookup(value);
+        var fromValue = "unknown".equals(value) ? null : Element.fromValue(value);
+
+        assertThat(expected, is(equalTo(fromValue)));
+    }
+
+    private static DublinCore parse(String xml, DublinCoreParser parser) {
+        return DublinCoreFactory.createDublinCoreFromXml(
+            new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), parser);
+    }
+
+    private static List<String> describe(DublinCore dublinCore) {
+        return dublinCore.getDcValues().stream()
+                   .map(DublinCoreParserTest::describe)
+                   .collect(Collectors.toList());
+    }
+
+    private static String describe(DcValue dcValue) {
+        return dcValue.getElement() + "|" + dcValue.getQualifier() + "|" + dcValue.getValue() + "|"
+               + dcValue.isScraped();
+    }
+}
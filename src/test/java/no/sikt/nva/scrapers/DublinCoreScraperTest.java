@@ -150,7 +150,8 @@ public class DublinCoreScraperTest {
         dcScraper = new DublinCoreScraper(
             SHOULD_VALIDATE_ONLINE,
             SHOULD_LOOKUP_IN_CHANNEL_REGISTER,
-            Map.of()
+            Map.of(),
+            ReferenceData.load(SHOULD_LOOKUP_IN_CHANNEL_REGISTER)
         );
     }
 
@@ -37,6 +37,7 @@ public class EntityDescriptionExtractorTest {
     private static final boolean ONLINE_VALIDATION_DISABLED = false;
 
     private static final boolean LOOKUP_IN_CHANNEL_REGISTER = false;
+    private static final ReferenceData REFERENCE_DATA = ReferenceData.load(LOOKUP_IN_CHANNEL_REGISTER);
     public static final String ORCID_VALUE = "0000-0000-0000-0000";
     public static final URI ORCID_URI = URI.create("https://orcid.org/0000-0000-0000-0000");
 
@@ -65,7 +66,8 @@ public class EntityDescriptionExtractorTest {
         var localCodeValue = new DcValue(Element.DESCRIPTION, Qualifier.LOCAL_CODE, someLocalCode);
         var typeDcValue = new DcValue(Element.TYPE, null, "Others");
         var dublinCore = DublinCoreFactory.createDublinCoreWithDcValues(List.of(localCodeValue, typeDcValue));
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
         var descriptions = record.getEntityDescription().getDescriptions();
         assertThat(descriptions, hasItem(someLocalCode));
@@ -75,7 +77,8 @@ public class EntityDescriptionExtractorTest {
     void shouldKeepOriginalOrderOfDescriptions() {
         var dublinCore = DublinCoreFactory.createDublinCoreFromXml(
             new File(TEST_RESOURCE_PATH + "dc_with_duplicated_values.xml"));
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
         var descriptions = record.getEntityDescription().getDescriptions();
         assertThat(descriptions, is(equalTo(List.of("First description", "Second description"))));
@@ -85,7 +88,8 @@ public class EntityDescriptionExtractorTest {
     void shouldCreateContributorWithOrcidWhenBrageRecordHasSingleContributorAndSingleOrcId() {
         var dublinCore = DublinCoreFactory.createDublinCoreWithDcValues(
             List.of(randomContributor(), orcIdWithValue(ORCID_VALUE)));
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
         var contributor = record.getEntityDescription().getContributors().get(0);
 
@@ -96,7 +100,8 @@ public class EntityDescriptionExtractorTest {
     @MethodSource("contributorAndOrcIdProvider")
     void shouldCreateContributorWithoutOrcidWhenBrageRecordHasOrcId(List<DcValue> dcValues) {
         var dublinCore = DublinCoreFactory.createDublinCoreWithDcValues(dcValues);
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
 
         record.getEntityDescription().getContributors().forEach(contributor -> {
@@ -125,7 +130,8 @@ public class EntityDescriptionExtractorTest {
     @ValueSource(strings = {"1967-1989", "1967–1989"})
     void shouldMepFirstYearInPeriodToPublicationDate(String date) {
         var dublinCore = new DublinCore(List.of(new DcValue(Element.DATE, Qualifier.ISSUED, date)));
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
 
         var year = record.getEntityDescription().getPublicationDate().getNva().getYear();
@@ -137,7 +143,8 @@ public class EntityDescriptionExtractorTest {
     void shouldMapNotSupportedPublisherVersionToDescription() {
         var publisherVersion = randomString();
         var dublinCore = new DublinCore(List.of(new DcValue(Element.DESCRIPTION, Qualifier.VERSION, publisherVersion)));
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
 
         var descriptions = record.getEntityDescription().getDescriptions();
@@ -149,7 +156,8 @@ public class EntityDescriptionExtractorTest {
     void shouldMapNotSupportedPublisherVersionFromDcTypeVersionToDescription() {
         var publisherVersion = randomString();
         var dublinCore = new DublinCore(List.of(new DcValue(Element.TYPE, Qualifier.VERSION, publisherVersion)));
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
 
         var descriptions = record.getEntityDescription().getDescriptions();
@@ -162,7 +170,8 @@ public class EntityDescriptionExtractorTest {
     void shouldNotMapSupportedPublisherVersionToDescription(PublisherVersion publisherVersion) {
         var dublinCore = new DublinCore(List.of(new DcValue(Element.DESCRIPTION, Qualifier.VERSION,
                                                             publisherVersion.getValue())));
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
 
         var descriptions = record.getEntityDescription().getDescriptions();
@@ -176,7 +185,8 @@ public class EntityDescriptionExtractorTest {
         var secondPart = randomString();
         var value = new DcValue(Element.DESCRIPTION, Qualifier.ABSTRACT, String.format("%s\r\n%s", firstPart, secondPart));
         var dublinCore = new DublinCore(List.of(value));
-        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of());
+        var dublinCoreScraper = new DublinCoreScraper(ONLINE_VALIDATION_DISABLED, LOOKUP_IN_CHANNEL_REGISTER, Map.of(),
+                                                      REFERENCE_DATA);
         var record = dublinCoreScraper.validateAndParseDublinCore(dublinCore, new BrageLocation(null), SOME_CUSTOMER);
 
         var actualAbstract = record.getEntityDescription().getAbstracts().stream().findAny().orElseThrow();
@@ -8,9 +8,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import no.sikt.nva.brage.migration.common.model.BrageLocation;
 import no.sikt.nva.exceptions.HandleException;
 import no.sikt.nva.model.dublincore.DcValue;
@@ -73,6 +75,25 @@ public class HandleScraperTest {
         assertThat(actualHandle, is(equalTo(expectedHandle)));
     }
 
+    @Test
+    void shouldFindHandleInDublinCoreWithoutMarkingItAsScraped() {
+        var uriString = "https://hdl.handle.net/11250/2684299";
+        var dublinCoreWithHandle = generateDublinCoreWithhandle(uriString);
+
+        var handle = new HandleScraper().findHandle(Path.of("does/not/exists"), () -> dublinCoreWithHandle);
+
+        assertThat(handle, is(equalTo(Optional.of(UriWrapper.fromUri(uriString).getUri()))));
+        assertFalse(dublinCoreWithHandle.getDcValues().get(0).isScraped());
+    }
+
+    @Test
+    void shouldFindNoHandleWhenThereIsNoHandleAnyWhere() {
+        var handle = new HandleScraper().findHandle(Path.of("does/not/exists"),
+                                                    this::generateDublinCoreWithoutHandle);
+
+        assertThat(handle, is(equalTo(Optional.empty())));
+    }
+
     private DublinCore generateDublinCoreWithTitle(String title) {
         var dcValue = new DcValue(Element.TITLE, Qualifier.NONE, title);
         return new DublinCore(List.of(dcValue));
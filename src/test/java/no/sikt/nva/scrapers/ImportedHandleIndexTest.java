@@ -0,0 +1,73 @@
+package no.sikt.nva.scrapers;
+
+import static no.sikt.nva.scrapers.AlreadyImportedHandlesScraperTest.TEST_FILE_LOCATION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.File;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class ImportedHandleIndexTest {
+
+    private static final String HANDLE_PREFIX = "https://hdl.handle.net/11250/";
+
+    @Test
+    void shouldContainTheSameHandlesAsTheScrapedList() {
+        var file = new File(TEST_FILE_LOCATION);
+        var handles = AlreadyImportedHandlesScraper.scrapeHandlesFromSuppliedExternalFile(file);
+
+        var index = AlreadyImportedHandlesScraper.scrapeHandleIndexFromSuppliedExternalFile(file);
+
+        assertThat(index.size(), is(handles.size()));
+        handles.forEach(handle -> assertThat(index.contains(handle), is(true)));
+        assertThat(index.contains(HANDLE_PREFIX + "1"), is(false));
+    }
+
+    @Test
+    void shouldReturnEmptyIndexWhenFileDoesNotExist() {
+        var index = AlreadyImportedHandlesScraper.scrapeHandleIndexFromSuppliedExternalFile(
+            new File("nonexistent.csv"));
+
+        assertThat(index.size(), is(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"https://hdl.handle.net/11250/2759567", "https://hdl.handle.net/0/0",
+        "https://hdl.handle.net/2147483647/4294967295", "https://hdl.handle.net/2147483648/1",
+        "https://hdl.handle.net/11250/4294967296", "https://hdl.handle.net/11250/02759567",
+        "https://hdl.handle.net/11250/2759567.1", "https://hdl.handle.net/11250", "https://hdl.handle.net/11250/",
+        "http://hdl.handle.net/11250/2759567", "not a handle"})
+    void shouldOnlyFindTheHandleThatWasAdded(String handle) {
+        var index = new ImportedHandleIndex();
+
+        index.add(handle);
+
+        assertThat(index.contains(handle), is(true));
+        assertThat(index.contains(handle + "1"), is(false));
+        assertThat(index.contains("https://hdl.handle.net/11250/2759568"), is(false));
+        assertThat(index.size(), is(1));
+    }
+
+    @Test
+    void shouldNotConfuseHandlesWithAndWithoutLeadingZeros() {
+        var index = new ImportedHandleIndex();
+
+        index.add(HANDLE_PREFIX + "0123");
+
+        assertThat(index.contains(HANDLE_PREFIX + "123"), is(false));
+    }
+
+    @Test
+    void shouldFindAllHandlesWhenIndexGrows() {
+        var index = new ImportedHandleIndex();
+        IntStream.range(0, 100_000).forEach(suffix -> index.add(HANDLE_PREFIX + suffix));
+        IntStream.range(0, 100_000).forEach(suffix -> index.add(HANDLE_PREFIX + suffix));
+
+        assertThat(index.size(), is(100_000));
+        assertThat(IntStream.range(0, 100_000).allMatch(suffix -> index.contains(HANDLE_PREFIX + suffix)), is(true));
+        assertThat(IntStream.range(100_000, 200_000).noneMatch(suffix -> index.contains(HANDLE_PREFIX + suffix)),
+                   is(true));
+    }
+}
@@ -0,0 +1,43 @@
+package no.sikt.nva.scrapers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import java.util.List;
+import java.util.Map;
+import no.sikt.nva.brage.migration.common.model.record.FundingSource;
+import no.sikt.nva.brage.migration.common.model.record.FundingSources;
+import org.junit.jupiter.api.Test;
+
+public class ReferenceDataTest {
+
+    private static final String EC_H2020 = "EC/H2020";
+
+    @Test
+    void shouldLoadFundingSourcesIndexedByName() {
+        var referenceData = ReferenceData.load(false);
+
+        var fundingSource = referenceData.getFundingSources().findByName(EC_H2020);
+
+        assertThat(fundingSource.getIdentifier(), is(EC_H2020));
+    }
+
+    @Test
+    void shouldLoadCustomerAddresses() {
+        var referenceData = ReferenceData.load(false);
+
+        assertThat(referenceData.getCustomerAddresses().getAddressForCustomer("ntnu"), is(notNullValue()));
+    }
+
+    @Test
+    void shouldReturnFirstFundingSourceWhenSeveralSourcesShareName() {
+        var first = new FundingSource("first", Map.of("en", "Shared name"));
+        var second = new FundingSource("second", Map.of("nb", "Shared name"));
+        var fundingSources = new FundingSources(List.of(first, second));
+
+        assertThat(fundingSources.findByName("Shared name"), is(sameInstance(first)));
+        assertThat(fundingSources.findByName("Unknown name"), is(nullValue()));
+    }
+}
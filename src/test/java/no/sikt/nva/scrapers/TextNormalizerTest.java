@@ -0,0 +1,105 @@
+package no.sikt.nva.scrapers;
+
+import static no.sikt.nva.scrapers.DublinCoreScraper.EMPTY_SPACES_LINEBREAKS_REGEX;
+import static no.sikt.nva.scrapers.DublinCoreScraper.REGEX_ISSN;
+import static no.sikt.nva.validators.DublinCoreValidator.DEHYPHENATION_REGEX;
+import static no.sikt.nva.validators.DublinCoreValidator.REGEX_BRACKETS_AND_DOT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import nva.commons.core.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class TextNormalizerTest {
+
+    private static final long SEED = 20_231_017L;
+    private static final int NUMBER_OF_VALUES = 20_000;
+    private static final int MAX_LENGTH = 24;
+    private static final String[] FRAGMENTS = {"0", "7", "9", "a", "m", "x", "X", "-", "\u2010", "\u00B7",
+        "\u00AD", "\u2013", "&#x20;", "&#x2", "&", "#", " ", "\t", "\n", "\r", "\f", "\u000B", "\b", "\u200B",
+        "\u00A0", "\"", ".", "[", "]", "?", "/", "\u00E9"};
+
+    public static Stream<Arguments> normalizationsAndTheRegularExpressionsTheyReplace() {
+        return Stream.of(
+            Arguments.of("removeWhitespace", (UnaryOperator<String>) TextNormalizer::removeWhitespace,
+                         (UnaryOperator<String>) value -> value.replaceAll("\\s", StringUtils.EMPTY_STRING)),
+            Arguments.of("removeHyphenation", (UnaryOperator<String>) TextNormalizer::removeHyphenation,
+                         (UnaryOperator<String>) value -> value.replaceAll(DEHYPHENATION_REGEX,
+                                                                           StringUtils.EMPTY_STRING)),
+            Arguments.of("repairIsbn", (UnaryOperator<String>) TextNormalizer::repairIsbn,
+                         (UnaryOperator<String>) value -> value.replaceAll(DEHYPHENATION_REGEX,
+                                                                           StringUtils.EMPTY_STRING)
+                                                              .replaceAll("[^0-9]", "")
+                                                              .replaceAll(StringUtils.WHITESPACES,
+                                                                          StringUtils.EMPTY_STRING)),
+            Arguments.of("repairIsmn", (UnaryOperator<String>) TextNormalizer::repairIsmn,
+                         (UnaryOperator<String>) value -> value.replaceAll(DEHYPHENATION_REGEX,
+                                                                           StringUtils.EMPTY_STRING)
+                                                              .replaceAll(StringUtils.WHITESPACES,
+                                                                          StringUtils.EMPTY_STRING)),
+            Arguments.of("repairIssnCharacters", (UnaryOperator<String>) TextNormalizer::repairIssnCharacters,
+                         (UnaryOperator<String>) value -> value.replaceAll(REGEX_ISSN, StringUtils.EMPTY_STRING)
+                                                              .toUpperCase(Locale.ROOT)),
+            Arguments.of("removeLineBreaks", (UnaryOperator<String>) TextNormalizer::removeLineBreaks,
+                         (UnaryOperator<String>) value -> value.replaceAll("(\n)|(\b)|(\u200B)|(\t)",
+                                                                           StringUtils.EMPTY_STRING)),
+            Arguments.of("removeLineBreaksAndQuotes",
+                         (UnaryOperator<String>) TextNormalizer::removeLineBreaksAndQuotes,
+                         (UnaryOperator<String>) value -> value.replaceAll(EMPTY_SPACES_LINEBREAKS_REGEX,
+                                                                           StringUtils.EMPTY_STRING)),
+            Arguments.of("removeBracketsAndDots", (UnaryOperator<String>) TextNormalizer::removeBracketsAndDots,
+                         (UnaryOperator<String>) value -> value.replaceAll(REGEX_BRACKETS_AND_DOT,
+                                                                           StringUtils.EMPTY_STRING)));
+    }
+
+    @ParameterizedTest(name = "{0} should give the same result as the regular expression")
+    @MethodSource("normalizationsAndTheRegularExpressionsTheyReplace")
+    void shouldGiveTheSameResultAsTheRegularExpressionForRandomValues(String name,
+                                                                       UnaryOperator<String> normalization,
+                                                                       UnaryOperator<String> regularExpression) {
+        var random = new Random(SEED);
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            var value = randomValue(random);
+            assertThat(name + " of \"" + value + "\"", normalization.apply(value),
+                       is(regularExpression.apply(value)));
+        }
+    }
+
+    @ParameterizedTest(name = "{0} should return null for null")
+    @MethodSource("normalizationsAndTheRegularExpressionsTheyReplace")
+    void shouldReturnNullForNull(String name, UnaryOperator<String> normalization,
+                                 UnaryOperator<String> regularExpression) {
+        assertThat(normalization.apply(null), is(nullValue()));
+    }
+
+    @Test
+    void shouldReturnTheValueItselfWhenThereIsNothingToRemove() {
+        var isbn = "9788202523345";
+
+        assertThat(TextNormalizer.repairIsbn(isbn), is(sameInstance(isbn)));
+    }
+
+    @Test
+    void shouldRepairIdentifiersAsBefore() {
+        assertThat(TextNormalizer.repairIsbn("978-82-02&#x20;52334-5"), is("9788202523345"));
+        assertThat(TextNormalizer.repairIsmn("M \u2010 2306 \u00B7 7118 - 7"), is("M230671187"));
+        assertThat(TextNormalizer.repairIssnCharacters(" 1234-567x."), is("1234-567X"));
+    }
+
+    private static String randomValue(Random random) {
+        var length = random.nextInt(MAX_LENGTH);
+        var value = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            value.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return value.toString();
+    }
+}
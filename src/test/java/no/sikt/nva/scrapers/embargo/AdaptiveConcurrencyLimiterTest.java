@@ -0,0 +1,121 @@
+package no.sikt.nva.scrapers.embargo;
+
+import static no.sikt.nva.scrapers.embargo.AdaptiveConcurrencyLimiter.FAILURES_OPENING_CIRCUIT;
+import static no.sikt.nva.scrapers.embargo.AdaptiveConcurrencyLimiter.INITIAL_LIMIT;
+import static no.sikt.nva.scrapers.embargo.AdaptiveConcurrencyLimiter.OPEN_CIRCUIT_MILLIS;
+import static no.sikt.nva.scrapers.embargo.AdaptiveConcurrencyLimiter.SLOW_RESPONSE_MILLIS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final int MAX_LIMIT = 16;
+    private static final long FAST_RESPONSE_MILLIS = 10;
+
+    @Test
+    void shouldIncreaseLimitUpToMaximumWhileResponsesAreFast() {
+        var limiter = new AdaptiveConcurrencyLimiter(MAX_LIMIT);
+
+        IntStream.range(0, 1000).forEach(response -> limiter.onSuccess(FAST_RESPONSE_MILLIS));
+
+        assertThat(limiter.getLimit(), is(MAX_LIMIT));
+    }
+
+    @Test
+    void shouldNotIncreaseLimitWhenResponsesAreSlow() {
+        var limiter = new AdaptiveConcurrencyLimiter(MAX_LIMIT);
+
+        IntStream.range(0, 1000).forEach(response -> limiter.onSuccess(SLOW_RESPONSE_MILLIS));
+
+        assertThat(limiter.getLimit(), is(INITIAL_LIMIT));
+    }
+
+    @Test
+    void shouldHalveLimitWhenHostIsOverloadedButNeverGoBelowOne() {
+        var limiter = new AdaptiveConcurrencyLimiter(MAX_LIMIT);
+
+        limiter.onOverload(0);
+        assertThat(limiter.getLimit(), is(INITIAL_LIMIT / 2));
+
+        IntStream.range(0, 10).forEach(response -> limiter.onOverload(0));
+        assertThat(limiter.getLimit(), is(AdaptiveConcurrencyLimiter.MIN_LIMIT));
+    }
+
+    @Test
+    void shouldWaitForRequestToCompleteWhenLimitIsReached() throws Exception {
+        var limiter = new AdaptiveConcurrencyLimiter(1);
+        limiter.acquire();
+
+        var waiting = CompletableFuture.runAsync(acquireUninterruptibly(limiter));
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(waiting.isDone(), is(false));
+
+        limiter.release();
+        waiting.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldHoldRequestsWhileCircuitIsOpenAndLetThemThroughAfterwards() throws Exception {
+        var clock = new AtomicLong();
+        var limiter = new AdaptiveConcurrencyLimiter(MAX_LIMIT, clock::get);
+        IntStream.range(0, FAILURES_OPENING_CIRCUIT).forEach(failure -> limiter.onFailure());
+
+        var waiting = CompletableFuture.runAsync(acquireUninterruptibly(limiter));
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertThat(waiting.isDone(), is(false));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(OPEN_CIRCUIT_MILLIS));
+        waiting.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldOpenCircuitAgainOnFirstFailureAfterItWasOpen() throws Exception {
+        var clock = new AtomicLong();
+        var limiter = new AdaptiveConcurrencyLimiter(MAX_LIMIT, clock::get);
+        IntStream.range(0, FAILURES_OPENING_CIRCUIT).forEach(failure -> limiter.onFailure());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(OPEN_CIRCUIT_MILLIS));
+
+        limiter.onFailure();
+
+        var waiting = CompletableFuture.runAsync(acquireUninterruptibly(limiter));
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertThat(waiting.isDone(), is(false));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(OPEN_CIRCUIT_MILLIS));
+        waiting.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldStopWaitingWhileCircuitIsOpenWhenInterrupted() throws Exception {
+        var limiter = new AdaptiveConcurrencyLimiter(MAX_LIMIT, new AtomicLong()::get);
+        IntStream.range(0, FAILURES_OPENING_CIRCUIT).forEach(failure -> limiter.onFailure());
+        var interrupted = new CompletableFuture<Boolean>();
+        var thread = new Thread(() -> {
+            try {
+                limiter.acquire();
+                interrupted.complete(false);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+            }
+        });
+
+        thread.start();
+        thread.interrupt();
+
+        assertThat(interrupted.get(1, TimeUnit.SECONDS), is(true));
+    }
+
+    private static Runnable acquireUninterruptibly(AdaptiveConcurrencyLimiter limiter) {
+        return () -> {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
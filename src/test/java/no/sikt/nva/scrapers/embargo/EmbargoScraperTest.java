@@ -10,12 +10,15 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import java.io.File;
@@ -29,13 +32,18 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandler;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.net.ssl.SSLSession;
 import no.sikt.nva.brage.migration.common.model.record.Record;
@@ -49,6 +57,7 @@ import no.sikt.nva.utils.FakeOnlineEmbargoChecker;
 import nva.commons.core.paths.UriWrapper;
 import nva.commons.logutils.LogUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentMatcher;
@@ -346,6 +355,115 @@ public class EmbargoScraperTest {
 
     }
 
+    @Test
+    void shouldSetEmbargoWhenFilesOfCollectionAreCheckedConcurrentlyAndFileIsLockedOnline() {
+        var record = recordWithOriginalFile("https://hdl.handle.net/1234/12345", "somefile.pdf");
+        var httpClient = mock(HttpClient.class);
+        var onlineEmbargoChecker = concurrentOnlineEmbargoChecker(httpClient);
+        mockAsyncResponses(httpClient, 404);
+
+        EmbargoParser.checkForEmbargoFromSuppliedEmbargoFile(record, new HashMap<>(), onlineEmbargoChecker);
+        var contentFile = record.getContentBundle().getContentFiles().get(0);
+        assertThat(contentFile.getEmbargoDate(), is(nullValue()));
+
+        EmbargoParser.checkOnlineForMissingEmbargosConcurrently(List.of(record), onlineEmbargoChecker);
+        assertThat(contentFile.getEmbargoDate(), is(equalTo(PERMANENTLY_LOCKED)));
+    }
+
+    @Test
+    void shouldRetryConcurrentCheckWhenTooManyRequests() {
+        var record = recordWithOriginalFile("https://hdl.handle.net/1234/12345", "somefile.pdf");
+        var httpClient = mock(HttpClient.class);
+        var onlineEmbargoChecker = concurrentOnlineEmbargoChecker(httpClient);
+        mockAsyncResponses(httpClient, 429, 200);
+
+        EmbargoParser.checkOnlineForMissingEmbargosConcurrently(List.of(record), onlineEmbargoChecker);
+
+        assertThat(record.getContentBundle().getContentFiles().get(0).getEmbargoDate(), is(nullValue()));
+        verify(httpClient, times(2)).sendAsync(any(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {429, 503})
+    void shouldRetryAfterTheTimeGivenByRetryAfterHeader(int statusCode) {
+        var record = recordWithOriginalFile("https://hdl.handle.net/1234/12345", "somefile.pdf");
+        var httpClient = mock(HttpClient.class);
+        var onlineEmbargoChecker = concurrentOnlineEmbargoChecker(httpClient);
+        var retryAfterNow = HttpHeaders.of(Map.of("Retry-After", List.of("0")), (name, value) -> true);
+        var responses = new ArrayDeque<>(List.of(statusCode, 404));
+        doAnswer(invocation -> {
+            HttpRequest request = invocation.getArgument(0);
+            HttpResponse<?> response = mock(HttpResponse.class);
+            doReturn(responses.poll()).when(response).statusCode();
+            doReturn(request.uri()).when(response).uri();
+            doReturn(retryAfterNow).when(response).headers();
+            return CompletableFuture.completedFuture(response);
+        }).when(httpClient).sendAsync(any(), any());
+        var started = System.nanoTime();
+
+        EmbargoParser.checkOnlineForMissingEmbargosConcurrently(List.of(record), onlineEmbargoChecker);
+
+        assertThat(record.getContentBundle().getContentFiles().get(0).getEmbargoDate(),
+                   is(equalTo(PERMANENTLY_LOCKED)));
+        verify(httpClient, times(2)).sendAsync(any(), any());
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), is(lessThan(2000L)));
+    }
+
+    @Test
+    void shouldNotCheckFileOnlineAgainWhenItsResultIsCachedByPreviousRun(@TempDir Path tempDir) {
+        var cacheFile = tempDir.resolve("online_embargo_cache.tsv");
+        var firstRunClient = mock(HttpClient.class);
+        mockAsyncResponses(firstRunClient, 404);
+        var firstRun = concurrentOnlineEmbargoChecker(firstRunClient);
+        var firstRunCache = OnlineEmbargoCache.persistent(cacheFile, OnlineEmbargoCache.DEFAULT_TIME_TO_LIVE, false);
+        firstRun.setCache(firstRunCache);
+        EmbargoParser.checkOnlineForMissingEmbargosConcurrently(
+            List.of(recordWithOriginalFile("https://hdl.handle.net/1234/12345", "somefile.pdf")), firstRun);
+        firstRunCache.persist();
+
+        var secondRunClient = mock(HttpClient.class);
+        var secondRun = concurrentOnlineEmbargoChecker(secondRunClient);
+        secondRun.setCache(OnlineEmbargoCache.persistent(cacheFile, OnlineEmbargoCache.DEFAULT_TIME_TO_LIVE, false));
+        var record = recordWithOriginalFile("https://hdl.handle.net/1234/12345", "somefile.pdf");
+        EmbargoParser.checkOnlineForMissingEmbargosConcurrently(List.of(record), secondRun);
+
+        assertThat(record.getContentBundle().getContentFiles().get(0).getEmbargoDate(),
+                   is(equalTo(PERMANENTLY_LOCKED)));
+        verify(secondRunClient, never()).sendAsync(any(), any());
+    }
+
+    private static Record recordWithOriginalFile(String handle, String filename) {
+        var record = new Record();
+        record.setId(UriWrapper.fromUri(handle).getUri());
+        record.setContentBundle(new ResourceContent(List.of(new ContentFile(filename, BundleType.ORIGINAL,
+                                                                            randomString(),
+                                                                            UUID.randomUUID(),
+                                                                            License.fromBrageLicense(
+                                                                                BrageLicense.CC_BY),
+                                                                            null))));
+        return record;
+    }
+
+    private static OnlineEmbargoCheckerImpl concurrentOnlineEmbargoChecker(HttpClient httpClient) {
+        var onlineEmbargoChecker = new OnlineEmbargoCheckerImpl(httpClient);
+        onlineEmbargoChecker.calculateCustomerAddress("ntnu");
+        onlineEmbargoChecker.setOutputDirectory("someoutputpath");
+        onlineEmbargoChecker.setMaxRequestsInFlight(4);
+        return onlineEmbargoChecker;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void mockAsyncResponses(HttpClient httpClient, Integer... statusCodes) {
+        var responses = new ArrayDeque<>(List.of(statusCodes));
+        doAnswer(invocation -> {
+            HttpRequest request = invocation.getArgument(0);
+            HttpResponse<Void> response = mock(HttpResponse.class);
+            doReturn(responses.size() > 1 ? responses.poll() : responses.peek()).when(response).statusCode();
+            doReturn(request.uri()).when(response).uri();
+            return CompletableFuture.completedFuture(response);
+        }).when(httpClient).sendAsync(any(), any());
+    }
+
     private ArgumentMatcher<HttpRequest> matchesExpectedUrl(String url) {
         return argument -> argument.uri().toString().contains(url);
     }
@@ -0,0 +1,68 @@
+package no.sikt.nva.scrapers.embargo;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LockedFilesReportTest {
+
+    private static final int NUMBER_OF_CHECKERS = 8;
+    private static final int FILES_PER_CHECKER = 1000;
+
+    @Test
+    void shouldWriteWholeLinesWhenFilesAreReportedConcurrently(@TempDir Path tempDir) throws Exception {
+        var file = tempDir.resolve("LockedDuringOnlineCheck.csv");
+        var report = new LockedFilesReport(file, Duration.ZERO);
+        var executor = Executors.newFixedThreadPool(NUMBER_OF_CHECKERS);
+        IntStream.range(0, NUMBER_OF_CHECKERS)
+            .forEach(checker -> executor.execute(() -> IntStream.range(0, FILES_PER_CHECKER)
+                                                           .forEach(index -> report.append("handle" + checker,
+                                                                                           "file" + index))));
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        report.close();
+
+        var lines = Files.readAllLines(file);
+        assertThat(lines, hasSize(NUMBER_OF_CHECKERS * FILES_PER_CHECKER));
+        assertThat(lines, everyItem(matchesPattern("handle\\d , file\\d+")));
+    }
+
+    @Test
+    void shouldFlushReportPeriodicallyBeforeItIsClosed(@TempDir Path tempDir) throws Exception {
+        var file = tempDir.resolve("LockedDuringOnlineCheck.csv");
+        var report = new LockedFilesReport(file, Duration.ofMillis(10));
+
+        report.append("handle", "file");
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertThat(Files.readAllLines(file), hasSize(1));
+        report.close();
+    }
+
+    @Test
+    void shouldAppendToReportOfPreviousRun(@TempDir Path tempDir) throws IOException {
+        var file = tempDir.resolve("LockedDuringOnlineCheck.csv");
+        var firstRun = new LockedFilesReport(file, Duration.ZERO);
+        firstRun.append("handle", "first");
+        firstRun.close();
+
+        var secondRun = new LockedFilesReport(file, Duration.ZERO);
+        secondRun.append("handle", "second");
+        secondRun.close();
+
+        assertThat(Files.readAllLines(file), is(List.of("handle , first", "handle , second")));
+    }
+}
@@ -0,0 +1,92 @@
+package no.sikt.nva.scrapers.embargo;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OnlineEmbargoCacheTest {
+
+    private static final String HANDLE = "https://hdl.handle.net/11250/123";
+    private static final String FILENAME = "some file.pdf";
+    private static final Duration TIME_TO_LIVE = Duration.ofDays(30);
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void shouldReturnResultsOfPreviousRun(@TempDir Path tempDir) {
+        var file = tempDir.resolve("cache.tsv");
+        var firstRun = OnlineEmbargoCache.persistent(file, TIME_TO_LIVE, false, clockAt(NOW));
+        firstRun.put(HANDLE, FILENAME, 404, true);
+        firstRun.put(HANDLE, "other.pdf", 200, false);
+        firstRun.persist();
+
+        var secondRun = OnlineEmbargoCache.persistent(file, TIME_TO_LIVE, false, clockAt(NOW.plusSeconds(60)));
+
+        assertThat(secondRun.isLocked(HANDLE, FILENAME), is(Optional.of(true)));
+        assertThat(secondRun.isLocked(HANDLE, "other.pdf"), is(Optional.of(false)));
+        assertThat(secondRun.isLocked(HANDLE, "unknown.pdf"), is(Optional.empty()));
+    }
+
+    @Test
+    void shouldNotReturnNorPersistExpiredResults(@TempDir Path tempDir) throws IOException {
+        var file = tempDir.resolve("cache.tsv");
+        var firstRun = OnlineEmbargoCache.persistent(file, TIME_TO_LIVE, false, clockAt(NOW));
+        firstRun.put(HANDLE, FILENAME, 404, true);
+        firstRun.persist();
+
+        var laterRun = OnlineEmbargoCache.persistent(file, TIME_TO_LIVE, false, clockAt(NOW.plus(TIME_TO_LIVE)));
+        laterRun.persist();
+
+        assertThat(laterRun.isLocked(HANDLE, FILENAME), is(Optional.empty()));
+        assertThat(Files.readString(file).isBlank(), is(true));
+    }
+
+    @Test
+    void shouldCheckEveryFileAgainButKeepNewResultsWhenRefreshing(@TempDir Path tempDir) {
+        var file = tempDir.resolve("cache.tsv");
+        var firstRun = OnlineEmbargoCache.persistent(file, TIME_TO_LIVE, false, clockAt(NOW));
+        firstRun.put(HANDLE, FILENAME, 404, true);
+        firstRun.persist();
+
+        var refreshingRun = OnlineEmbargoCache.persistent(file, TIME_TO_LIVE, true, clockAt(NOW));
+        assertThat(refreshingRun.isLocked(HANDLE, FILENAME), is(Optional.empty()));
+        refreshingRun.put(HANDLE, FILENAME, 200, false);
+        refreshingRun.persist();
+
+        var nextRun = OnlineEmbargoCache.persistent(file, TIME_TO_LIVE, false, clockAt(NOW));
+        assertThat(nextRun.isLocked(HANDLE, FILENAME), is(Optional.of(false)));
+    }
+
+    @Test
+    void shouldIgnoreInvalidLines(@TempDir Path tempDir) throws IOException {
+        var file = tempDir.resolve("cache.tsv");
+        Files.writeString(file, "not a cache line" + System.lineSeparator());
+
+        var cache = OnlineEmbargoCache.persistent(file, TIME_TO_LIVE, false, clockAt(NOW));
+
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    void shouldNeitherCacheNorPersistAnythingWhenDisabled(@TempDir Path tempDir) {
+        var cache = OnlineEmbargoCache.disabled();
+
+        cache.put(HANDLE, FILENAME, 404, true);
+        cache.persist();
+
+        assertThat(cache.isLocked(HANDLE, FILENAME), is(Optional.empty()));
+        assertThat(tempDir.toFile().list().length, is(0));
+    }
+
+    private static Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+}
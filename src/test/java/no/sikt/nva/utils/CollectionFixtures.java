@@ -0,0 +1,103 @@
+package no.sikt.nva.utils;
+
+import static no.sikt.nva.ResourceNameConstants.TEST_RESOURCE_PATH;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Zipfiles of bundles copied from the bundle in bundleWithForwardSlashes.zip, every bundle with its own handle.
+ */
+public final class CollectionFixtures {
+
+    private static final String BUNDLE_ZIPFILE = TEST_RESOURCE_PATH + "bundleWithForwardSlashes.zip";
+    private static final String BUNDLE = "54/";
+    private static final String HANDLE = "handle";
+    private static final String DUBLIN_CORE = "dublin_core.xml";
+    private static final String INVALID_DUBLIN_CORE = "<dublin_core>";
+    private static final byte[] LOCAL_HEADER_SIGNATURE = {'P', 'K', 3, 4};
+    private static final int LOCAL_HEADER_LENGTH = 30;
+
+    private CollectionFixtures() {
+    }
+
+    /**
+     * @param zipfile         zipfile to write
+     * @param handlesByBundle handle, e.g. 11250/1, of every bundle by the name of the bundle
+     */
+    public static void writeCollection(Path zipfile, Map<String, String> handlesByBundle) throws IOException {
+        writeCollection(zipfile, handlesByBundle, Set.of());
+    }
+
+    /**
+     * @param zipfile                      zipfile to write
+     * @param handlesByBundle              handle, e.g. 11250/1, of every bundle by the name of the bundle
+     * @param bundlesWithInvalidDublinCore bundles whose dublin_core.xml cannot be parsed, so that they fail after
+     *                                     their handle is read
+     */
+    public static void writeCollection(Path zipfile, Map<String, String> handlesByBundle,
+                                       Set<String> bundlesWithInvalidDublinCore) throws IOException {
+        Files.createDirectories(zipfile.getParent());
+        try (var bundle = new ZipFile(BUNDLE_ZIPFILE);
+             var collection = new ZipOutputStream(Files.newOutputStream(zipfile))) {
+            for (var bundleAndHandle : handlesByBundle.entrySet()) {
+                var bundleName = bundleAndHandle.getKey() + "/";
+                for (var entry : Collections.list(bundle.entries())) {
+                    if (entry.getName().startsWith(BUNDLE) && !entry.getName().equals(BUNDLE + HANDLE)) {
+                        collection.putNextEntry(new ZipEntry(bundleName + entry.getName().substring(BUNDLE.length())));
+                        if (isInvalidDublinCore(entry, bundleAndHandle.getKey(), bundlesWithInvalidDublinCore)) {
+                            collection.write(INVALID_DUBLIN_CORE.getBytes(StandardCharsets.UTF_8));
+                        } else {
+                            try (var content = bundle.getInputStream(entry)) {
+                                content.transferTo(collection);
+                            }
+                        }
+                        collection.closeEntry();
+                    }
+                }
+                collection.putNextEntry(new ZipEntry(bundleName + HANDLE));
+                collection.write(bundleAndHandle.getValue().getBytes(StandardCharsets.UTF_8));
+                collection.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Overwrites the signature of the local header of the entry, so that the zipfile can be opened but reading the
+     * entry fails.
+     *
+     * @param zipfile   zipfile written by {@link #writeCollection}
+     * @param entryName name of the entry to damage, e.g. 3/handle
+     */
+    public static void damageEntry(Path zipfile, String entryName) throws IOException {
+        var bytes = Files.readAllBytes(zipfile);
+        var name = entryName.getBytes(StandardCharsets.UTF_8);
+        for (var offset = LOCAL_HEADER_LENGTH; offset + name.length <= bytes.length; offset++) {
+            if (isLocalHeader(bytes, offset - LOCAL_HEADER_LENGTH)
+                && Arrays.equals(bytes, offset, offset + name.length, name, 0, name.length)) {
+                bytes[offset - LOCAL_HEADER_LENGTH] = 0;
+                Files.write(zipfile, bytes);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("No entry " + entryName + " in " + zipfile);
+    }
+
+    private static boolean isLocalHeader(byte[] bytes, int offset) {
+        return Arrays.equals(bytes, offset, offset + LOCAL_HEADER_SIGNATURE.length,
+                             LOCAL_HEADER_SIGNATURE, 0, LOCAL_HEADER_SIGNATURE.length);
+    }
+
+    private static boolean isInvalidDublinCore(ZipEntry entry, String bundleName,
+                                               Set<String> bundlesWithInvalidDublinCore) {
+        return entry.getName().equals(BUNDLE + DUBLIN_CORE) && bundlesWithInvalidDublinCore.contains(bundleName);
+    }
+}
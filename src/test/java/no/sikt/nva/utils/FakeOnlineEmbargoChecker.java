@@ -1,5 +1,8 @@
 package no.sikt.nva.utils;
 
+import java.time.Duration;
+import no.sikt.nva.scrapers.embargo.CustomerAddressResolver;
+import no.sikt.nva.scrapers.embargo.OnlineEmbargoCache;
 import no.sikt.nva.scrapers.embargo.OnlineEmbargoChecker;
 
 public class FakeOnlineEmbargoChecker implements OnlineEmbargoChecker {
@@ -9,13 +12,38 @@ public class FakeOnlineEmbargoChecker implements OnlineEmbargoChecker {
         return false;
     }
 
+    @Override
+    public void setMaxRequestsInFlight(int maxRequestsInFlight) {
+        //Do nothing
+    }
+
     @Override
     public void calculateCustomerAddress(String customer) {
         //Do nothing
     }
 
+    @Override
+    public void calculateCustomerAddress(String customer, CustomerAddressResolver customerAddressResolver) {
+        //Do nothing
+    }
+
     @Override
     public void setOutputDirectory(String outputDirectory) {
         //Do nothing
     }
+
+    @Override
+    public void setCache(OnlineEmbargoCache cache) {
+        //Do nothing
+    }
+
+    @Override
+    public void setReportFlushInterval(Duration reportFlushInterval) {
+        //Do nothing
+    }
+
+    @Override
+    public void closeReport() {
+        //Do nothing
+    }
 }
@@ -0,0 +1,125 @@
+package no.sikt.nva.validators;
+
+import static no.sikt.nva.brage.migration.common.model.ErrorDetails.Error.INVALID_DOI_ONLINE_CHECK;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.sikt.nva.brage.migration.common.model.ErrorDetails;
+import no.sikt.nva.model.dublincore.DcValue;
+import no.sikt.nva.model.dublincore.DublinCore;
+import no.sikt.nva.model.dublincore.Element;
+import no.sikt.nva.model.dublincore.Qualifier;
+import no.sikt.nva.scrapers.DublinCoreFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DoiValidationServiceTest {
+
+    private static final String VALID_DOI = "10.1371/journal.pone.0118594";
+    private static final String INVALID_DOI = "10.1016/j.scitotenv.2021.151958.";
+    private static final String UNREACHABLE_DOI = "10.5194/nhess-2018-174";
+    private static final int NUMBER_OF_RECORDS = 20;
+    private static final int REQUESTS_IN_FLIGHT = 4;
+
+    @Test
+    void shouldReturnErrorForEveryDoiThatIsNotValid() {
+        var service = new DoiValidationService(new FakeLookup(), null, DoiValidationService.SYNCHRONOUS);
+
+        var errors = service.getDoiErrorDetails(dublinCoreWithDois(VALID_DOI, INVALID_DOI, UNREACHABLE_DOI));
+
+        assertThat(errors, is(Optional.of(List.of(onlineError(INVALID_DOI), onlineError(UNREACHABLE_DOI)))));
+    }
+
+    @Test
+    void shouldCheckDuplicateDoisOnlyOnceWhateverTheirCase() {
+        var lookup = new FakeLookup();
+        var service = new DoiValidationService(lookup, null, DoiValidationService.SYNCHRONOUS);
+
+        service.getDoiErrorDetails(dublinCoreWithDois(VALID_DOI));
+        service.getDoiErrorDetails(dublinCoreWithDois(VALID_DOI.toUpperCase()));
+
+        assertThat(lookup.calls.get(), is(1));
+    }
+
+    @Test
+    void shouldCheckDoisOfDifferentRecordsConcurrently() {
+        var lookup = new FakeLookup();
+        var service = new DoiValidationService(lookup, null, REQUESTS_IN_FLIGHT);
+
+        var checks = IntStream.range(0, NUMBER_OF_RECORDS)
+                         .mapToObj(record -> service.getDoiErrorDetailsAsync(dublinCoreWithDois("10.1234/" + record)))
+                         .collect(Collectors.toList());
+        checks.forEach(CompletableFuture::join);
+
+        assertThat(lookup.calls.get(), is(NUMBER_OF_RECORDS));
+        assertThat(lookup.maxInFlight.get(), is(greaterThan(1)));
+        assertThat(lookup.maxInFlight.get(), is(lessThanOrEqualTo(REQUESTS_IN_FLIGHT)));
+    }
+
+    @Test
+    void shouldNotCheckDoisOfPreviousRunAgainExceptDoisThatCouldNotBeChecked(@TempDir Path tempDir) {
+        var file = tempDir.resolve("doi_cache.tsv");
+        var firstRun = new DoiValidationService(new FakeLookup(), file, DoiValidationService.SYNCHRONOUS);
+        firstRun.getDoiErrorDetails(dublinCoreWithDois(VALID_DOI, INVALID_DOI, UNREACHABLE_DOI));
+        firstRun.persist();
+
+        var lookup = new FakeLookup();
+        var secondRun = new DoiValidationService(lookup, file, DoiValidationService.SYNCHRONOUS);
+        var errors = secondRun.getDoiErrorDetails(dublinCoreWithDois(VALID_DOI, INVALID_DOI, UNREACHABLE_DOI));
+
+        assertThat(errors, is(Optional.of(List.of(onlineError(INVALID_DOI), onlineError(UNREACHABLE_DOI)))));
+        assertThat(lookup.checked, contains("https://doi.org/" + UNREACHABLE_DOI));
+    }
+
+    private static ErrorDetails onlineError(String doi) {
+        return new ErrorDetails(INVALID_DOI_ONLINE_CHECK, Set.of("https://doi.org/" + doi));
+    }
+
+    private static DublinCore dublinCoreWithDois(String... dois) {
+        var dcValues = new ArrayList<DcValue>();
+        dcValues.add(new DcValue(Element.TYPE, null, "Book"));
+        for (String doi : dois) {
+            dcValues.add(new DcValue(Element.IDENTIFIER, Qualifier.DOI, doi));
+        }
+        return DublinCoreFactory.createDublinCoreWithDcValues(dcValues);
+    }
+
+    private static final class FakeLookup implements DoiValidationService.DoiLookup {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final List<String> checked = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void validate(String doi) throws Exception {
+            calls.incrementAndGet();
+            checked.add(doi);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (doi.contains(INVALID_DOI)) {
+                throw new IllegalArgumentException("Not found: " + doi);
+            }
+            if (doi.contains(UNREACHABLE_DOI)) {
+                throw new IOException("Connection refused");
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package no.sikt.nva.generator;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Generates a synthetic Brage export, to load test the migration command locally with {@code -D} pointing to the
+ * output directory. handles.csv is read by the migration command from its working directory.
+ */
+@Command(name = "Synthetic export generator", description = "Generates a synthetic Brage export for load testing")
+public class SyntheticExportCommand implements Callable<Integer> {
+
+    private static final int NORMAL_EXIT_CODE = 0;
+
+    @Option(names = {"-o", "--output"}, required = true, description = "Directory to write the export to")
+    private Path outputDirectory;
+
+    @Option(names = {"-n", "--records"}, description = "Number of records, default 1000", defaultValue = "1000")
+    private int numberOfRecords;
+
+    @Option(names = {"--collections"}, description = "Number of zipfiles the records are spread over, default 1",
+        defaultValue = "1")
+    private int numberOfCollections;
+
+    @Option(names = {"--type"}, description = "Weight of a dc.type, e.g. --type \"Journal article=45\". Repeat for "
+                                              + "every type, the default is a mix of the most common types")
+    private Map<String, Integer> typeWeights = new LinkedHashMap<>();
+
+    @Option(names = {"--field-share"}, description = "Share of records having a field, e.g. --field-share DOI=0.4. "
+                                                     + "Fields: ${COMPLETION-CANDIDATES}")
+    private Map<SyntheticField, Double> fieldShares = new LinkedHashMap<>();
+
+    @Option(names = {"--max-authors"}, description = "Maximum number of authors of a record, default 5",
+        defaultValue = "5")
+    private int maxAuthors;
+
+    @Option(names = {"--min-file-size"}, description = "Minimum size in bytes of the original file of a bundle, "
+                                                       + "default 10240", defaultValue = "10240")
+    private long minFileSize;
+
+    @Option(names = {"--max-file-size"}, description = "Maximum size in bytes of the original file of a bundle, "
+                                                       + "default 102400", defaultValue = "102400")
+    private long maxFileSize;
+
+    @Option(names = {"--seed"}, description = "Seed of the random values, the same seed gives the same export, "
+                                              + "default 1", defaultValue = "1")
+    private long seed;
+
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    @Option(names = {"-h", "--help"}, usageHelp = true, description = "display this help message")
+    private boolean usageHelpRequested;
+
+    public static void main(String[] args) {
+        int exitCode = new CommandLine(new SyntheticExportCommand()).execute(args);
+        System.exit(exitCode);
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        new SyntheticExportGenerator(outputDirectory, numberOfCollections, typeWeights, fieldShares, maxAuthors,
+                                     minFileSize, maxFileSize, seed).generate(numberOfRecords);
+        return NORMAL_EXIT_CODE;
+    }
+}
@@ -0,0 +1,372 @@
+package no.sikt.nva.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates a synthetic Brage export for load testing the migration, as read by the migration command with
+ * {@code -D}: zipfiles of bundles, samlingsfil.txt listing them, FileEmbargo.txt, contributors.txt and handles.csv.
+ *
+ * <p>Every bundle has a dublin_core.xml, handle, contents, license.txt and an original file of a size between the
+ * minimum and maximum file size. Types are drawn by their weights, optional fields by their shares. The export only
+ * depends on the seed, so runs with the same settings give the same export. Files are written while generated, so
+ * exports of millions of records do not need more memory than small ones.
+ */
+public class SyntheticExportGenerator {
+
+    public static final Map<String, Integer> DEFAULT_TYPE_WEIGHTS = defaultTypeWeights();
+    public static final String COLLECTION_FILENAME = "samlingsfil.txt";
+    public static final String EMBARGO_FILENAME = "FileEmbargo.txt";
+    public static final String CONTRIBUTORS_FILENAME = "contributors.txt";
+    public static final String HANDLES_FILENAME = "handles.csv";
+    public static final String COLLECTION_PREFIX = "synthetic_";
+    public static final String HANDLE_PREFIX = "11250/";
+    public static final int FIRST_HANDLE_ID = 1_000_000;
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticExportGenerator.class);
+    private static final String JOURNAL_ARTICLE = "Journal article";
+    private static final String HANDLE_DOMAIN = "https://hdl.handle.net/";
+    private static final String ZIP_FILE_ENDING = ".zip";
+    private static final String NEW_LINE = "\n";
+    private static final String LICENSE_FILENAME = "license.txt";
+    private static final String LICENSE_TEXT = "Synthetic deposit license for load testing." + NEW_LINE;
+    private static final String EMBARGO_HEADER = "                concat                |   text_value   | start_date"
+                                                 + NEW_LINE
+                                                 + "--------------------------------------+----------------+-----------"
+                                                 + NEW_LINE;
+    private static final String EMBARGO_FOOTER = "(%d rows)";
+    private static final String EMBARGO_DATE = "2099-01-01";
+    private static final byte[] PDF_HEADER = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FILLER = "Synthetic bitstream content for load testing of the Brage migration.\n"
+                                             .repeat(128)
+                                             .getBytes(StandardCharsets.US_ASCII);
+    private static final String[] SURNAMES = {"Hansen", "Johansen", "Olsen", "Larsen", "Andersen", "Pedersen",
+        "Nilsen", "Kristiansen", "Jensen", "Karlsen", "Johnsen", "Pettersen", "Eriksen", "Berg", "Haugen",
+        "Hagen", "Johannessen", "Andreassen", "Jacobsen", "Dahl"};
+    private static final String[] GIVEN_NAMES = {"Anne", "Inger", "Kari", "Marit", "Ingrid", "Liv", "Eva", "Berit",
+        "Astrid", "Bjørg", "Jan", "Per", "Bjørn", "Ole", "Lars", "Kjell", "Knut", "Arne", "Svein", "Thomas"};
+    private static final String[] WORDS = {"vannkraft", "klima", "helse", "utdanning", "friluftsliv", "energi",
+        "samfunn", "økonomi", "havbruk", "skog", "språk", "historie", "teknologi", "læring", "miljø", "politikk"};
+    private static final String[] JOURNALS = {"Earth System Science Data", "Nordisk tidsskrift for pedagogikk",
+        "Tidsskrift for Den norske legeforening", "Norsk Geografisk Tidsskrift", "Journal of Hydrology"};
+    private static final String[] PUBLISHERS = {"Universitetsforlaget", "Norges vassdrags- og energidirektorat",
+        "Høgskolen i Oslo og Akershus", "Fagbokforlaget", "Cappelen Damm Akademisk"};
+    private static final int MIN_NUMBER_OF_PEOPLE = SURNAMES.length * GIVEN_NAMES.length;
+    private static final int RECORDS_PER_PERSON = 2;
+    private static final int FIRST_CRISTIN_IDENTIFIER = 100_000;
+    private static final String AFFILIATION = "194.0.0.0";
+    private static final String IMPORTED_IDENTIFIER_PREFIX = "synthetic-";
+    private static final int FIRST_YEAR = 1990;
+    private static final int NUMBER_OF_YEARS = 34;
+    private static final int MAX_SUBJECTS = 3;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long ENTRY_TIME = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+    private final Path outputDirectory;
+    private final int numberOfCollections;
+    private final Map<String, Integer> typeWeights;
+    private final Map<SyntheticField, Double> fieldShares;
+    private final int maxAuthors;
+    private final long minFileSize;
+    private final long maxFileSize;
+    private final Random random;
+    private final int totalTypeWeight;
+    private int numberOfPeople;
+    private int numberOfEmbargoes;
+
+    /**
+     * @param typeWeights weight of every dc.type, the defaults are used when empty
+     * @param fieldShares share of the records having a field, between 0 and 1, the default share is used for fields
+     *                    not given
+     */
+    public SyntheticExportGenerator(Path outputDirectory, int numberOfCollections, Map<String, Integer> typeWeights,
+                                    Map<SyntheticField, Double> fieldShares, int maxAuthors, long minFileSize,
+                                    long maxFileSize, long seed) {
+        this.outputDirectory = outputDirectory;
+        this.numberOfCollections = Math.max(1, numberOfCollections);
+        this.typeWeights = typeWeights.isEmpty() ? DEFAULT_TYPE_WEIGHTS : new LinkedHashMap<>(typeWeights);
+        this.fieldShares = withDefaultShares(fieldShares);
+        this.maxAuthors = Math.max(1, maxAuthors);
+        this.minFileSize = Math.max(0, minFileSize);
+        this.maxFileSize = Math.max(this.minFileSize, maxFileSize);
+        this.random = new Random(seed);
+        this.totalTypeWeight = this.typeWeights.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalTypeWeight <= 0) {
+            throw new IllegalArgumentException("Type weights must add up to more than 0");
+        }
+    }
+
+    /**
+     * Generates the records spread evenly over the collections, with fewer collections when there are fewer records
+     * than collections, as a zipfile cannot be empty.
+     */
+    public void generate(int numberOfRecords) throws IOException {
+        if (numberOfRecords <= 0) {
+            throw new IllegalArgumentException("Number of records must be more than 0");
+        }
+        Files.createDirectories(outputDirectory);
+        numberOfPeople = Math.max(MIN_NUMBER_OF_PEOPLE, numberOfRecords / RECORDS_PER_PERSON);
+        numberOfEmbargoes = 0;
+        try (var collections = newWriter(COLLECTION_FILENAME);
+            var embargoes = newWriter(EMBARGO_FILENAME);
+            var handles = newWriter(HANDLES_FILENAME)) {
+            embargoes.write(EMBARGO_HEADER);
+            var collectionsToWrite = Math.min(numberOfCollections, numberOfRecords);
+            for (int collection = 0; collection < collectionsToWrite; collection++) {
+                var first = (int) ((long) collection * numberOfRecords / collectionsToWrite);
+                var last = (int) ((long) (collection + 1) * numberOfRecords / collectionsToWrite);
+                var name = COLLECTION_PREFIX + collection;
+                collections.write(name + NEW_LINE);
+                writeCollection(outputDirectory.resolve(name + ZIP_FILE_ENDING), first, last, embargoes, handles);
+            }
+            embargoes.write(String.format(EMBARGO_FOOTER, numberOfEmbargoes));
+        }
+        writeContributors();
+        logger.info("Generated {} records in {} collections with {} embargoes in {}", numberOfRecords,
+                    Math.min(numberOfCollections, numberOfRecords), numberOfEmbargoes, outputDirectory);
+    }
+
+    private static Map<String, Integer> defaultTypeWeights() {
+        var weights = new LinkedHashMap<String, Integer>();
+        weights.put(JOURNAL_ARTICLE, 45);
+        weights.put("Master thesis", 20);
+        weights.put("Research report", 10);
+        weights.put("Chapter", 8);
+        weights.put("Book", 5);
+        weights.put("Doctoral thesis", 4);
+        weights.put("Bachelor thesis", 4);
+        weights.put("Lecture", 2);
+        weights.put("Others", 2);
+        return Collections.unmodifiableMap(weights);
+    }
+
+    private static Map<SyntheticField, Double> withDefaultShares(Map<SyntheticField, Double> fieldShares) {
+        var shares = new EnumMap<SyntheticField, Double>(SyntheticField.class);
+        for (var field : SyntheticField.values()) {
+            shares.put(field, fieldShares.getOrDefault(field, field.getDefaultShare()));
+        }
+        return shares;
+    }
+
+    private void writeCollection(Path zipfile, int first, int last, BufferedWriter embargoes, BufferedWriter handles)
+        throws IOException {
+        try (var zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zipfile), BUFFER_SIZE))) {
+            zip.setLevel(Deflater.BEST_SPEED);
+            for (int index = first; index < last; index++) {
+                writeBundle(zip, index, embargoes, handles);
+            }
+        }
+    }
+
+    private void writeBundle(ZipOutputStream zip, int index, BufferedWriter embargoes, BufferedWriter handles)
+        throws IOException {
+        var handleId = FIRST_HANDLE_ID + index;
+        var handle = HANDLE_PREFIX + handleId;
+        var directory = handleId + "/";
+        var original = handleId + ".pdf";
+        writeEntry(zip, directory + "handle", handle + NEW_LINE);
+        writeEntry(zip, directory + "dublin_core.xml", dublinCore(handle, handleId, drawType()));
+        writeEntry(zip, directory + "contents", original + "\tbundle:ORIGINAL\tdescription:Fulltext" + NEW_LINE
+                                                + LICENSE_FILENAME + "\tbundle:LICENSE" + NEW_LINE);
+        writeEntry(zip, directory + LICENSE_FILENAME, LICENSE_TEXT);
+        writeBitstream(zip, directory + original, drawFileSize());
+        if (has(SyntheticField.EMBARGO)) {
+            embargoes.write(HANDLE_DOMAIN + handle + ";" + original + ";" + EMBARGO_DATE + NEW_LINE);
+            numberOfEmbargoes++;
+        }
+        if (has(SyntheticField.IMPORTED)) {
+            handles.write(handle + "," + IMPORTED_IDENTIFIER_PREFIX + index + NEW_LINE);
+        }
+    }
+
+    private String dublinCore(String handle, int handleId, String type) {
+        var xml = new StringBuilder(2048)
+                      .append("<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n")
+                      .append("<dublin_core schema=\"dc\">\n");
+        var numberOfAuthors = 1 + random.nextInt(maxAuthors);
+        for (int author = 0; author < numberOfAuthors; author++) {
+            appendDcValue(xml, "contributor", "author", personName(random.nextInt(numberOfPeople)));
+        }
+        var year = FIRST_YEAR + random.nextInt(NUMBER_OF_YEARS);
+        appendDcValue(xml, "date", "accessioned", year + "-10-22T06:06:39Z");
+        appendDcValue(xml, "date", "issued", String.valueOf(year));
+        appendDcValue(xml, "identifier", "uri", HANDLE_DOMAIN + handle);
+        appendDcValue(xml, "title", "none", "Synthetic " + type.toLowerCase(Locale.ROOT) + " " + handleId
+                                            + " om " + drawWord() + " og " + drawWord());
+        appendDcValue(xml, "type", "none", type);
+        appendDcValue(xml, "language", "iso", random.nextBoolean() ? "nob" : "eng");
+        appendDcValue(xml, "description", "version", random.nextBoolean() ? "publishedVersion" : "acceptedVersion");
+        if (JOURNAL_ARTICLE.equals(type)) {
+            if (has(SyntheticField.JOURNAL)) {
+                appendDcValue(xml, "source", "journal", JOURNALS[random.nextInt(JOURNALS.length)]);
+                appendDcValue(xml, "identifier", "issn", drawIssn());
+            }
+        } else {
+            if (has(SyntheticField.ISBN)) {
+                appendDcValue(xml, "identifier", "isbn", drawIsbn());
+            }
+            if (has(SyntheticField.PUBLISHER)) {
+                appendDcValue(xml, "publisher", "none", PUBLISHERS[random.nextInt(PUBLISHERS.length)]);
+            }
+        }
+        if (has(SyntheticField.DOI)) {
+            appendDcValue(xml, "identifier", "doi", "https://doi.org/10.5555/synthetic." + handleId);
+        }
+        if (has(SyntheticField.ABSTRACT)) {
+            appendDcValue(xml, "description", "abstract", "Denne rapporten handler om " + drawWord() + ", "
+                                                          + drawWord() + " og " + drawWord() + ".");
+        }
+        if (has(SyntheticField.SUBJECT)) {
+            var numberOfSubjects = 1 + random.nextInt(MAX_SUBJECTS);
+            for (int subject = 0; subject < numberOfSubjects; subject++) {
+                appendDcValue(xml, "subject", "none", drawWord());
+            }
+        }
+        return xml.append("</dublin_core>\n").toString();
+    }
+
+    private static void appendDcValue(StringBuilder xml, String element, String qualifier, String value) {
+        xml.append("  <dcvalue element=\"").append(element)
+            .append("\" qualifier=\"").append(qualifier)
+            .append("\">").append(escapeXml(value)).append("</dcvalue>\n");
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Names are unique for every person, also when there are more people than combinations of surnames and given
+     * names, as contributors.txt must not list a name twice.
+     */
+    private static String personName(int person) {
+        var combination = person % MIN_NUMBER_OF_PEOPLE;
+        var round = person / MIN_NUMBER_OF_PEOPLE;
+        var surname = SURNAMES[combination % SURNAMES.length] + (round > 0 ? String.valueOf(round) : "");
+        return surname + ", " + GIVEN_NAMES[combination / SURNAMES.length];
+    }
+
+    private void writeContributors() throws IOException {
+        try (var contributors = newWriter(CONTRIBUTORS_FILENAME)) {
+            var share = fieldShares.get(SyntheticField.KNOWN_CONTRIBUTOR);
+            for (int person = 0; person < numberOfPeople; person++) {
+                if (random.nextDouble() < share) {
+                    contributors.write(personName(person) + ";" + (FIRST_CRISTIN_IDENTIFIER + person) + ";"
+                                       + AFFILIATION + NEW_LINE);
+                }
+            }
+        }
+    }
+
+    private String drawType() {
+        var draw = random.nextInt(totalTypeWeight);
+        for (var entry : typeWeights.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Type weights changed while drawing");
+    }
+
+    private String drawWord() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private long drawFileSize() {
+        return minFileSize + (long) (random.nextDouble() * (maxFileSize - minFileSize + 1));
+    }
+
+    private boolean has(SyntheticField field) {
+        return random.nextDouble() < fieldShares.get(field);
+    }
+
+    /**
+     * ISSN with a valid check digit, mostly not in the channel register.
+     */
+    private String drawIssn() {
+        var digits = new int[7];
+        var sum = 0;
+        for (int position = 0; position < digits.length; position++) {
+            digits[position] = random.nextInt(10);
+            sum += digits[position] * (8 - position);
+        }
+        var check = (11 - sum % 11) % 11;
+        var issn = new StringBuilder(9);
+        for (int position = 0; position < digits.length; position++) {
+            if (position == 4) {
+                issn.append('-');
+            }
+            issn.append(digits[position]);
+        }
+        return issn.append(check == 10 ? "X" : String.valueOf(check)).toString();
+    }
+
+    /**
+     * Norwegian ISBN-13 with a valid check digit.
+     */
+    private String drawIsbn() {
+        var digits = new StringBuilder("97882");
+        for (int position = 0; position < 7; position++) {
+            digits.append(random.nextInt(10));
+        }
+        var sum = 0;
+        for (int position = 0; position < digits.length(); position++) {
+            sum += (digits.charAt(position) - '0') * (position % 2 == 0 ? 1 : 3);
+        }
+        var check = (10 - sum % 10) % 10;
+        return digits.substring(0, 3) + "-" + digits.substring(3, 5) + "-" + digits.substring(5, 8) + "-"
+               + digits.substring(8) + "-" + check;
+    }
+
+    private BufferedWriter newWriter(String filename) throws IOException {
+        return Files.newBufferedWriter(outputDirectory.resolve(filename), StandardCharsets.UTF_8);
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(newEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static void writeBitstream(ZipOutputStream zip, String name, long size) throws IOException {
+        zip.putNextEntry(newEntry(name));
+        var header = (int) Math.min(size, PDF_HEADER.length);
+        zip.write(PDF_HEADER, 0, header);
+        writeFiller(zip, size - header);
+        zip.closeEntry();
+    }
+
+    /**
+     * Entries get a fixed time, so that the zipfiles of the same seed are identical.
+     */
+    private static ZipEntry newEntry(String name) {
+        var entry = new ZipEntry(name);
+        entry.setTime(ENTRY_TIME);
+        return entry;
+    }
+
+    private static void writeFiller(OutputStream output, long size) throws IOException {
+        var remaining = size;
+        while (remaining > 0) {
+            var length = (int) Math.min(remaining, FILLER.length);
+            output.write(FILLER, 0, length);
+            remaining -= length;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package no.sikt.nva.generator;
+
+/**
+ * Optional parts of a synthetic record, each present in a share of the records.
+ */
+public enum SyntheticField {
+
+    /**
+     * A DOI in dc.identifier.doi.
+     */
+    DOI(0.4),
+    /**
+     * Journal title and ISSN, for journal articles only.
+     */
+    JOURNAL(0.9),
+    /**
+     * ISBN, for the types that are not journal articles.
+     */
+    ISBN(0.3),
+    /**
+     * Publisher, for the types that are not journal articles.
+     */
+    PUBLISHER(0.8),
+    ABSTRACT(0.7),
+    SUBJECT(0.8),
+    /**
+     * An embargo in FileEmbargo.txt for the original file of the bundle.
+     */
+    EMBARGO(0.05),
+    /**
+     * Share of the authors that are listed in contributors.txt with a Cristin identifier.
+     */
+    KNOWN_CONTRIBUTOR(0.3),
+    /**
+     * A line in handles.csv, telling the record was imported before.
+     */
+    IMPORTED(0.0);
+
+    private final double defaultShare;
+
+    SyntheticField(double defaultShare) {
+        this.defaultShare = defaultShare;
+    }
+
+    public double getDefaultShare() {
+        return defaultShare;
+    }
+}